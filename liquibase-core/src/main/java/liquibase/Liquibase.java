@@ -12,10 +12,13 @@ import java.util.Set;
 import javax.xml.parsers.ParserConfigurationException;
 
 import liquibase.change.CheckSum;
+import liquibase.change.CheckSumCache;
 import liquibase.change.core.RawSQLChange;
 import liquibase.changelog.*;
 import liquibase.changelog.filter.*;
 import liquibase.changelog.visitor.*;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.DatabaseFactory;
@@ -71,6 +74,8 @@ public class Liquibase {
 
     private boolean ignoreClasspathPrefix = true;
 
+    private List<Database> parallelUpdateDatabases;
+
     /**
      * Creates a Liquibase instance for a given DatabaseConnection. The Database instance used will be found with {@link DatabaseFactory#findCorrectDatabaseImplementation(liquibase.database.DatabaseConnection)}
      *
@@ -188,12 +193,23 @@ public class Liquibase {
     	update(contexts, labelExpression, true);
     }
     public void update(Contexts contexts, LabelExpression labelExpression, boolean checkLiquibaseTables) throws LiquibaseException {
-        LockService lockService = LockServiceFactory.getInstance().getLockService(database);
-        lockService.waitForLock();
-
         changeLogParameters.setContexts(contexts);
         changeLogParameters.setLabels(labelExpression);
 
+        ChangeLogFingerprint changeLogFingerprint = null;
+        String fingerprint = null;
+        if (LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getUseChangeLogFingerprint()) {
+            changeLogFingerprint = new ChangeLogFingerprint(database);
+            fingerprint = changeLogFingerprint.compute(getDatabaseChangeLog(), contexts, labelExpression);
+            if (fingerprint != null && changeLogFingerprint.isApplied(fingerprint)) {
+                log.info("Changelog fingerprint matches a fully applied changelog, database is up to date");
+                return;
+            }
+        }
+
+        LockService lockService = LockServiceFactory.getInstance().getLockService(database);
+        lockService.waitForLock();
+
         try {
             DatabaseChangeLog changeLog = getDatabaseChangeLog();
             
@@ -205,7 +221,34 @@ public class Liquibase {
 
             ChangeLogIterator changeLogIterator = getStandardChangelogIterator(contexts, labelExpression, changeLog);
 
-            changeLogIterator.run(createUpdateVisitor(), new RuntimeEnvironment(database, contexts, labelExpression));
+            if (parallelUpdateDatabases == null || parallelUpdateDatabases.size() == 0) {
+                changeLogIterator.run(createUpdateVisitor(), new RuntimeEnvironment(database, contexts, labelExpression));
+            } else {
+                ParallelUpdateVisitor updateVisitor = new ParallelUpdateVisitor(database, parallelUpdateDatabases, changeExecListener);
+                boolean iteratorCompleted = false;
+                try {
+                    changeLogIterator.run(updateVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
+                    iteratorCompleted = true;
+                } finally {
+                    if (iteratorCompleted) {
+                        updateVisitor.waitForCompletion();
+                    } else {
+                        try {
+                            updateVisitor.waitForCompletion();
+                        } catch (Exception completionException) {
+                            log.severe("Error finishing parallel update", completionException);
+                        }
+                    }
+                }
+            }
+
+            if (fingerprint != null) {
+                ListVisitor pendingVisitor = new ListVisitor();
+                getStandardChangelogIterator(contexts, labelExpression, changeLog).run(pendingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
+                if (pendingVisitor.getSeenChangeSets().size() == 0) {
+                    changeLogFingerprint.store(fingerprint);
+                }
+            }
         } finally {
             database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
             try {
@@ -958,6 +1001,7 @@ public class Liquibase {
     }
 
     protected void resetServices() {
+        CheckSumCache.getInstance().flush();
         LockServiceFactory.getInstance().resetAll();
         ChangeLogHistoryServiceFactory.getInstance().resetAll();
         ExecutorService.getInstance().reset();
@@ -1403,6 +1447,20 @@ public class Liquibase {
         this.changeLogSyncListener = changeLogSyncListener;
     }
 
+    /**
+     * Enables parallel update mode. Independent changeSets will be run concurrently on the passed databases, which must each have their own connection
+     * to the same database as the main {@link Database}. Pass null or an empty list to run changeSets sequentially.
+     *
+     * @see ParallelUpdateVisitor
+     */
+    public void setParallelUpdateDatabases(List<Database> parallelUpdateDatabases) {
+        this.parallelUpdateDatabases = parallelUpdateDatabases;
+    }
+
+    public List<Database> getParallelUpdateDatabases() {
+        return parallelUpdateDatabases;
+    }
+
     public void setIgnoreClasspathPrefix(boolean ignoreClasspathPrefix) {
         this.ignoreClasspathPrefix = ignoreClasspathPrefix;
     }
@@ -3,6 +3,7 @@ package liquibase.change;
 import liquibase.util.MD5Util;
 import liquibase.util.StringUtils;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.Normalizer;
@@ -49,6 +50,26 @@ public class CheckSum {
      * Compute a checksum of the given string.
      */
     public static CheckSum compute(String valueToChecksum) {
+        if (valueToChecksum != null) {
+            boolean hasCarriageReturn = false;
+            boolean ascii = true;
+            for (int i = 0; i < valueToChecksum.length(); i++) {
+                char c = valueToChecksum.charAt(i);
+                if (c >= 0x80) {
+                    ascii = false;
+                    break;
+                } else if (c == '\r') {
+                    hasCarriageReturn = true;
+                }
+            }
+            if (ascii) { //ASCII text is already NFC and contains no unknown chars
+                if (hasCarriageReturn) {
+                    valueToChecksum = StringUtils.standardizeLineEndings(valueToChecksum);
+                }
+                return new CheckSum(MD5Util.computeMD5(valueToChecksum), getCurrentVersion());
+            }
+        }
+
         return new CheckSum(MD5Util.computeMD5(
                 Normalizer.normalize(
                     StringUtils.standardizeLineEndings(valueToChecksum)
@@ -63,24 +84,7 @@ public class CheckSum {
     public static CheckSum compute(final InputStream stream, boolean standardizeLineEndings) {
         InputStream newStream = stream;
         if (standardizeLineEndings) {
-            newStream = new InputStream() {
-                int lastChar = 'X';
-
-                @Override
-                public int read() throws IOException {
-                    int read = stream.read();
-                    int returnChar = read;
-                    if (returnChar == '\r') {
-                        returnChar = '\n';
-                    }
-                    if (lastChar == '\r' && returnChar == '\n') {
-                        returnChar = stream.read(); //read next char
-                    }
-
-                    lastChar = read;
-                    return returnChar;
-                }
-            };
+            newStream = new StandardizeLineEndingsInputStream(stream);
         }
 
         return new CheckSum(MD5Util.computeMD5(newStream), getCurrentVersion());
@@ -107,4 +111,91 @@ public class CheckSum {
     public boolean equals(Object obj) {
         return obj instanceof CheckSum && this.toString().equals(obj.toString());
     }
+
+    /**
+     * Converts \r to \n and drops the \n of a \r\n pair, reading the underlying stream in blocks.
+     * Kept byte-compatible with the original byte-at-a-time implementation: the byte following a dropped \n is passed through
+     * unchanged and does not count as the previous byte.
+     */
+    private static class StandardizeLineEndingsInputStream extends FilterInputStream {
+
+        private int lastChar = 'X';
+        private boolean passNextThrough = false;
+
+        private StandardizeLineEndingsInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read;
+            do {
+                read = read(single, 0, 1);
+            } while (read == 0);
+            if (read < 0) {
+                return -1;
+            }
+            return single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                int read = in.read(buffer, offset, length);
+                if (read < 0) {
+                    return -1;
+                }
+
+                int written = offset;
+                for (int i = offset; i < offset + read; i++) {
+                    int current = buffer[i] & 0xFF;
+                    if (passNextThrough) {
+                        passNextThrough = false;
+                        buffer[written++] = (byte) current;
+                        continue;
+                    }
+
+                    int converted = current == '\r' ? '\n' : current;
+                    if (lastChar == '\r' && converted == '\n') {
+                        passNextThrough = true;
+                    } else {
+                        buffer[written++] = (byte) converted;
+                    }
+                    lastChar = current;
+                }
+
+                if (written > offset) {
+                    return written - offset;
+                }
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,292 @@
+package liquibase.change;
+
+import liquibase.changelog.ChangeSet;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.logging.LogFactory;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.MD5Util;
+import liquibase.util.StreamUtil;
+
+import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache of checksums computed from external resources, such as loadData CSV files and sqlFile scripts, so unchanged resources are not read again.
+ * Entries are keyed by the resolved resource URL and the Liquibase and checksum versions, and validated against a fingerprint of the resource.
+ * For files the fingerprint is the size, the last modified time and a CRC of the whole content. A file with the same size and last modified time
+ * is not read at all; if only the last modified time changed, for example after a checkout, the file is read once to compare the CRC,
+ * which is still cheaper than parsing and normalizing it. A change that keeps both the size and the last modified time is not detected.
+ * For jar entries the fingerprint is the size and CRC from the central directory, so they are never read.
+ * <p></p>
+ * Checksums that depend only on content already in memory, such as unloaded changeSet definitions, can be stored under a digest of that content with {@link #put(String, CheckSum)}.
+ * <p></p>
+ * The cache is stored in {@link GlobalConfiguration#getChecksumCacheDirectory()}. If that is not set, nothing is cached.
+ * New entries are kept in memory until {@link #flush()} is called at the end of a run.
+ */
+public class CheckSumCache {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String CACHE_FILE_NAME = "liquibase-checksums.properties";
+
+    private static CheckSumCache instance;
+
+    private final File directory;
+    private Properties entries;
+    private int pendingWrites;
+
+    public CheckSumCache(File directory) {
+        this.directory = directory;
+    }
+
+    public static synchronized CheckSumCache getInstance() {
+        String directory = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getChecksumCacheDirectory();
+        File directoryFile = directory == null ? null : new File(directory);
+        if (instance == null || (directoryFile == null ? instance.directory != null : !directoryFile.equals(instance.directory))) {
+            instance = new CheckSumCache(directoryFile);
+        }
+        return instance;
+    }
+
+    public static synchronized void reset() {
+        instance = null;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Returns the URL of the given resource, resolved the same way as {@link StreamUtil#openStream(String, Boolean, ChangeSet, ResourceAccessor)},
+     * or null if it cannot be resolved to a single file or jar entry.
+     */
+    public URL getResourceUrl(String path, Boolean relativeToChangelogFile, ChangeSet changeSet, ResourceAccessor resourceAccessor) {
+        if (!isEnabled() || path == null || resourceAccessor == null) {
+            return null;
+        }
+        try {
+            String resolvedPath = StreamUtil.resolvePath(path, relativeToChangelogFile, changeSet);
+            File file = new File(resolvedPath);
+            if (file.isAbsolute() && file.isFile()) {
+                return file.toURI().toURL();
+            }
+            ClassLoader classLoader = resourceAccessor.toClassLoader();
+            if (classLoader == null) {
+                return null;
+            }
+            List<URL> urls = Collections.list(classLoader.getResources(resolvedPath));
+            if (urls.size() != 1) {
+                return null;
+            }
+            return urls.get(0);
+        } catch (IOException e) {
+            LogFactory.getLogger().debug("Cannot resolve " + path + " for checksum cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the cached checksum for the given key and resource, or null if there is none or the resource changed since it was stored.
+     */
+    public synchronized CheckSum get(String key, URL resource) {
+        if (!isEnabled() || resource == null) {
+            return null;
+        }
+        String stored = getEntries().getProperty(getEntryKey(key, resource));
+        if (stored == null) {
+            return null;
+        }
+        int separator = stored.lastIndexOf(' ');
+        if (separator < 0) {
+            return null;
+        }
+        String storedFingerprint = stored.substring(0, separator);
+        String storedCheckSum = stored.substring(separator + 1);
+
+        File file = toFile(resource);
+        if (file != null) {
+            String[] parts = storedFingerprint.split(":");
+            if (parts.length != 4 || !parts[0].equals("file") || !parts[1].equals(String.valueOf(file.length()))) {
+                return null;
+            }
+            if (!parts[2].equals(String.valueOf(file.lastModified()))) {
+                String fingerprint = getFingerprint(resource);
+                if (fingerprint == null || !fingerprint.endsWith(":" + parts[3])) {
+                    return null;
+                }
+                getEntries().setProperty(getEntryKey(key, resource), fingerprint + " " + storedCheckSum);
+                pendingWrites++;
+            }
+            return CheckSum.parse(storedCheckSum);
+        }
+
+        String fingerprint = getFingerprint(resource);
+        if (fingerprint == null || !fingerprint.equals(storedFingerprint)) {
+            return null;
+        }
+        return CheckSum.parse(storedCheckSum);
+    }
+
+    public synchronized void put(String key, URL resource, CheckSum checkSum) {
+        if (!isEnabled() || resource == null || checkSum == null) {
+            return;
+        }
+        String fingerprint = getFingerprint(resource);
+        if (fingerprint == null) {
+            return;
+        }
+        getEntries().setProperty(getEntryKey(key, resource), fingerprint + " " + checkSum.toString());
+        pendingWrites++;
+    }
+
+    /**
+     * Returns the checksum stored under the given content key, or null if there is none.
+     * The key must identify the content itself, such as a digest of it, because it is not validated against anything else.
+     */
+    public synchronized CheckSum get(String contentKey) {
+        if (!isEnabled() || contentKey == null) {
+            return null;
+        }
+        return CheckSum.parse(getEntries().getProperty(contentKey));
+    }
+
+    /**
+     * Stores a checksum under the given content key. It is saved on the next {@link #flush()}.
+     */
+    public synchronized void put(String contentKey, CheckSum checkSum) {
+        if (!isEnabled() || contentKey == null || checkSum == null) {
+            return;
+        }
+        getEntries().setProperty(contentKey, checkSum.toString());
+        pendingWrites++;
+    }
+
+    /**
+     * Saves any checksums stored since the last flush.
+     */
+    public synchronized void flush() {
+        if (isEnabled() && pendingWrites > 0) {
+            save();
+        }
+    }
+
+    protected String getEntryKey(String key, URL resource) {
+        return MD5Util.computeMD5(key + "::" + CheckSum.getCurrentVersion() + "::" + LiquibaseUtil.getBuildVersion() + "::" + resource.toExternalForm());
+    }
+
+    /**
+     * Describes the current content of the resource, or returns null if the resource type is not supported.
+     */
+    protected String getFingerprint(URL resource) {
+        try {
+            File file = toFile(resource);
+            if (file != null) {
+                return "file:" + file.length() + ":" + file.lastModified() + ":" + crc(file);
+            } else if (resource.getProtocol().equals("jar")) {
+                JarURLConnection connection = (JarURLConnection) resource.openConnection();
+                connection.setUseCaches(false);
+                JarFile jarFile = connection.getJarFile();
+                try {
+                    JarEntry entry = jarFile.getJarEntry(connection.getEntryName());
+                    if (entry == null || entry.getCrc() < 0) {
+                        return null;
+                    }
+                    return "jar:" + entry.getSize() + ":" + entry.getCrc();
+                } finally {
+                    jarFile.close();
+                }
+            }
+        } catch (IOException e) {
+            LogFactory.getLogger().debug("Cannot fingerprint " + resource + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the file the resource URL points to, or null if it is not a file URL or not an existing file.
+     */
+    private File toFile(URL resource) {
+        if (!resource.getProtocol().equals("file")) {
+            return null;
+        }
+        try {
+            File file = new File(resource.toURI());
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException e) {
+            LogFactory.getLogger().debug("Cannot fingerprint " + resource + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LogFactory.getLogger().debug("Cannot fingerprint " + resource + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private long crc(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        InputStream stream = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        } finally {
+            stream.close();
+        }
+        return crc.getValue();
+    }
+
+    private Properties getEntries() {
+        if (entries == null) {
+            entries = new Properties();
+            File cacheFile = new File(directory, CACHE_FILE_NAME);
+            if (cacheFile.exists()) {
+                InputStream stream = null;
+                try {
+                    stream = new FileInputStream(cacheFile);
+                    entries.load(stream);
+                } catch (IOException e) {
+                    LogFactory.getLogger().warning("Cannot read checksum cache " + cacheFile.getAbsolutePath() + ": " + e.getMessage());
+                    entries.clear();
+                } finally {
+                    StreamUtil.closeQuietly(stream);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void save() {
+        pendingWrites = 0;
+        File cacheFile = new File(directory, CACHE_FILE_NAME);
+        File tempFile = new File(directory, CACHE_FILE_NAME + ".tmp");
+        OutputStream stream = null;
+        try {
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+            stream = new FileOutputStream(tempFile);
+            entries.store(stream, "Liquibase checksum cache");
+            stream.close();
+            stream = null;
+            if (!tempFile.renameTo(cacheFile)) {
+                cacheFile.delete();
+                if (!tempFile.renameTo(cacheFile)) {
+                    throw new IOException("Cannot rename " + tempFile.getAbsolutePath() + " to " + cacheFile.getAbsolutePath());
+                }
+            }
+        } catch (IOException e) {
+            LogFactory.getLogger().warning("Cannot write checksum cache " + cacheFile.getAbsolutePath() + ": " + e.getMessage());
+        } finally {
+            StreamUtil.closeQuietly(stream);
+        }
+    }
+}
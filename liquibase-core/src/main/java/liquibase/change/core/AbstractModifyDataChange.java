@@ -1,7 +1,21 @@
 package liquibase.change.core;
 
 import liquibase.change.*;
-
+import liquibase.database.Database;
+import liquibase.database.OfflineConnection;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.datatype.LiquibaseDataType;
+import liquibase.datatype.core.*;
+import liquibase.exception.ValidationErrors;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.LoggingExecutor;
+import liquibase.statement.BatchedModifyDataStatement;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Table;
+
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +32,13 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
 
     protected String where;
 
+    protected String batchColumnName;
+    protected Integer batchSize;
+
+    private Database numericBatchColumnDatabase;
+    private String numericBatchColumnKey;
+    private boolean numericBatchColumn;
+
     @DatabaseChangeProperty(mustEqualExisting ="table.catalog")
     public String getCatalogName() {
         return catalogName;
@@ -81,4 +102,112 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
     public List<ColumnConfig> getWhereParams() {
         return whereParams;
     }
+
+    /**
+     * Numeric key column used to split the modification into key ranges when {@link #getBatchSize()} is set.
+     */
+    @DatabaseChangeProperty(description = "Numeric column used to split the change into key ranges. Required if batchSize is set", since = "3.4")
+    public String getBatchColumnName() {
+        return batchColumnName;
+    }
+
+    public void setBatchColumnName(String batchColumnName) {
+        this.batchColumnName = batchColumnName;
+    }
+
+    /**
+     * Size of the key ranges the modification is executed in. Each range is committed separately and progress is stored so an interrupted
+     * run continues with the next range. If null, all rows are modified with a single statement.
+     * Requires the containing changeSet to set runInTransaction="false".
+     */
+    @DatabaseChangeProperty(description = "Number of key values to modify per transaction. If set, each range is committed separately and an interrupted run resumes where it stopped", since = "3.4")
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors validate = super.validate(database);
+        if (getBatchSize() != null) {
+            validate.checkRequiredField("batchColumnName", getBatchColumnName());
+            if (getBatchSize() <= 0) {
+                validate.addError("batchSize must be greater than zero");
+            }
+            if (getChangeSet() != null && getChangeSet().isRunInTransaction()) {
+                validate.addError("batchSize requires runInTransaction=\"false\" on the changeSet since each key range is committed separately");
+            }
+            if (getBatchColumnName() != null && isBatched(database) && !isNumericBatchColumn(database)) {
+                validate.addError("batchColumnName " + getBatchColumnName() + " must be a numeric column");
+            }
+        }
+        return validate;
+    }
+
+    /**
+     * Returns false only if the batch column exists and is known not to be numeric.
+     * Returns true if the column cannot be checked, for example without a database connection.
+     * The result is kept for the database and column last checked, since validation can run several times per update.
+     */
+    protected boolean isNumericBatchColumn(Database database) {
+        if (database.getConnection() == null || database.getConnection() instanceof OfflineConnection) {
+            return true;
+        }
+        String key = getCatalogName() + "." + getSchemaName() + "." + getTableName() + "." + getBatchColumnName();
+        if (database != numericBatchColumnDatabase || !key.equals(numericBatchColumnKey)) {
+            numericBatchColumn = checkNumericBatchColumn(database);
+            numericBatchColumnDatabase = database;
+            numericBatchColumnKey = key;
+        }
+        return numericBatchColumn;
+    }
+
+    private boolean checkNumericBatchColumn(Database database) {
+        Column column;
+        try {
+            column = SnapshotGeneratorFactory.getInstance().createSnapshot(new Column(Table.class, getCatalogName(), getSchemaName(), getTableName(), getBatchColumnName()), database);
+        } catch (Exception e) {
+            return true;
+        }
+        if (column == null || column.getType() == null) {
+            return true;
+        }
+        Integer dataTypeId = column.getType().getDataTypeId();
+        if (dataTypeId != null && dataTypeId != Types.OTHER) {
+            return dataTypeId == Types.TINYINT || dataTypeId == Types.SMALLINT || dataTypeId == Types.INTEGER || dataTypeId == Types.BIGINT
+                    || dataTypeId == Types.NUMERIC || dataTypeId == Types.DECIMAL;
+        }
+        LiquibaseDataType type = DataTypeFactory.getInstance().from(column.getType(), database);
+        return type instanceof TinyIntType || type instanceof SmallIntType || type instanceof MediumIntType || type instanceof IntType
+                || type instanceof BigIntType || type instanceof NumberType || type instanceof DecimalType;
+    }
+
+    /**
+     * Returns true if the change should be executed in key range batches against the given database.
+     * Batching is skipped when only generating SQL, since the key ranges are read from the table at execution time.
+     */
+    protected boolean isBatched(Database database) {
+        return getBatchSize() != null && !(ExecutorService.getInstance().getExecutor(database) instanceof LoggingExecutor);
+    }
+
+    @Override
+    public SqlStatement[] generateStatements(Database database) {
+        if (isBatched(database)) {
+            return new SqlStatement[]{
+                    new BatchedModifyDataStatement(database, this)
+            };
+        }
+        return new SqlStatement[]{
+                generateModifyStatement(database, where)
+        };
+    }
+
+    /**
+     * Creates the statement modifying the rows matching the given where clause.
+     * Used both for the full modification and for each key range when executing in batches.
+     */
+    public abstract SqlStatement generateModifyStatement(Database database, String whereClause);
 }
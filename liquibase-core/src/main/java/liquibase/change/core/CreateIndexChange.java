@@ -2,6 +2,8 @@ package liquibase.change.core;
 
 import liquibase.change.*;
 import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
 import liquibase.snapshot.SnapshotGeneratorFactory;
@@ -32,6 +34,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
 	// for example: foreignKey, primaryKey or uniqueConstraint
 	private String associatedWith;
     private Boolean clustered;
+    private Boolean online;
 
 
     public CreateIndexChange() {
@@ -107,6 +110,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
 					    getColumns().toArray(new AddColumnConfig[getColumns().size()]))
 					    .setTablespace(getTablespace())
                         .setClustered(getClustered())
+                        .setOnline(getOnline())
 	    };
     }
 
@@ -200,6 +204,25 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
         this.clustered = clustered;
     }
 
+    @DatabaseChangeProperty(description = "Build the index without blocking writes to the table, if supported by the database. On PostgreSQL the changeSet must use runInTransaction=false", since = "3.4")
+    public Boolean getOnline() {
+        return online;
+    }
+
+    public void setOnline(Boolean online) {
+        this.online = online;
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors validate = super.validate(database);
+        if (getOnline() != null && getOnline() && database instanceof PostgresDatabase
+                && getChangeSet() != null && getChangeSet().isRunInTransaction()) {
+            validate.addError("online requires runInTransaction=\"false\" on the changeSet since CREATE INDEX CONCURRENTLY cannot run inside a transaction");
+        }
+        return validate;
+    }
+
     @Override
     public String getSerializedObjectNamespace() {
         return STANDARD_CHANGELOG_NAMESPACE;
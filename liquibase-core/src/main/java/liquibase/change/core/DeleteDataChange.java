@@ -13,11 +13,11 @@ public class DeleteDataChange extends AbstractModifyDataChange {
 
 
     @Override
-    public SqlStatement[] generateStatements(Database database) {
+    public SqlStatement generateModifyStatement(Database database, String whereClause) {
 
         DeleteStatement statement = new DeleteStatement(getCatalogName(), getSchemaName(), getTableName());
 
-        statement.setWhereClause(where);
+        statement.setWhereClause(whereClause);
 
         for (ColumnConfig whereParam : whereParams) {
             if (whereParam.getName() != null) {
@@ -26,9 +26,7 @@ public class DeleteDataChange extends AbstractModifyDataChange {
             statement.addWhereParameter(whereParam.getValueObject());
         }
 
-        return new SqlStatement[]{
-                statement
-        };
+        return statement;
     }
 
     @Override
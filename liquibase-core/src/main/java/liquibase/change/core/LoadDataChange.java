@@ -17,6 +17,7 @@ import liquibase.util.StringUtils;
 import liquibase.util.csv.CSVReader;
 
 import java.io.*;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import liquibase.util.BooleanParser;
@@ -315,6 +316,13 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
 
     @Override
     public CheckSum generateCheckSum() {
+        CheckSumCache checkSumCache = CheckSumCache.getInstance();
+        URL resourceUrl = checkSumCache.getResourceUrl(file, isRelativeToChangelogFile(), getChangeSet(), getResourceAccessor());
+        CheckSum fileCheckSum = checkSumCache.get("loadData", resourceUrl);
+        if (fileCheckSum != null) {
+            return CheckSum.compute(getTableName()+":"+fileCheckSum);
+        }
+
         InputStream stream = null;
         try {
             stream = StreamUtil.openStream(file, isRelativeToChangelogFile(), getChangeSet(), getResourceAccessor());
@@ -322,7 +330,9 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
                 throw new UnexpectedLiquibaseException(getFile() + " could not be found");
             }
             stream = new BufferedInputStream(stream);
-            return CheckSum.compute(getTableName()+":"+CheckSum.compute(stream, true));
+            fileCheckSum = CheckSum.compute(stream, true);
+            checkSumCache.put("loadData", resourceUrl, fileCheckSum);
+            return CheckSum.compute(getTableName()+":"+fileCheckSum);
         } catch (IOException e) {
             throw new UnexpectedLiquibaseException(e);
         } finally {
@@ -2,6 +2,7 @@ package liquibase.change.core;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 
 import liquibase.change.*;
 import liquibase.changelog.ChangeLogParameters;
@@ -114,6 +115,26 @@ public class SQLFileChange extends AbstractSQLChange {
         return inputStream;
     }
 
+    /**
+     * Uses the {@link CheckSumCache} if the sql comes from the file rather than being set directly.
+     */
+    @Override
+    public CheckSum generateCheckSum() {
+        if (super.getSql() != null) {
+            return super.generateCheckSum();
+        }
+
+        CheckSumCache checkSumCache = CheckSumCache.getInstance();
+        URL resourceUrl = checkSumCache.getResourceUrl(path, isRelativeToChangelogFile(), getChangeSet(), getResourceAccessor());
+        String cacheKey = "sqlFile:" + getEndDelimiter() + ":" + isSplitStatements() + ":" + isStripComments();
+        CheckSum checkSum = checkSumCache.get(cacheKey, resourceUrl);
+        if (checkSum == null) {
+            checkSum = super.generateCheckSum();
+            checkSumCache.put(cacheKey, resourceUrl, checkSum);
+        }
+        return checkSum;
+    }
+
     @Override
     public ValidationErrors validate(Database database) {
         ValidationErrors validationErrors = new ValidationErrors();
@@ -26,6 +26,9 @@ public class UpdateDataChange extends AbstractModifyDataChange implements Change
     public ValidationErrors validate(Database database) {
         ValidationErrors validate = super.validate(database);
         validate.checkRequiredField("columns", getColumns());
+        if (getBatchSize() != null && getColumns() != null && needsPreparedStatement()) {
+            validate.addError("batchSize is not supported when updating BLOB or CLOB values");
+        }
         return validate;
     }
 
@@ -52,18 +55,7 @@ public class UpdateDataChange extends AbstractModifyDataChange implements Change
     @Override
     public SqlStatement[] generateStatements(Database database) {
 
-    	boolean needsPreparedStatement = false;
-        for (ColumnConfig column : getColumns()) {
-            if (column.getValueBlobFile() != null) {
-                needsPreparedStatement = true;
-            }
-            if (column.getValueClobFile() != null
-                || (column.getType() != null && column.getType().equalsIgnoreCase("CLOB"))) {
-                needsPreparedStatement = true;
-            }
-        }
-
-        if (needsPreparedStatement) {
+        if (needsPreparedStatement()) {
             UpdateExecutablePreparedStatement statement = new UpdateExecutablePreparedStatement(database, catalogName, schemaName, tableName, columns, getChangeSet(), this.getResourceAccessor());
             
             statement.setWhereClause(where);
@@ -79,14 +71,19 @@ public class UpdateDataChange extends AbstractModifyDataChange implements Change
                     statement
             };
         }
-    	
+
+        return super.generateStatements(database);
+    }
+
+    @Override
+    public SqlStatement generateModifyStatement(Database database, String whereClause) {
         UpdateStatement statement = new UpdateStatement(getCatalogName(), getSchemaName(), getTableName());
 
         for (ColumnConfig column : getColumns()) {
             statement.addNewColumnValue(column.getName(), column.getValueObject());
         }
 
-        statement.setWhereClause(where);
+        statement.setWhereClause(whereClause);
 
         for (ColumnConfig whereParam : whereParams) {
             if (whereParam.getName() != null) {
@@ -95,9 +92,20 @@ public class UpdateDataChange extends AbstractModifyDataChange implements Change
             statement.addWhereParameter(whereParam.getValueObject());
         }
 
-        return new SqlStatement[]{
-                statement
-        };
+        return statement;
+    }
+
+    protected boolean needsPreparedStatement() {
+        for (ColumnConfig column : getColumns()) {
+            if (column.getValueBlobFile() != null) {
+                return true;
+            }
+            if (column.getValueClobFile() != null
+                || (column.getType() != null && column.getType().equalsIgnoreCase("CLOB"))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
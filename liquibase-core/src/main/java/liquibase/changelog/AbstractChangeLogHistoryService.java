@@ -9,7 +9,9 @@ import liquibase.exception.DatabaseException;
 import liquibase.exception.DatabaseHistoryException;
 import liquibase.logging.LogFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 public abstract class AbstractChangeLogHistoryService implements ChangeLogHistoryService {
 
@@ -60,15 +62,28 @@ public abstract class AbstractChangeLogHistoryService implements ChangeLogHistor
     }
 
     public void upgradeChecksums(final DatabaseChangeLog databaseChangeLog, final Contexts contexts, LabelExpression labels) throws DatabaseException {
+        for (ChangeSet changeSet : getChangeSetsWithoutChecksum(databaseChangeLog, contexts)) {
+            LogFactory.getLogger().debug("Updating null or out of date checksum on changeSet " + changeSet + " to correct value");
+            replaceChecksum(changeSet);
+        }
+    }
+
+    /**
+     * Returns the changeSets in the changelog that match the contexts and database but have no checksum stored in the history.
+     */
+    protected List<ChangeSet> getChangeSetsWithoutChecksum(DatabaseChangeLog databaseChangeLog, Contexts contexts) throws DatabaseException {
+        List<ChangeSet> changeSets = new ArrayList<ChangeSet>();
+        ContextChangeSetFilter contextFilter = new ContextChangeSetFilter(contexts);
+        DbmsChangeSetFilter dbmsFilter = new DbmsChangeSetFilter(getDatabase());
         for (RanChangeSet ranChangeSet : this.getRanChangeSets()) {
             if (ranChangeSet.getLastCheckSum() == null) {
                 ChangeSet changeSet = databaseChangeLog.getChangeSet(ranChangeSet);
-                if (changeSet != null && new ContextChangeSetFilter(contexts).accepts(changeSet).isAccepted() && new DbmsChangeSetFilter(getDatabase()).accepts(changeSet).isAccepted()) {
-                    LogFactory.getLogger().debug("Updating null or out of date checksum on changeSet " + changeSet + " to correct value");
-                    replaceChecksum(changeSet);
+                if (changeSet != null && contextFilter.accepts(changeSet).isAccepted() && dbmsFilter.accepts(changeSet).isAccepted()) {
+                    changeSets.add(changeSet);
                 }
             }
         }
+        return changeSets;
     }
 
     @Override
@@ -0,0 +1,148 @@
+package liquibase.changelog;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.changelog.filter.ChangeSetFilter;
+import liquibase.changelog.filter.ContextChangeSetFilter;
+import liquibase.changelog.filter.DbmsChangeSetFilter;
+import liquibase.changelog.filter.LabelChangeSetFilter;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.database.Database;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.logging.LogFactory;
+import liquibase.snapshot.InvalidExampleException;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.DatabaseFunction;
+import liquibase.statement.NotNullConstraint;
+import liquibase.statement.core.CreateTableStatement;
+import liquibase.statement.core.DeleteStatement;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Table;
+import liquibase.util.MD5Util;
+
+/**
+ * Records fingerprints of changelogs that were fully applied to a database, so a later update with an identical changelog can finish
+ * without taking the lock or reading the change history.
+ * <p></p>
+ * A fingerprint is a hash over the path, id, author and checksum of every changeSet selected by the contexts, labels and database, in order.
+ * Fingerprints are stored in {@link GlobalConfiguration#getDatabaseChangeLogFingerprintTableName()} once an update leaves nothing to run,
+ * and are all removed whenever changeSets are removed from the history or their checksums are cleared.
+ */
+public class ChangeLogFingerprint {
+
+    private final Database database;
+    private Boolean tableExists;
+
+    public ChangeLogFingerprint(Database database) {
+        this.database = database;
+    }
+
+    public String getTableName() {
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getDatabaseChangeLogFingerprintTableName();
+    }
+
+    /**
+     * Returns the fingerprint of the given changelog, or null if the changelog has runAlways changeSets or changelog preconditions
+     * and so always needs a full update.
+     */
+    public String compute(DatabaseChangeLog changeLog, Contexts contexts, LabelExpression labelExpression) {
+        if (changeLog.getPreconditions() != null && changeLog.getPreconditions().getNestedPreconditions().size() > 0) {
+            return null;
+        }
+
+        ChangeSetFilter[] filters = new ChangeSetFilter[]{
+                new ContextChangeSetFilter(contexts),
+                new LabelChangeSetFilter(labelExpression),
+                new DbmsChangeSetFilter(database)
+        };
+        StringBuilder content = new StringBuilder();
+        content.append(contexts == null ? "" : contexts.toString()).append("|")
+                .append(labelExpression == null ? "" : labelExpression.toString()).append("|")
+                .append(database.getShortName());
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            boolean accepted = true;
+            for (ChangeSetFilter filter : filters) {
+                if (!filter.accepts(changeSet).isAccepted()) {
+                    accepted = false;
+                    break;
+                }
+            }
+            if (accepted) {
+                if (changeSet.shouldAlwaysRun()) {
+                    return null;
+                }
+                content.append("|").append(changeSet.toString(false)).append("::").append(changeSet.generateCheckSum());
+            }
+        }
+        return MD5Util.computeMD5(content.toString());
+    }
+
+    /**
+     * Returns true if the fingerprint was stored by an earlier update. Returns false if it was not, or if the fingerprints cannot be read.
+     */
+    public boolean isApplied(String fingerprint) {
+        try {
+            return ExecutorService.getInstance().getExecutor(database).queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM "
+                    + database.escapeTableName(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName())
+                    + " WHERE FINGERPRINT='" + fingerprint + "'")) > 0;
+        } catch (DatabaseException e) {
+            LogFactory.getLogger().debug("Cannot read changelog fingerprints: " + e.getMessage());
+            try {
+                database.rollback();
+            } catch (DatabaseException rollbackException) {
+                LogFactory.getLogger().debug("Error rolling back after reading changelog fingerprints", rollbackException);
+            }
+            return false;
+        }
+    }
+
+    public void store(String fingerprint) throws DatabaseException {
+        createTableIfNeeded();
+        if (isApplied(fingerprint)) {
+            return;
+        }
+        ExecutorService.getInstance().getExecutor(database).execute(new InsertStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName())
+                .addColumnValue("FINGERPRINT", fingerprint)
+                .addColumnValue("DATEEXECUTED", new DatabaseFunction(database.getCurrentDateTimeFunction())));
+        database.commit();
+    }
+
+    /**
+     * Removes all stored fingerprints. Must be called whenever the change history is changed other than by adding changeSets to it.
+     */
+    public void clear() throws DatabaseException {
+        if (!hasTable()) {
+            return;
+        }
+        ExecutorService.getInstance().getExecutor(database).execute(new DeleteStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName()));
+    }
+
+    protected boolean hasTable() throws DatabaseException {
+        if (tableExists == null) {
+            try {
+                tableExists = SnapshotGeneratorFactory.getInstance().has(new Table().setName(getTableName()).setSchema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName()), database);
+            } catch (InvalidExampleException e) {
+                throw new DatabaseException(e);
+            }
+        }
+        return tableExists;
+    }
+
+    protected void createTableIfNeeded() throws DatabaseException {
+        if (hasTable()) {
+            return;
+        }
+
+        LogFactory.getLogger().info("Creating " + getTableName() + " table");
+        ExecutorService.getInstance().getExecutor(database).execute(new CreateTableStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName())
+                .setTablespace(database.getLiquibaseTablespaceName())
+                .addPrimaryKeyColumn("FINGERPRINT", DataTypeFactory.getInstance().fromDescription("VARCHAR(35)", database), null, null, null, new NotNullConstraint())
+                .addColumn("DATEEXECUTED", DataTypeFactory.getInstance().fromDescription("DATETIME", database)));
+        database.commit();
+        tableExists = true;
+    }
+}
@@ -5,10 +5,13 @@ import liquibase.Labels;
 import liquibase.change.Change;
 import liquibase.change.ChangeFactory;
 import liquibase.change.CheckSum;
+import liquibase.change.CheckSumCache;
 import liquibase.change.DbmsTargetedChange;
 import liquibase.change.core.EmptyChange;
 import liquibase.change.core.RawSQLChange;
 import liquibase.changelog.visitor.ChangeExecListener;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseList;
 import liquibase.database.ObjectQuotingStrategy;
@@ -29,7 +32,10 @@ import liquibase.serializer.LiquibaseSerializable;
 import liquibase.sql.visitor.SqlVisitor;
 import liquibase.sql.visitor.SqlVisitorFactory;
 import liquibase.statement.SqlStatement;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.MD5Util;
 import liquibase.util.StreamUtil;
+import liquibase.util.StringPool;
 import liquibase.util.StringUtils;
 
 import java.util.*;
@@ -84,6 +90,14 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
      */
     private List<Change> changes;
 
+    /**
+     * Change nodes from {@link #load(ParsedNode, ResourceAccessor)} that have not been turned into {@link Change} objects yet.
+     * Only used if {@link GlobalConfiguration#getLazyChangeLoading()} is set, and null once the changes are loaded.
+     */
+    private List<ParsedNode> unloadedChangeNodes;
+    private ResourceAccessor unloadedResourceAccessor;
+    private CheckSum unloadedCheckSum;
+
     /**
      * "id" specified in changeLog file.  Combination of id+author+filePath must be unique
      */
@@ -134,7 +148,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
     /**
      * List of checksums that are assumed to be valid besides the one stored in the database.  Can include the string "any"
      */
-    private Set<CheckSum> validCheckSums = new HashSet<CheckSum>();
+    private Set<CheckSum> validCheckSums;
 
     /**
      * If true, the changeSet will run in a database transaction.  Defaults to true
@@ -154,7 +168,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
     /**
      * Changes defined to roll back this changeSet
      */
-    private List<Change> rollBackChanges = new ArrayList<Change>();
+    private List<Change> rollBackChanges = new ArrayList<Change>(0);
 
 
     /**
@@ -171,12 +185,17 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
      * SqlVisitors defined for this changeset.
      * SqlVisitors will modify the SQL generated by the changes before sending it to the database.
      */
-    private List<SqlVisitor> sqlVisitors = new ArrayList<SqlVisitor>();
+    private List<SqlVisitor> sqlVisitors = new ArrayList<SqlVisitor>(0);
 
     private ObjectQuotingStrategy objectQuotingStrategy;
 
     private DatabaseChangeLog changeLog;
 
+    /**
+     * Listener passed to the currently running {@link #execute(DatabaseChangeLog, ChangeExecListener, Database)} call, if any.
+     */
+    private ChangeExecListener execListener;
+
     public boolean shouldAlwaysRun() {
         return alwaysRun;
     }
@@ -207,8 +226,8 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
                      boolean runInTransaction, ObjectQuotingStrategy quotingStrategy, DatabaseChangeLog databaseChangeLog) {
         this(databaseChangeLog);
         this.id = id;
-        this.author = author;
-        this.filePath = filePath;
+        this.author = StringPool.intern(author);
+        this.filePath = StringPool.intern(filePath);
         this.alwaysRun = alwaysRun;
         this.runOnChange = runOnChange;
         this.runInTransaction = runInTransaction;
@@ -220,9 +239,9 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
     protected void setDbms(String dbmsList) {
         if (StringUtils.trimToNull(dbmsList) != null) {
             String[] strings = dbmsList.toLowerCase().split(",");
-            dbmsSet = new HashSet<String>();
+            dbmsSet = new HashSet<String>(strings.length * 2);
             for (String string : strings) {
-                dbmsSet.add(string.trim().toLowerCase());
+                dbmsSet.add(StringPool.intern(string.trim().toLowerCase()));
             }
         }
     }
@@ -231,7 +250,82 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
         return filePath;
     }
 
+    /**
+     * Returns the checksum of the changes and sql visitors.
+     * If the changes are not loaded yet, a checksum stored in the {@link CheckSumCache} for the same definitions is used instead of loading them.
+     */
     public CheckSum generateCheckSum() {
+        CheckSumCache cache = CheckSumCache.getInstance();
+        String contentKey;
+        synchronized (this) {
+            if (unloadedChangeNodes == null || !cache.isEnabled() || !changes.isEmpty()) {
+                return computeCheckSum();
+            }
+            if (unloadedCheckSum != null) {
+                return unloadedCheckSum;
+            }
+            contentKey = getUnloadedContentKey();
+        }
+
+        CheckSum checkSum = cache.get(contentKey);
+        if (checkSum == null) {
+            checkSum = computeCheckSum();
+            cache.put(contentKey, checkSum);
+        }
+        synchronized (this) {
+            if (unloadedChangeNodes != null) {
+                unloadedCheckSum = checkSum;
+            }
+        }
+        return checkSum;
+    }
+
+    /**
+     * Returns a key identifying the unloaded change nodes and sql visitors for the {@link CheckSumCache},
+     * or null if a change reads an external file so its checksum cannot be derived from the changelog alone.
+     */
+    protected String getUnloadedContentKey() {
+        StringBuilder content = new StringBuilder();
+        content.append(CheckSum.getCurrentVersion()).append(":").append(LiquibaseUtil.getBuildVersion());
+        for (ParsedNode changeNode : unloadedChangeNodes) {
+            for (ParsedNode child : changeNode.getChildren()) {
+                if (child.getName().equals("file") || child.getName().equals("path")) {
+                    return null;
+                }
+            }
+            content.append("|");
+            appendNodeContent(changeNode, content);
+        }
+        for (SqlVisitor visitor : getSqlVisitors()) {
+            content.append(";").append(visitor.generateCheckSum());
+        }
+        return "changeSet." + MD5Util.computeMD5(content.toString());
+    }
+
+    /**
+     * Appends the name, value and children of the node in document order. Unlike {@link ParsedNode#toString()} the children are not sorted,
+     * so reordered columns or changes give a different content key. Strings are length prefixed so values cannot run into each other.
+     */
+    private void appendNodeContent(ParsedNode node, StringBuilder content) {
+        appendLengthPrefixed(node.getName(), content);
+        Object value = node.getValue();
+        appendLengthPrefixed(value == null ? null : value.getClass().getName() + ":" + value, content);
+        content.append("[");
+        for (ParsedNode child : node.getChildren()) {
+            appendNodeContent(child, content);
+        }
+        content.append("]");
+    }
+
+    private void appendLengthPrefixed(String string, StringBuilder content) {
+        if (string == null) {
+            content.append("-1#");
+        } else {
+            content.append(string.length()).append("#").append(string);
+        }
+    }
+
+    protected CheckSum computeCheckSum() {
         StringBuffer stringToMD5 = new StringBuffer();
         for (Change change : getChanges()) {
             stringToMD5.append(change.generateCheckSum()).append(":");
@@ -248,7 +342,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
     @Override
     public void load(ParsedNode node, ResourceAccessor resourceAccessor) throws ParsedNodeException {
         this.id = node.getChildValue(null, "id", String.class);
-        this.author = node.getChildValue(null, "author", String.class);
+        this.author = StringPool.intern(node.getChildValue(null, "author", String.class));
         this.alwaysRun  = node.getChildValue(null, "runAlways", node.getChildValue(null, "alwaysRun", false));
         this.runOnChange  = node.getChildValue(null, "runOnChange", false);
         this.contexts = new ContextExpression(node.getChildValue(null, "context", String.class));
@@ -279,7 +373,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
             this.objectQuotingStrategy = ObjectQuotingStrategy.LEGACY;
         }
 
-        this.filePath = StringUtils.trimToNull(node.getChildValue(null, "logicalFilePath", String.class));
+        this.filePath = StringPool.intern(StringUtils.trimToNull(node.getChildValue(null, "logicalFilePath", String.class)));
         if (filePath == null) {
             filePath = changeLog.getFilePath();
         }
@@ -288,9 +382,21 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
         String onValidationFailString = node.getChildValue(null, "onValidationFail", "HALT");
         this.setOnValidationFail(ValidationFailOption.valueOf(onValidationFailString));
 
+        if (LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getLazyChangeLoading()) {
+            this.unloadedChangeNodes = new ArrayList<ParsedNode>();
+            this.unloadedResourceAccessor = resourceAccessor;
+        }
         for (ParsedNode child : node.getChildren()) {
             handleChildNode(child, resourceAccessor);
         }
+
+        if (unloadedChangeNodes != null && unloadedChangeNodes.size() == 0) {
+            unloadedChangeNodes = null;
+            unloadedResourceAccessor = null;
+        }
+        if (changes instanceof ArrayList) {
+            ((ArrayList<Change>) changes).trimToSize();
+        }
     }
 
     protected void handleChildNode(ParsedNode child, ResourceAccessor resourceAccessor) throws ParsedNodeException {
@@ -357,11 +463,56 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
             for (ParsedNode changeNode : child.getChildren()) {
                 handleChildNode(changeNode, resourceAccessor);
             }
+        } else if (unloadedChangeNodes != null && ChangeFactory.getInstance().getRegistry().containsKey(child.getName())) {
+            unloadedChangeNodes.add(child);
         } else {
             addChange(toChange(child, resourceAccessor));
         }
     }
 
+    /**
+     * Returns true if the {@link Change} objects of this changeSet have been created.
+     * They are created on first use if {@link GlobalConfiguration#getLazyChangeLoading()} is set.
+     */
+    public synchronized boolean isChangesLoaded() {
+        return unloadedChangeNodes == null;
+    }
+
+    /**
+     * Creates the changes from the parsed change nodes. If the {@link CheckSumCache} is enabled, the checksum of the new changes is stored
+     * under their content key, so the changeSet does not need to be loaded again to validate its checksum once it has run.
+     */
+    protected synchronized void loadChanges() {
+        if (unloadedChangeNodes == null) {
+            return;
+        }
+        CheckSumCache cache = CheckSumCache.getInstance();
+        String contentKey = cache.isEnabled() && changes.isEmpty() ? getUnloadedContentKey() : null;
+        List<ParsedNode> changeNodes = unloadedChangeNodes;
+        ResourceAccessor resourceAccessor = unloadedResourceAccessor;
+        unloadedChangeNodes = null;
+        unloadedResourceAccessor = null;
+        unloadedCheckSum = null;
+
+        List<Change> addedChanges = new ArrayList<Change>(changes);
+        changes.clear();
+        try {
+            for (ParsedNode changeNode : changeNodes) {
+                addChange(toChange(changeNode, resourceAccessor));
+            }
+        } catch (ParsedNodeException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        changes.addAll(addedChanges);
+        if (changes instanceof ArrayList) {
+            ((ArrayList<Change>) changes).trimToSize();
+        }
+
+        if (contentKey != null && cache.get(contentKey) == null) {
+            cache.put(contentKey, computeCheckSum());
+        }
+    }
+
     protected void handleRollbackNode(ParsedNode rollbackNode, ResourceAccessor resourceAccessor) throws ParsedNodeException {
         String changeSetId = rollbackNode.getChildValue(null, "changeSetId", String.class);
         if (changeSetId != null) {
@@ -445,6 +596,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
         boolean skipChange = false;
 
         Executor executor = ExecutorService.getInstance().getExecutor(database);
+        this.execListener = listener;
         try {
             // set object quoting strategy
             database.setObjectQuotingStrategy(objectQuotingStrategy);
@@ -533,7 +685,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
             }
 
             if (!skipChange) {
-                for (Change change : changes) {
+                for (Change change : getChanges()) {
                     try {
                         change.finishInitialization();
                     } catch (SetupException se) {
@@ -587,6 +739,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
                 }
             }
         } finally {
+            this.execListener = null;
             // restore auto-commit to false if this ChangeSet was not run in a transaction,
             // but only if the database supports DDL in transactions
             if (!runInTransaction && database.supportsDDLInTransaction()) {
@@ -673,6 +826,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
      * Returns an unmodifiable list of changes.  To add one, use the addRefactoing method.
      */
     public List<Change> getChanges() {
+        loadChanges();
         return Collections.unmodifiableList(changes);
     }
 
@@ -712,6 +866,14 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
         return changeLog;
     }
 
+    /**
+     * Returns the listener passed to {@link #execute(DatabaseChangeLog, ChangeExecListener, Database)} while the changeSet is executing, otherwise null.
+     * Allows statements which report their own progress to reach the listener.
+     */
+    public ChangeExecListener getExecListener() {
+        return execListener;
+    }
+
     public String toString(boolean includeMD5Sum) {
         return filePath + "::" + getId() + "::" + getAuthor() + (includeMD5Sum ? ("::(Checksum: " + generateCheckSum() + ")") : "");
     }
@@ -832,16 +994,22 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
     }
 
     public void addValidCheckSum(String text) {
+        if (validCheckSums == null) {
+            validCheckSums = new HashSet<CheckSum>(4);
+        }
         validCheckSums.add(CheckSum.parse(text));
     }
 
     public Set<CheckSum> getValidCheckSums() {
+        if (validCheckSums == null) {
+            return Collections.emptySet();
+        }
         return Collections.unmodifiableSet(validCheckSums);
     }
 
     public boolean isCheckSumValid(CheckSum storedCheckSum) {
         // no need to generate the checksum if any has been set as the valid checksum
-        for (CheckSum validCheckSum : validCheckSums) {
+        for (CheckSum validCheckSum : getValidCheckSums()) {
             if (validCheckSum.toString().equalsIgnoreCase("1:any")) {
                 return true;
             }
@@ -857,7 +1025,7 @@ public class ChangeSet implements Conditional, LiquibaseSerializable {
             return true;
         }
 
-        for (CheckSum validCheckSum : validCheckSums) {
+        for (CheckSum validCheckSum : getValidCheckSums()) {
             if (currentMd5Sum.equals(validCheckSum)) {
                 return true;
             }
@@ -3,10 +3,13 @@ package liquibase.changelog;
 import liquibase.Contexts;
 import liquibase.LabelExpression;
 import liquibase.RuntimeEnvironment;
+import liquibase.change.CheckSumCache;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.changelog.filter.LabelChangeSetFilter;
 import liquibase.changelog.visitor.ValidatingVisitor;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.exception.LiquibaseException;
@@ -194,9 +197,17 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
         ChangeLogIterator logIterator = new ChangeLogIterator(this, new DbmsChangeSetFilter(database), new ContextChangeSetFilter(contexts), new LabelChangeSetFilter(labelExpression));
 
+        if (LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getLazyChangeLoading() && !CheckSumCache.getInstance().isEnabled()) {
+            LogFactory.getLogger().warning("lazyChangeLoading is set without checksumCacheDirectory: the changes of every changeSet will be loaded to compute their checksums");
+        }
+
         ValidatingVisitor validatingVisitor = new ValidatingVisitor(database.getRanChangeSetList());
         validatingVisitor.validate(database, this);
-        logIterator.run(validatingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
+        try {
+            logIterator.run(validatingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
+        } finally {
+            CheckSumCache.getInstance().flush();
+        }
 
         for (String message : validatingVisitor.getWarnings().getMessages()) {
             LogFactory.getLogger().warning(message);
@@ -10,6 +10,7 @@ import liquibase.exception.DatabaseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.ExecutorService;
+import liquibase.logging.LogFactory;
 import liquibase.servicelocator.LiquibaseService;
 import liquibase.statement.core.CreateDatabaseChangeLogTableStatement;
 import liquibase.statement.core.MarkChangeSetRanStatement;
@@ -27,10 +28,22 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
 
+/**
+ * Change history for offline databases, stored in a CSV file.
+ * <p></p>
+ * The file is read once and kept in memory. Changes are appended to a journal file next to it instead of rewriting the whole file,
+ * and the journal is compacted back into the CSV file when it grows large, on {@link #reset()} and on {@link #compact()}.
+ */
 @LiquibaseService(skip = true)
 public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
+    protected static final int MAX_JOURNAL_SIZE = 1000;
+    private static final String JOURNAL_PUT = "PUT";
+    private static final String JOURNAL_REPLACE = "REPLACE";
+    private static final String JOURNAL_REMOVE = "REMOVE";
+
     private final File changeLogFile;
+    private final File journalFile;
     private boolean executeAgainstDatabase = true;
     private int COLUMN_ID = 0;
     private int COLUMN_AUTHOR = 1;
@@ -46,6 +59,9 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
     private int COLUMN_CONTEXTS = 11;
     private int COLUMN_LABELS = 12;
     private Integer lastChangeSetSequenceValue;
+    private String[] header;
+    private Map<String, String[]> rows;
+    private int journalSize;
 
     public OfflineChangeLogHistoryService(Database database, File changeLogFile, boolean executeAgainstDatabase) {
         setDatabase(database);
@@ -53,6 +69,7 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
         changeLogFile = changeLogFile.getAbsoluteFile();
         this.changeLogFile = changeLogFile;
+        this.journalFile = new File(changeLogFile.getParentFile(), changeLogFile.getName() + ".journal");
     }
 
     @Override
@@ -75,7 +92,15 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public void reset() {
-
+        if (rows != null && journalSize > 0) {
+            try {
+                compact();
+            } catch (DatabaseException e) {
+                LogFactory.getInstance().getLog().warning("Could not compact changelog history journal " + journalFile.getAbsolutePath() + ", it will be read again on next use: " + e.getMessage(), e);
+            }
+        }
+        rows = null;
+        header = null;
     }
 
     @Override
@@ -85,6 +110,8 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             try {
                 changeLogFile.createNewFile();
                 writeHeader(changeLogFile);
+                journalFile.delete();
+                rows = null;
 
                 if (isExecuteAgainstDatabase()) {
                     ExecutorService.getInstance().getExecutor(getDatabase()).execute(new CreateDatabaseChangeLogTableStatement());
@@ -140,17 +167,14 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
-        FileReader reader = null;
-        try {
-            reader = new FileReader(this.changeLogFile);
-            CSVReader csvReader = new CSVReader(reader);
-            String[] line = csvReader.readNext();
-            if (!line[COLUMN_ID].equals("ID")) {
-                throw new DatabaseException("Missing header in file "+this.changeLogFile.getAbsolutePath());
-            }
+        Map<String, String[]> rows = getRows();
+        if (header == null || !header[COLUMN_ID].equals("ID")) {
+            throw new DatabaseException("Missing header in file "+this.changeLogFile.getAbsolutePath());
+        }
 
-            List<RanChangeSet> returnList = new ArrayList<RanChangeSet>();
-            while ((line = csvReader.readNext()) != null) {
+        try {
+            List<RanChangeSet> returnList = new ArrayList<RanChangeSet>(rows.size());
+            for (String[] line : rows.values()) {
                 ContextExpression contexts = new ContextExpression();
                 if (line.length > COLUMN_CONTEXTS) {
                     contexts = new ContextExpression(line[COLUMN_CONTEXTS]);
@@ -177,115 +201,142 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             return returnList;
         } catch (Exception e) {
             throw new DatabaseException(e);
-        } finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException ignore) { }
+        }
+    }
+
+    /**
+     * Returns the history rows keyed by changeSet, in file order. Read from the CSV file and the journal on first use.
+     */
+    protected Map<String, String[]> getRows() throws DatabaseException {
+        if (rows == null) {
+            Map<String, String[]> rows = new LinkedHashMap<String, String[]>();
+            FileReader reader = null;
+            try {
+                reader = new FileReader(this.changeLogFile);
+                CSVReader csvReader = new CSVReader(reader);
+                header = csvReader.readNext();
+                String[] line;
+                while ((line = csvReader.readNext()) != null) {
+                    rows.put(getRowKey(line), line);
+                }
+                csvReader.close();
+                reader = null;
+
+                journalSize = 0;
+                if (journalFile.exists()) {
+                    reader = new FileReader(journalFile);
+                    csvReader = new CSVReader(reader);
+                    String[] record;
+                    while ((record = csvReader.readNext()) != null) {
+                        line = Arrays.copyOfRange(record, 1, record.length);
+                        if (record[0].equals(JOURNAL_PUT)) {
+                            String key = getRowKey(line);
+                            rows.remove(key);
+                            rows.put(key, line);
+                        } else if (record[0].equals(JOURNAL_REPLACE)) {
+                            rows.put(getRowKey(line), line);
+                        } else if (record[0].equals(JOURNAL_REMOVE)) {
+                            rows.remove(getRowKey(line));
+                        } else {
+                            throw new DatabaseException("Unknown operation '" + record[0] + "' in " + journalFile.getAbsolutePath());
+                        }
+                        journalSize++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new DatabaseException(e);
+            } finally {
+                if (reader != null) {
+                    try {
+                        reader.close();
+                    } catch (IOException ignore) { }
+                }
             }
+            this.rows = rows;
         }
+        return rows;
     }
 
-    protected void replaceChangeSet(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
-        File oldFile = this.changeLogFile;
-        File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
+    private String getRowKey(String[] line) {
+        return line[COLUMN_ID] + "::" + line[COLUMN_AUTHOR] + "::" + line[COLUMN_FILENAME];
+    }
 
-        FileReader reader = null;
-        FileWriter writer = null;
+    private String getRowKey(ChangeSet changeSet) {
+        return changeSet.getId() + "::" + changeSet.getAuthor() + "::" + changeSet.getFilePath();
+    }
 
+    /**
+     * Appends a change to the journal next to the CSV file. Compacts the journal into the CSV file once it holds {@link #MAX_JOURNAL_SIZE} records.
+     */
+    protected void appendToJournal(String operation, String[] line) throws DatabaseException {
+        FileWriter writer = null;
         try {
-            reader = new FileReader(oldFile);
-            writer = new FileWriter(newFile);
-            CSVReader csvReader = new CSVReader(reader);
+            writer = new FileWriter(journalFile, true);
             CSVWriter csvWriter = new CSVWriter(writer);
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
-                if (changeSet == null || (line[COLUMN_ID].equals(changeSet.getId()) && line[COLUMN_AUTHOR].equals(changeSet.getAuthor()) && line[COLUMN_FILENAME].equals(changeSet.getFilePath()))) {
-                    line = replaceLogic.execute(line);
-                }
-                if (line != null) {
-                    csvWriter.writeNext(line);
-                }
-            }
-
+            String[] record = new String[line.length + 1];
+            record[0] = operation;
+            System.arraycopy(line, 0, record, 1, line.length);
+            csvWriter.writeNext(record);
             csvWriter.flush();
             csvWriter.close();
             writer = null;
-
-            csvReader.close();
-            reader = null;
-
-
-            oldFile.delete();
-            newFile.renameTo(oldFile);
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new DatabaseException(e);
         } finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException ignore) { }
-            }
             if (writer != null) {
                 try {
-                    writer.flush();
                     writer.close();
                 } catch (IOException ignore) {}
             }
         }
+
+        if (++journalSize >= MAX_JOURNAL_SIZE) {
+            compact();
+        }
     }
 
-    protected void appendChangeSet(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
+    /**
+     * Writes the complete history to the CSV file and deletes the journal. The journal is only deleted once the new CSV file is in place.
+     */
+    public void compact() throws DatabaseException {
+        if (rows == null) {
+            return;
+        }
         File oldFile = this.changeLogFile;
         File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
 
-        FileReader reader = null;
         FileWriter writer = null;
 
         try {
-            reader = new FileReader(oldFile);
             writer = new FileWriter(newFile);
-            CSVReader csvReader = new CSVReader(reader);
             CSVWriter csvWriter = new CSVWriter(writer);
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
+            if (header != null) {
+                csvWriter.writeNext(header);
+            }
+            for (String[] line : rows.values()) {
                 csvWriter.writeNext(line);
             }
 
-            String[] newLine = new String[11];
-            newLine[COLUMN_ID] = changeSet.getId();
-            newLine[COLUMN_AUTHOR] = changeSet.getAuthor();
-            newLine[COLUMN_FILENAME] =  changeSet.getFilePath();
-            newLine[COLUMN_DATEEXECUTED] = new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime()));
-            newLine[COLUMN_ORDEREXECUTED] = String.valueOf(getNextSequenceValue());
-            newLine[COLUMN_EXECTYPE] = execType.value;
-            newLine[COLUMN_MD5SUM] = changeSet.generateCheckSum().toString();
-            newLine[COLUMN_DESCRIPTION] = changeSet.getDescription();
-            newLine[COLUMN_COMMENTS] = changeSet.getComments();
-            newLine[COLUMN_TAG] = "";
-            newLine[COLUMN_LIQUIBASE] = LiquibaseUtil.getBuildVersion().replaceAll("SNAPSHOT", "SNP");
-            newLine[COLUMN_CONTEXTS] = changeSet.getContexts() == null ? null : changeSet.getContexts().toString();
-            newLine[COLUMN_LABELS] = changeSet.getLabels() == null ? null : changeSet.getLabels().toString();
-
-            csvWriter.writeNext(newLine);
-
             csvWriter.flush();
             csvWriter.close();
             writer = null;
 
-            csvReader.close();
-            reader = null;
-
-            oldFile.delete();
-            newFile.renameTo(oldFile);
-        } catch (Exception e) {
+            if (!newFile.renameTo(oldFile)) {
+                if (oldFile.exists() && !oldFile.delete()) {
+                    throw new DatabaseException("Could not replace " + oldFile.getAbsolutePath() + ", changes are kept in the journal " + journalFile.getAbsolutePath());
+                }
+                if (!newFile.renameTo(oldFile)) {
+                    throw new DatabaseException("Could not rename " + newFile.getAbsolutePath() + " to " + oldFile.getAbsolutePath()
+                            + ", it contains the compacted history and changes are kept in the journal " + journalFile.getAbsolutePath());
+                }
+            }
+            if (journalFile.exists() && !journalFile.delete()) {
+                throw new DatabaseException("Could not delete changelog history journal " + journalFile.getAbsolutePath());
+            }
+            journalSize = 0;
+        } catch (IOException e) {
             throw new DatabaseException(e);
         } finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException ignore) { }
-            }
             if (writer != null) {
                 try {
                     writer.flush();
@@ -295,6 +346,65 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         }
     }
 
+    protected void replaceChangeSet(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
+        Map<String, String[]> rows = getRows();
+        if (changeSet == null) {
+            for (Iterator<Map.Entry<String, String[]>> iterator = rows.entrySet().iterator(); iterator.hasNext(); ) {
+                Map.Entry<String, String[]> row = iterator.next();
+                String[] line = replaceLogic.execute(row.getValue());
+                if (line == null) {
+                    iterator.remove();
+                } else {
+                    row.setValue(line);
+                }
+            }
+            compact();
+            return;
+        }
+
+        String key = getRowKey(changeSet);
+        String[] line = rows.get(key);
+        if (line == null) {
+            return;
+        }
+        line = replaceLogic.execute(line);
+        if (line == null) {
+            rows.remove(key);
+            appendToJournal(JOURNAL_REMOVE, new String[]{changeSet.getId(), changeSet.getAuthor(), changeSet.getFilePath()});
+        } else {
+            rows.put(key, line);
+            appendToJournal(JOURNAL_REPLACE, line);
+        }
+    }
+
+    protected void appendChangeSet(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
+        Map<String, String[]> rows = getRows();
+
+        String[] newLine = new String[13];
+        newLine[COLUMN_ID] = changeSet.getId();
+        newLine[COLUMN_AUTHOR] = changeSet.getAuthor();
+        newLine[COLUMN_FILENAME] =  changeSet.getFilePath();
+        newLine[COLUMN_DATEEXECUTED] = new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime()));
+        try {
+            newLine[COLUMN_ORDEREXECUTED] = String.valueOf(getNextSequenceValue());
+        } catch (LiquibaseException e) {
+            throw new DatabaseException(e);
+        }
+        newLine[COLUMN_EXECTYPE] = execType.value;
+        newLine[COLUMN_MD5SUM] = changeSet.generateCheckSum().toString();
+        newLine[COLUMN_DESCRIPTION] = changeSet.getDescription();
+        newLine[COLUMN_COMMENTS] = changeSet.getComments();
+        newLine[COLUMN_TAG] = "";
+        newLine[COLUMN_LIQUIBASE] = LiquibaseUtil.getBuildVersion().replaceAll("SNAPSHOT", "SNP");
+        newLine[COLUMN_CONTEXTS] = changeSet.getContexts() == null ? null : changeSet.getContexts().toString();
+        newLine[COLUMN_LABELS] = changeSet.getLabels() == null ? null : changeSet.getLabels().toString();
+
+        String key = getRowKey(newLine);
+        rows.remove(key);
+        rows.put(key, newLine);
+        appendToJournal(JOURNAL_PUT, newLine);
+    }
+
     @Override
     public void setExecType(final ChangeSet changeSet, final ChangeSet.ExecType execType) throws DatabaseException {
         if (isExecuteAgainstDatabase()) {
@@ -339,27 +449,14 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         if (lastChangeSetSequenceValue == null) {
             lastChangeSetSequenceValue = 0;
 
-            FileReader reader = null;
             try {
-                reader = new FileReader(this.changeLogFile);
-                CSVReader csvReader = new CSVReader(reader);
-                String[] line = csvReader.readNext(); //skip header line
-
-                List<RanChangeSet> returnList = new ArrayList<RanChangeSet>();
-                while ((line = csvReader.readNext()) != null) {
+                for (String[] line : getRows().values()) {
                     try {
                         lastChangeSetSequenceValue = Integer.valueOf(line[COLUMN_ORDEREXECUTED]);
                     } catch (NumberFormatException ignore) { }
                 }
-            } catch (Exception ignore) {
-            } finally {
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (IOException ignore) { }
-                }
+            } catch (DatabaseException ignore) {
             }
-
         }
 
         return ++lastChangeSetSequenceValue;
@@ -419,5 +516,11 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         if (changeLogFile.exists() && !changeLogFile.delete()) {
             throw new DatabaseException("Could not delete changelog history file "+changeLogFile.getAbsolutePath());
         }
+        if (journalFile.exists() && !journalFile.delete()) {
+            throw new DatabaseException("Could not delete changelog history journal "+journalFile.getAbsolutePath());
+        }
+        rows = null;
+        header = null;
+        journalSize = 0;
     }
 }
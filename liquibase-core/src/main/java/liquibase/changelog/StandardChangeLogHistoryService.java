@@ -6,14 +6,19 @@ import liquibase.LabelExpression;
 import liquibase.Labels;
 import liquibase.change.CheckSum;
 import liquibase.change.ColumnConfig;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.core.SQLiteDatabase;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.DatabaseHistoryException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.BatchExecutor;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.executor.jvm.RowMapper;
 import liquibase.logging.LogFactory;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
@@ -23,18 +28,32 @@ import liquibase.statement.SqlStatement;
 import liquibase.statement.core.*;
 import liquibase.structure.core.Column;
 import liquibase.structure.core.Table;
+import liquibase.util.JdbcUtils;
+import liquibase.util.StringPool;
+import liquibase.util.StringUtils;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StandardChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
+    private static final int MIN_CHANGESETS_PER_CHECKSUM_THREAD = 50;
+    private static final int RAN_CHANGESET_FETCH_SIZE = 1000;
+    private static final String[] RAN_CHANGESET_COLUMNS = {"FILENAME", "AUTHOR", "ID", "MD5SUM", "DATEEXECUTED", "ORDEREXECUTED", "EXECTYPE", "DESCRIPTION", "COMMENTS", "TAG", "LIQUIBASE", "LABELS", "CONTEXTS"};
+
     private List<RanChangeSet> ranChangeSetList;
     private boolean serviceInitialized = false;
     private boolean hasDatabaseChangeLogTable = false;
     private Integer lastChangeSetSequenceValue;
+    private ChangeLogFingerprint changeLogFingerprint;
 
     @Override
     public int getPriority() {
@@ -65,6 +84,14 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     public void reset() {
         this.ranChangeSetList = null;
         this.serviceInitialized = false;
+        this.changeLogFingerprint = null;
+    }
+
+    protected ChangeLogFingerprint getChangeLogFingerprint() {
+        if (changeLogFingerprint == null) {
+            changeLogFingerprint = new ChangeLogFingerprint(getDatabase());
+        }
+        return changeLogFingerprint;
     }
 
     public boolean hasDatabaseChangeLogTable() throws DatabaseException {
@@ -197,13 +224,78 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         serviceInitialized = true;
     }
 
+    /**
+     * Generates the missing checksums in parallel and writes them as one batch in a single transaction.
+     */
     public void upgradeChecksums(final DatabaseChangeLog databaseChangeLog, final Contexts contexts, LabelExpression labels) throws DatabaseException {
-        super.upgradeChecksums(databaseChangeLog, contexts, labels);
+        List<ChangeSet> changeSets = getChangeSetsWithoutChecksum(databaseChangeLog, contexts);
+        if (changeSets.size() > 0) {
+            LogFactory.getLogger().info("Updating null or out of date checksums on " + changeSets.size() + " changeSets");
+            List<CheckSum> checkSums = generateCheckSums(changeSets);
+
+            List<SqlStatement> statements = new ArrayList<SqlStatement>(changeSets.size());
+            for (int i = 0; i < changeSets.size(); i++) {
+                statements.add(new UpdateChangeSetChecksumStatement(changeSets.get(i), checkSums.get(i)));
+            }
+            Executor executor = ExecutorService.getInstance().getExecutor(getDatabase());
+            if (executor instanceof BatchExecutor) {
+                ((BatchExecutor) executor).executeBatch(statements, null);
+            } else {
+                for (SqlStatement statement : statements) {
+                    executor.execute(statement);
+                }
+            }
+            reset();
+        }
         getDatabase().commit();
     }
 
+    /**
+     * Returns the checksums of the given changeSets in the same order.
+     * Uses a thread per available processor when there are enough changeSets to make it worthwhile.
+     */
+    protected List<CheckSum> generateCheckSums(final List<ChangeSet> changeSets) throws DatabaseException {
+        final CheckSum[] checkSums = new CheckSum[changeSets.size()];
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), changeSets.size() / MIN_CHANGESETS_PER_CHECKSUM_THREAD);
+        if (threads <= 1) {
+            for (int i = 0; i < checkSums.length; i++) {
+                checkSums[i] = changeSets.get(i).generateCheckSum();
+            }
+            return Arrays.asList(checkSums);
+        }
+
+        final AtomicInteger nextIndex = new AtomicInteger();
+        java.util.concurrent.ExecutorService threadPool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(threadPool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        int index;
+                        while ((index = nextIndex.getAndIncrement()) < checkSums.length) {
+                            checkSums[index] = changeSets.get(index).generateCheckSum();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException(e);
+        } catch (ExecutionException e) {
+            throw new DatabaseException("Error generating checksums: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            threadPool.shutdownNow();
+        }
+        return Arrays.asList(checkSums);
+    }
+
     /**
      * Returns the ChangeSets that have been run against the current getDatabase().
+     * If {@link GlobalConfiguration#getDatabaseChangeLogFilenamePrefixes()} is set, only changeSets from files with a matching path are returned.
      */
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
         if (this.ranChangeSetList == null) {
@@ -212,36 +304,22 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             List<RanChangeSet> ranChangeSetList = new ArrayList<RanChangeSet>();
             if (hasDatabaseChangeLogTable()) {
                 LogFactory.getLogger().info("Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    String fileName = rs.get("FILENAME").toString();
-                    String author = rs.get("AUTHOR").toString();
-                    String id = rs.get("ID").toString();
-                    String md5sum = rs.get("MD5SUM") == null ? null : rs.get("MD5SUM").toString();
-                    String description = rs.get("DESCRIPTION") == null ? null : rs.get("DESCRIPTION").toString();
-                    String comments = rs.get("COMMENTS") == null ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = null;
-                    if (tmpDateExecuted instanceof Date) {
-                        dateExecuted = (Date) tmpDateExecuted;
-                    } else {
-                        DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-                        try {
-                            dateExecuted = df.parse((String) tmpDateExecuted);
-                        } catch (ParseException e) {
-                        }
+                List<String> fileNamePrefixes = getFileNamePrefixes();
+                Executor executor = ExecutorService.getInstance().getExecutor(database);
+                if (executor instanceof JdbcExecutor) {
+                    ranChangeSetList = ((JdbcExecutor) executor).query(createSelectRanChangeSetsStatement(fileNamePrefixes), new RanChangeSetRowMapper(), RAN_CHANGESET_FETCH_SIZE);
+                } else {
+                    for (Map rs : executor.queryForList(createSelectRanChangeSetsStatement(fileNamePrefixes))) {
+                        ranChangeSetList.add(createRanChangeSet(rs.get("FILENAME"), rs.get("AUTHOR"), rs.get("ID"), rs.get("MD5SUM"), rs.get("DATEEXECUTED"),
+                                rs.get("TAG"), rs.get("EXECTYPE"), rs.get("DESCRIPTION"), rs.get("COMMENTS"), rs.get("CONTEXTS"), rs.get("LABELS")));
                     }
-                    String tag = rs.get("TAG") == null ? null : rs.get("TAG").toString();
-                    String execType = rs.get("EXECTYPE") == null ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-
-                    try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum), dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts, labels);
-                        ranChangeSetList.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        LogFactory.getLogger().severe("Unknown EXECTYPE from database: " + execType);
-                        throw e;
+                }
+
+                if (fileNamePrefixes != null) { //LIKE treats _ as a wildcard, so re-check the prefixes exactly
+                    for (Iterator<RanChangeSet> iterator = ranChangeSetList.iterator(); iterator.hasNext(); ) {
+                        if (!matchesPrefix(iterator.next().getChangeLog(), fileNamePrefixes)) {
+                            iterator.remove();
+                        }
                     }
                 }
             }
@@ -252,8 +330,78 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     }
 
     public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
-        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement("FILENAME", "AUTHOR", "ID", "MD5SUM", "DATEEXECUTED", "ORDEREXECUTED", "EXECTYPE", "DESCRIPTION", "COMMENTS", "TAG", "LIQUIBASE", "LABELS", "CONTEXTS").setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
-        return ExecutorService.getInstance().getExecutor(database).queryForList(select);
+        return ExecutorService.getInstance().getExecutor(database).queryForList(createSelectRanChangeSetsStatement(getFileNamePrefixes()));
+    }
+
+    protected SelectFromDatabaseChangeLogStatement createSelectRanChangeSetsStatement(List<String> fileNamePrefixes) {
+        ColumnConfig[] columns = new ColumnConfig[RAN_CHANGESET_COLUMNS.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnConfig().setName(RAN_CHANGESET_COLUMNS[i]);
+        }
+        SelectFromDatabaseChangeLogStatement.WhereClause whereClause = null;
+        if (fileNamePrefixes != null) {
+            whereClause = new SelectFromDatabaseChangeLogStatement.ByFileNamePrefix(fileNamePrefixes);
+        }
+        return new SelectFromDatabaseChangeLogStatement(whereClause, columns).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+    }
+
+    /**
+     * Returns the FILENAME prefixes from {@link GlobalConfiguration#getDatabaseChangeLogFilenamePrefixes()}, or null if all rows should be read.
+     */
+    protected List<String> getFileNamePrefixes() {
+        String prefixes = StringUtils.trimToNull(LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getDatabaseChangeLogFilenamePrefixes());
+        if (prefixes == null) {
+            return null;
+        }
+        return StringUtils.splitAndTrim(prefixes, ",");
+    }
+
+    private boolean matchesPrefix(String fileName, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (fileName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected RanChangeSet createRanChangeSet(Object fileName, Object author, Object id, Object md5sum, Object dateExecuted, Object tag, Object execType,
+                                              Object description, Object comments, Object contexts, Object labels) {
+        Date date = null;
+        if (dateExecuted instanceof Date) {
+            date = (Date) dateExecuted;
+        } else if (dateExecuted != null) {
+            DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            try {
+                date = df.parse(dateExecuted.toString());
+            } catch (ParseException e) {
+            }
+        }
+
+        String execTypeString = execType == null ? null : execType.toString();
+        try {
+            return new RanChangeSet(StringPool.intern(fileName.toString()), id.toString(), StringPool.intern(author.toString()),
+                    md5sum == null ? null : CheckSum.parse(md5sum.toString()), date, tag == null ? null : tag.toString(),
+                    ChangeSet.ExecType.valueOf(execTypeString), StringPool.intern(description == null ? null : description.toString()),
+                    StringPool.intern(comments == null ? null : comments.toString()),
+                    new ContextExpression((String) contexts), new Labels((String) labels));
+        } catch (IllegalArgumentException e) {
+            LogFactory.getLogger().severe("Unknown EXECTYPE from database: " + execTypeString);
+            throw e;
+        }
+    }
+
+    /**
+     * Maps DATABASECHANGELOG rows selected in {@link #RAN_CHANGESET_COLUMNS} order straight to {@link RanChangeSet}s.
+     */
+    private class RanChangeSetRowMapper implements RowMapper {
+        @Override
+        public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return createRanChangeSet(JdbcUtils.getResultSetValue(rs, 1), JdbcUtils.getResultSetValue(rs, 2), JdbcUtils.getResultSetValue(rs, 3),
+                    JdbcUtils.getResultSetValue(rs, 4), JdbcUtils.getResultSetValue(rs, 5), JdbcUtils.getResultSetValue(rs, 10),
+                    JdbcUtils.getResultSetValue(rs, 7), JdbcUtils.getResultSetValue(rs, 8), JdbcUtils.getResultSetValue(rs, 9),
+                    JdbcUtils.getResultSetValue(rs, 13), JdbcUtils.getResultSetValue(rs, 12));
+        }
     }
 
     @Override
@@ -289,6 +437,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     public void removeFromHistory(final ChangeSet changeSet) throws DatabaseException {
         Database database = getDatabase();
         ExecutorService.getInstance().getExecutor(database).execute(new RemoveChangeSetRanStatusStatement(changeSet));
+        getChangeLogFingerprint().clear();
         getDatabase().commit();
 
         if (this.ranChangeSetList != null) {
@@ -347,6 +496,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         UpdateStatement updateStatement = new UpdateStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), database.getDatabaseChangeLogTableName());
         updateStatement.addNewColumnValue("MD5SUM", null);
         ExecutorService.getInstance().getExecutor(database).execute(updateStatement);
+        getChangeLogFingerprint().clear();
         database.commit();
     }
 
@@ -354,6 +504,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     public void destroy() throws DatabaseException {
         Database database = getDatabase();
         try {
+            getChangeLogFingerprint().clear();
             if (SnapshotGeneratorFactory.getInstance().has(new Table().setName(database.getDatabaseChangeLogTableName()).setSchema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName()), database)) {
                 ExecutorService.getInstance().getExecutor(database).execute(new DropTableStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), database.getDatabaseChangeLogTableName(), false));
             }
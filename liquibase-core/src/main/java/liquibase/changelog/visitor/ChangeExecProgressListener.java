@@ -0,0 +1,36 @@
+package liquibase.changelog.visitor;
+
+import liquibase.change.Change;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+
+/**
+ * A {@link ChangeExecListener} which is also notified of the progress of long running changes, such as online index builds
+ * while they execute in a parallel update, or data changes executed in batches.
+ *
+ * @see ParallelUpdateVisitor
+ */
+public interface ChangeExecProgressListener extends ChangeExecListener {
+
+    /**
+     * Called periodically while the given change is running.
+     *
+     * @param change    the change being run
+     * @param changeSet the changeSet containing the change
+     * @param database  the database the progress was read from
+     * @param workDone  units of work completed so far, as reported by the database
+     * @param workTotal total units of work, as reported by the database
+     */
+    void progress(Change change, ChangeSet changeSet, Database database, long workDone, long workTotal);
+
+    /**
+     * Called after each batch of a batched data change is committed.
+     *
+     * @param change        the change being run
+     * @param changeSet     the changeSet containing the change
+     * @param database      the database the change is run against
+     * @param rowsProcessed total rows modified so far by this run
+     * @param rowsPerSecond rows modified per second so far by this run
+     */
+    void batchCommitted(Change change, ChangeSet changeSet, Database database, long rowsProcessed, double rowsPerSecond);
+}
@@ -0,0 +1,530 @@
+package liquibase.changelog.visitor;
+
+import liquibase.CatalogAndSchema;
+import liquibase.change.AbstractSQLChange;
+import liquibase.change.Change;
+import liquibase.change.ChangeWithColumns;
+import liquibase.change.ColumnConfig;
+import liquibase.change.ConstraintsConfig;
+import liquibase.change.core.AddForeignKeyConstraintChange;
+import liquibase.change.core.CreateIndexChange;
+import liquibase.change.core.CreateProcedureChange;
+import liquibase.change.core.CreateViewChange;
+import liquibase.change.core.ExecuteShellCommandChange;
+import liquibase.change.custom.CustomChangeWrapper;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.ChangeSet.ExecType;
+import liquibase.changelog.ChangeSet.RunStatus;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.database.Database;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.MigrationFailedException;
+import liquibase.exception.PreconditionErrorException;
+import liquibase.exception.PreconditionFailedException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.logging.LogFactory;
+import liquibase.logging.Logger;
+import liquibase.precondition.core.PreconditionContainer;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.core.GetIndexBuildProgressStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Data;
+import liquibase.structure.core.ForeignKey;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.PrimaryKey;
+import liquibase.structure.core.Relation;
+import liquibase.structure.core.Schema;
+import liquibase.structure.core.UniqueConstraint;
+import liquibase.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Opt-in variant of {@link UpdateVisitor} which runs independent changeSets concurrently.
+ * <p>
+ * Each changeSet handed to {@link #visit} is scheduled on one of the passed worker databases, which must each have their own connection
+ * to the same database as the main database. A changeSet only starts once every earlier changeSet that touches one of the same database objects
+ * (as reported by {@link Change#getAffectedDatabaseObjects(Database)}, plus tables referenced by foreign keys) has finished.
+ * ChangeSets whose affected objects cannot be determined, which contain raw SQL, views, procedures or custom changes, or which have preconditions, act as a barrier: all in-flight changeSets are finished and the changeSet is run on the main database, exactly like the UpdateVisitor would.
+ * <p>
+ * The DATABASECHANGELOG table is only written through the main database, and always in changelog order, so ORDEREXECUTED and the
+ * lock held by the main database are unchanged from a sequential update.
+ * Callers must call {@link #waitForCompletion()} after the {@link liquibase.changelog.ChangeLogIterator} has finished.
+ * <p>
+ * While waiting on running changeSets, the progress of online index builds is read through the main database and passed to the listener
+ * if it is a {@link ChangeExecProgressListener}, so long running DDL does not hold up independent changeSets and can still be monitored.
+ */
+public class ParallelUpdateVisitor implements ChangeSetVisitor {
+
+    private Database database;
+    private ChangeExecListener execListener;
+    private boolean hasProgressListener;
+    private long progressPollInterval = 10;
+    private boolean progressSupported = true;
+
+    private BlockingQueue<Database> availableDatabases;
+    private java.util.concurrent.ExecutorService threadPool;
+
+    private LinkedList<ScheduledChangeSet> scheduled = new LinkedList<ScheduledChangeSet>();
+    private MigrationFailedException failure;
+
+    private Logger log = LogFactory.getLogger();
+
+    /**
+     * @param database the database holding the changelog lock. Used for all DATABASECHANGELOG access and for changeSets that cannot run in parallel.
+     * @param workerDatabases databases with their own connections used to run independent changeSets. The number of workers controls the parallelism.
+     * @param execListener optional listener. Calls to it are synchronized so it does not need to be thread safe.
+     */
+    public ParallelUpdateVisitor(Database database, List<Database> workerDatabases, ChangeExecListener execListener) {
+        if (workerDatabases == null || workerDatabases.size() == 0) {
+            throw new UnexpectedLiquibaseException("At least one worker database is required for a parallel update");
+        }
+        this.database = database;
+        if (execListener != null) {
+            this.execListener = new SynchronizedChangeExecListener(execListener);
+            this.hasProgressListener = execListener instanceof ChangeExecProgressListener;
+        }
+        this.availableDatabases = new LinkedBlockingQueue<Database>(workerDatabases);
+        this.threadPool = Executors.newFixedThreadPool(workerDatabases.size());
+    }
+
+    /**
+     * Number of seconds between progress checks of running changeSets. Defaults to 10.
+     */
+    public long getProgressPollInterval() {
+        return progressPollInterval;
+    }
+
+    public void setProgressPollInterval(long progressPollInterval) {
+        this.progressPollInterval = progressPollInterval;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return ChangeSetVisitor.Direction.FORWARD;
+    }
+
+    @Override
+    public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
+        recordFinished(false);
+        checkFailure();
+
+        RunStatus runStatus = this.database.getRunStatus(changeSet);
+        Set<String> dependencyKeys = getDependencyKeys(changeSet);
+
+        if (dependencyKeys == null) {
+            log.debug("Running Changeset sequentially:" + changeSet);
+            waitForScheduled();
+            checkFailure();
+
+            fireWillRun(changeSet, databaseChangeLog, runStatus);
+            ObjectQuotingStrategy previousStr = this.database.getObjectQuotingStrategy();
+            ExecType execType;
+            try {
+                execType = changeSet.execute(databaseChangeLog, execListener, this.database);
+            } catch (MigrationFailedException e) {
+                fireRunFailed(changeSet, databaseChangeLog, e);
+                throw e;
+            }
+            this.database.setObjectQuotingStrategy(previousStr);
+            markRan(changeSet, databaseChangeLog, runStatus, execType);
+            return;
+        }
+
+        for (ScheduledChangeSet running : scheduled) {
+            if (!running.future.isDone() && !Collections.disjoint(running.dependencyKeys, dependencyKeys)) {
+                log.debug("Changeset " + changeSet + " waiting for " + running.changeSet);
+                running.await();
+            }
+        }
+        checkFailure();
+
+        log.debug("Scheduling Changeset:" + changeSet);
+        fireWillRun(changeSet, databaseChangeLog, runStatus);
+        scheduled.add(new ScheduledChangeSet(changeSet, databaseChangeLog, runStatus, dependencyKeys));
+    }
+
+    /**
+     * Waits for all scheduled changeSets to finish and records them in the DATABASECHANGELOG table.
+     * Throws the first failure encountered during the update, if any.
+     */
+    public void waitForCompletion() throws LiquibaseException {
+        try {
+            waitForScheduled();
+            checkFailure();
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the keys of the database objects the changeSet modifies or references, or null if the changeSet must not run concurrently with any other changeSet.
+     * Keys are of the form catalog.schema.table[.column] so same-named objects in different tables or schemas do not block each other.
+     */
+    protected Set<String> getDependencyKeys(ChangeSet changeSet) {
+        if (changeSet.getPreconditions() != null) {
+            return null;
+        }
+        if (changeSet.getChanges().size() == 0) {
+            return null;
+        }
+
+        Set<String> keys = new HashSet<String>();
+        for (Change change : changeSet.getChanges()) {
+            if (isBarrier(change)) {
+                return null;
+            }
+            Set<DatabaseObject> affectedObjects;
+            try {
+                affectedObjects = change.getAffectedDatabaseObjects(this.database);
+            } catch (Exception e) {
+                log.debug("Cannot determine objects affected by " + changeSet + ": " + e.getMessage());
+                return null;
+            }
+            if (affectedObjects == null || affectedObjects.size() == 0) {
+                return null;
+            }
+            int previousKeys = keys.size();
+            for (DatabaseObject object : affectedObjects) {
+                if (object instanceof Schema || object instanceof Catalog) {
+                    continue; //containing schema of the created object, or a change to the schema itself which is caught below
+                }
+                addKey(object, keys);
+                if (object instanceof Column) {
+                    addKey(((Column) object).getRelation(), keys);
+                } else if (object instanceof Index) {
+                    addKey(((Index) object).getTable(), keys);
+                } else if (object instanceof PrimaryKey) {
+                    addKey(((PrimaryKey) object).getTable(), keys);
+                } else if (object instanceof UniqueConstraint) {
+                    addKey(((UniqueConstraint) object).getTable(), keys);
+                } else if (object instanceof ForeignKey) {
+                    addKey(((ForeignKey) object).getPrimaryKeyTable(), keys);
+                    addKey(((ForeignKey) object).getForeignKeyTable(), keys);
+                } else if (object instanceof Data) {
+                    addKey(((Data) object).getTable(), keys);
+                }
+            }
+            if (keys.size() == previousKeys) {
+                return null;
+            }
+            addReferencedTableKeys(change, keys);
+        }
+        if (keys.size() == 0) {
+            return null;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns true for changes that can read or write objects which are not reported by {@link Change#getAffectedDatabaseObjects(Database)},
+     * such as raw SQL or view and procedure bodies.
+     */
+    protected boolean isBarrier(Change change) {
+        return change instanceof AbstractSQLChange
+                || change instanceof CreateViewChange
+                || change instanceof CreateProcedureChange
+                || change instanceof CustomChangeWrapper
+                || change instanceof ExecuteShellCommandChange;
+    }
+
+    /**
+     * Adds the tables referenced by foreign keys, which are read but not reported as affected objects.
+     */
+    protected void addReferencedTableKeys(Change change, Set<String> keys) {
+        if (change instanceof AddForeignKeyConstraintChange) {
+            AddForeignKeyConstraintChange foreignKeyChange = (AddForeignKeyConstraintChange) change;
+            addKey(foreignKeyChange.getReferencedTableCatalogName(), foreignKeyChange.getReferencedTableSchemaName(), keys, foreignKeyChange.getReferencedTableName());
+        }
+        if (change instanceof ChangeWithColumns) {
+            List<?> columns = ((ChangeWithColumns<?>) change).getColumns();
+            if (columns == null) {
+                return;
+            }
+            for (Object column : columns) {
+                ConstraintsConfig constraints = ((ColumnConfig) column).getConstraints();
+                if (constraints == null) {
+                    continue;
+                }
+                if (constraints.getReferencedTableName() != null) {
+                    addKey(null, null, keys, constraints.getReferencedTableName());
+                }
+                String references = StringUtils.trimToNull(constraints.getReferences());
+                if (references != null) {
+                    if (references.contains("(")) {
+                        references = references.substring(0, references.indexOf("(")).trim();
+                    }
+                    String[] nameParts = references.split("\\.");
+                    if (nameParts.length == 1) {
+                        addKey(null, null, keys, nameParts[0]);
+                    } else {
+                        addKey(null, nameParts[nameParts.length - 2], keys, nameParts[nameParts.length - 1]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the progress of long running changes in the scheduled changeSets that have not finished yet and passes it to the {@link ChangeExecProgressListener}.
+     */
+    protected void pollProgress() {
+        if (!hasProgressListener || !progressSupported) {
+            return;
+        }
+        for (ScheduledChangeSet running : scheduled) {
+            if (running.future.isDone()) {
+                continue;
+            }
+            for (Change change : running.changeSet.getChanges()) {
+                if (!(change instanceof CreateIndexChange) || ((CreateIndexChange) change).getOnline() == null || !((CreateIndexChange) change).getOnline()) {
+                    continue;
+                }
+                CreateIndexChange createIndexChange = (CreateIndexChange) change;
+                GetIndexBuildProgressStatement statement = new GetIndexBuildProgressStatement(createIndexChange.getCatalogName(), createIndexChange.getSchemaName(), createIndexChange.getTableName(), createIndexChange.getIndexName());
+                if (!SqlGeneratorFactory.getInstance().supports(statement, this.database)) {
+                    continue;
+                }
+                try {
+                    for (Map<String, ?> row : ExecutorService.getInstance().getExecutor(this.database).queryForList(statement)) {
+                        Iterator<?> values = row.values().iterator();
+                        Object done = values.hasNext() ? values.next() : null;
+                        Object total = values.hasNext() ? values.next() : null;
+                        if (done instanceof Number && total instanceof Number) {
+                            ((ChangeExecProgressListener) execListener).progress(change, running.changeSet, this.database, ((Number) done).longValue(), ((Number) total).longValue());
+                        }
+                    }
+                } catch (DatabaseException e) {
+                    log.debug("Cannot read index build progress, disabling progress tracking: " + e.getMessage());
+                    progressSupported = false;
+                    try {
+                        this.database.rollback();
+                    } catch (DatabaseException rollbackException) {
+                        log.debug("Error rolling back after progress query: " + rollbackException.getMessage());
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private void addKey(DatabaseObject object, Set<String> keys) {
+        if (object == null || object.getName() == null) {
+            return;
+        }
+        Schema schema = object.getSchema();
+        String catalogName = schema == null ? null : schema.getCatalogName();
+        String schemaName = schema == null ? null : schema.getName();
+        if (object instanceof Column) {
+            Relation relation = ((Column) object).getRelation();
+            if (relation == null || relation.getName() == null) {
+                return;
+            }
+            addKey(catalogName, schemaName, keys, relation.getName(), object.getName());
+        } else {
+            addKey(catalogName, schemaName, keys, object.getName());
+        }
+    }
+
+    private void addKey(String catalogName, String schemaName, Set<String> keys, String... names) {
+        CatalogAndSchema catalogAndSchema = new CatalogAndSchema(catalogName, schemaName).standardize(this.database);
+        StringBuilder key = new StringBuilder();
+        key.append(StringUtils.trimToEmpty(catalogAndSchema.getCatalogName())).append(".").append(StringUtils.trimToEmpty(catalogAndSchema.getSchemaName()));
+        for (String name : names) {
+            key.append(".").append(name);
+        }
+        keys.add(key.toString().toLowerCase());
+    }
+
+    private void waitForScheduled() throws LiquibaseException {
+        for (ScheduledChangeSet running : scheduled) {
+            running.await();
+        }
+        recordFinished(true);
+    }
+
+    /**
+     * Marks finished changeSets as ran in changelog order, stopping at the first one still running unless all scheduled changeSets are done.
+     */
+    private void recordFinished(boolean allDone) throws LiquibaseException {
+        while (scheduled.size() > 0) {
+            ScheduledChangeSet next = scheduled.getFirst();
+            if (!allDone && !next.future.isDone()) {
+                return;
+            }
+            scheduled.removeFirst();
+
+            ExecType execType;
+            try {
+                execType = next.future.get();
+            } catch (InterruptedException e) {
+                throw new UnexpectedLiquibaseException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                MigrationFailedException migrationFailed;
+                if (cause instanceof MigrationFailedException) {
+                    migrationFailed = (MigrationFailedException) cause;
+                } else {
+                    migrationFailed = new MigrationFailedException(next.changeSet, cause);
+                }
+                fireRunFailed(next.changeSet, next.databaseChangeLog, migrationFailed);
+                if (failure == null) {
+                    failure = migrationFailed;
+                }
+                continue;
+            }
+            markRan(next.changeSet, next.databaseChangeLog, next.runStatus, execType);
+        }
+    }
+
+    private void markRan(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, RunStatus runStatus, ExecType execType) throws LiquibaseException {
+        if (!runStatus.equals(ChangeSet.RunStatus.NOT_RAN)) {
+            execType = ChangeSet.ExecType.RERAN;
+        }
+        fireRan(changeSet, databaseChangeLog, execType);
+        this.database.markChangeSetExecStatus(changeSet, execType);
+
+        this.database.commit();
+    }
+
+    private void checkFailure() throws MigrationFailedException {
+        if (failure != null) {
+            try {
+                waitForScheduled();
+            } catch (LiquibaseException e) {
+                log.severe("Error recording finished changesets after failure", e);
+            }
+            throw failure;
+        }
+    }
+
+    protected void fireRunFailed(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, MigrationFailedException e) {
+        if (execListener != null) {
+            execListener.runFailed(changeSet, databaseChangeLog, database, e);
+        }
+    }
+
+    protected void fireWillRun(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, RunStatus runStatus) {
+        if (execListener != null) {
+            execListener.willRun(changeSet, databaseChangeLog, database, runStatus);
+        }
+    }
+
+    protected void fireRan(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, ExecType execType) {
+        if (execListener != null) {
+            execListener.ran(changeSet, databaseChangeLog, database, execType);
+        }
+    }
+
+    private class ScheduledChangeSet {
+        private ChangeSet changeSet;
+        private DatabaseChangeLog databaseChangeLog;
+        private RunStatus runStatus;
+        private Set<String> dependencyKeys;
+        private Future<ExecType> future;
+
+        private ScheduledChangeSet(final ChangeSet changeSet, final DatabaseChangeLog databaseChangeLog, RunStatus runStatus, Set<String> dependencyKeys) {
+            this.changeSet = changeSet;
+            this.databaseChangeLog = databaseChangeLog;
+            this.runStatus = runStatus;
+            this.dependencyKeys = dependencyKeys;
+
+            this.future = threadPool.submit(new Callable<ExecType>() {
+                @Override
+                public ExecType call() throws Exception {
+                    Database workerDatabase = availableDatabases.take();
+                    try {
+                        return changeSet.execute(databaseChangeLog, execListener, workerDatabase);
+                    } finally {
+                        workerDatabase.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+                        availableDatabases.put(workerDatabase);
+                    }
+                }
+            });
+        }
+
+        private void await() {
+            while (true) {
+                try {
+                    future.get(progressPollInterval, TimeUnit.SECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    pollProgress();
+                } catch (InterruptedException e) {
+                    throw new UnexpectedLiquibaseException(e);
+                } catch (ExecutionException e) {
+                    return; //handled when the changeSet is recorded
+                }
+            }
+        }
+    }
+
+    private static class SynchronizedChangeExecListener implements ChangeExecProgressListener {
+        private final ChangeExecListener delegate;
+
+        private SynchronizedChangeExecListener(ChangeExecListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void willRun(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, RunStatus runStatus) {
+            delegate.willRun(changeSet, databaseChangeLog, database, runStatus);
+        }
+
+        @Override
+        public synchronized void ran(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, ExecType execType) {
+            delegate.ran(changeSet, databaseChangeLog, database, execType);
+        }
+
+        @Override
+        public synchronized void rolledBack(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database) {
+            delegate.rolledBack(changeSet, databaseChangeLog, database);
+        }
+
+        @Override
+        public synchronized void preconditionFailed(PreconditionFailedException error, PreconditionContainer.FailOption onFail) {
+            delegate.preconditionFailed(error, onFail);
+        }
+
+        @Override
+        public synchronized void preconditionErrored(PreconditionErrorException error, PreconditionContainer.ErrorOption onError) {
+            delegate.preconditionErrored(error, onError);
+        }
+
+        @Override
+        public synchronized void willRun(Change change, ChangeSet changeSet, DatabaseChangeLog changeLog, Database database) {
+            delegate.willRun(change, changeSet, changeLog, database);
+        }
+
+        @Override
+        public synchronized void ran(Change change, ChangeSet changeSet, DatabaseChangeLog changeLog, Database database) {
+            delegate.ran(change, changeSet, changeLog, database);
+        }
+
+        @Override
+        public synchronized void runFailed(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Exception exception) {
+            delegate.runFailed(changeSet, databaseChangeLog, database, exception);
+        }
+
+        @Override
+        public synchronized void progress(Change change, ChangeSet changeSet, Database database, long workDone, long workTotal) {
+            if (delegate instanceof ChangeExecProgressListener) {
+                ((ChangeExecProgressListener) delegate).progress(change, changeSet, database, workDone, workTotal);
+            }
+        }
+
+        @Override
+        public synchronized void batchCommitted(Change change, ChangeSet changeSet, Database database, long rowsProcessed, double rowsPerSecond) {
+            if (delegate instanceof ChangeExecProgressListener) {
+                ((ChangeExecProgressListener) delegate).batchCommitted(change, changeSet, database, rowsProcessed, rowsPerSecond);
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import liquibase.logging.LogFactory;
 import liquibase.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -78,7 +79,9 @@ public class ValidatingVisitor implements ChangeSetVisitor {
         RanChangeSet ranChangeSet = ranIndex.get(changeSet.toString(false));
         boolean ran = ranChangeSet != null;
         boolean shouldValidate = !ran || changeSet.shouldRunOnChange() || changeSet.shouldAlwaysRun();
-        for (Change change : changeSet.getChanges()) {
+        //already ran changeSets that are not loaded only need their checksum checked
+        List<Change> changes = shouldValidate || changeSet.isChangesLoaded() ? changeSet.getChanges() : Collections.<Change>emptyList();
+        for (Change change : changes) {
             try {
                 change.finishInitialization();
             } catch (SetupException se) {
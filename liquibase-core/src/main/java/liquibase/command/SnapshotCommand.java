@@ -1,11 +1,17 @@
 package liquibase.command;
 
 import liquibase.CatalogAndSchema;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.serializer.SnapshotSerializerFactory;
 import liquibase.snapshot.*;
 import liquibase.util.StringUtils;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +21,8 @@ public class SnapshotCommand extends AbstractCommand {
     private CatalogAndSchema[] schemas;
     private String serializerFormat;
     private SnapshotListener snapshotListener;
+    private SnapshotMetrics metrics;
+    private String metricsReportFile;
 
     @Override
     public String getName() {
@@ -71,16 +79,47 @@ public class SnapshotCommand extends AbstractCommand {
         this.snapshotListener = snapshotListener;
     }
 
+    public SnapshotMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Collects snapshot timings and metadata query counts into the given metrics. A new instance is used if this is not set and a metrics report file is.
+     */
+    public SnapshotCommand setMetrics(SnapshotMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public String getMetricsReportFile() {
+        return metricsReportFile;
+    }
+
+    /**
+     * File the snapshot metrics are written to as JSON when the snapshot is done.
+     */
+    public SnapshotCommand setMetricsReportFile(String metricsReportFile) {
+        this.metricsReportFile = metricsReportFile;
+        return this;
+    }
+
     @Override
     protected Object run() throws Exception {
         SnapshotControl snapshotControl = new SnapshotControl(database);
         snapshotControl.setSnapshotListener(snapshotListener);
+        if (metrics == null && metricsReportFile != null) {
+            metrics = new SnapshotMetrics();
+        }
+        snapshotControl.setMetrics(metrics);
 
         CatalogAndSchema[] schemas = this.schemas;
         if (schemas == null) {
             schemas = new CatalogAndSchema[]{database.getDefaultSchema()};
         }
         DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+        if (metricsReportFile != null) {
+            writeMetricsReport(new File(metricsReportFile));
+        }
 
         String format = getSerializerFormat();
         if (format == null) {
@@ -89,6 +128,15 @@ public class SnapshotCommand extends AbstractCommand {
         return SnapshotSerializerFactory.getInstance().getSerializer(format).serialize(snapshot, true);
     }
 
+    protected void writeMetricsReport(File file) throws Exception {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getOutputEncoding());
+        try {
+            writer.write(metrics.getReport());
+        } finally {
+            writer.close();
+        }
+    }
+
     @Override
     public CommandValidationErrors validate() {
         return new CommandValidationErrors(this);
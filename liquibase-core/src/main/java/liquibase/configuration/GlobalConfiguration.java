@@ -8,6 +8,8 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
     public static final String SHOULD_RUN = "shouldRun";
     public static final String DATABASECHANGELOG_TABLE_NAME = "databaseChangeLogTableName";
     public static final String DATABASECHANGELOGLOCK_TABLE_NAME = "databaseChangeLogLockTableName";
+    public static final String DATABASECHANGELOGBATCH_TABLE_NAME = "databaseChangeLogBatchTableName";
+    public static final String DATABASECHANGELOGFINGERPRINT_TABLE_NAME = "databaseChangeLogFingerprintTableName";
     public static final String LIQUIBASE_TABLESPACE_NAME = "tablespaceName";
     public static final String LIQUIBASE_CATALOG_NAME = "catalogName";
     public static final String LIQUIBASE_SCHEMA_NAME = "schemaName";
@@ -15,6 +17,12 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
     public static final String OUTPUT_ENCODING = "outputFileEncoding";
     public static final String CHANGELOGLOCK_WAIT_TIME = "changeLogLockWaitTimeInMinutes";
     public static final String CHANGELOGLOCK_POLL_RATE = "changeLogLockPollRate";
+    public static final String PREPARED_STATEMENT_CACHE_SIZE = "preparedStatementCacheSize";
+    public static final String PREPARED_STATEMENT_CACHE_CLOSE_ON_COMMIT = "preparedStatementCacheCloseOnCommit";
+    public static final String CHECKSUM_CACHE_DIRECTORY = "checksumCacheDirectory";
+    public static final String LAZY_CHANGE_LOADING = "lazyChangeLoading";
+    public static final String DATABASECHANGELOG_FILENAME_PREFIXES = "databaseChangeLogFilenamePrefixes";
+    public static final String USE_CHANGELOG_FINGERPRINT = "useChangeLogFingerprint";
 
     public GlobalConfiguration() {
         super("liquibase");
@@ -32,6 +40,14 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
                 .setDescription("Name of table to use for tracking concurrent liquibase usage")
                 .setDefaultValue("DATABASECHANGELOGLOCK");
 
+        getContainer().addProperty(DATABASECHANGELOGBATCH_TABLE_NAME, String.class)
+                .setDescription("Name of table to use for tracking the progress of batched data changes")
+                .setDefaultValue("DATABASECHANGELOGBATCH");
+
+        getContainer().addProperty(DATABASECHANGELOGFINGERPRINT_TABLE_NAME, String.class)
+                .setDescription("Name of table to use for storing fingerprints of fully applied changelogs")
+                .setDefaultValue("DATABASECHANGELOGFINGERPRINT");
+
         getContainer().addProperty(CHANGELOGLOCK_WAIT_TIME, Long.class)
                 .setDescription("Number of minutes to wait for the changelog lock to be available before giving up")
                 .setDefaultValue(5);
@@ -40,6 +56,29 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
                 .setDescription("Number of seconds wait between checks to the changelog lock when it is locked")
                 .setDefaultValue(10);
 
+        getContainer().addProperty(PREPARED_STATEMENT_CACHE_SIZE, Integer.class)
+                .setDescription("Number of prepared statements to keep open per connection for reuse. 0 disables the cache")
+                .setDefaultValue(20);
+
+        getContainer().addProperty(PREPARED_STATEMENT_CACHE_CLOSE_ON_COMMIT, Boolean.class)
+                .setDescription("Should cached prepared statements be closed on commit and rollback")
+                .setDefaultValue(true);
+
+        getContainer().addProperty(CHECKSUM_CACHE_DIRECTORY, String.class)
+                .setDescription("Directory to store checksums of external files such as loadData and sqlFile resources in. Not cached if not set");
+
+        getContainer().addProperty(LAZY_CHANGE_LOADING, Boolean.class)
+                .setDescription("Should changes be created only when a changeSet is executed, rolled back or inspected instead of when the changelog is parsed. "
+                        + "Changes of already executed changeSets are still created to compute their checksums unless checksumCacheDirectory is set")
+                .setDefaultValue(false);
+
+        getContainer().addProperty(DATABASECHANGELOG_FILENAME_PREFIXES, String.class)
+                .setDescription("Comma separated FILENAME prefixes. If set, only history rows with a matching FILENAME are read, so changeSets of other changelogs sharing the table are ignored");
+
+        getContainer().addProperty(USE_CHANGELOG_FINGERPRINT, Boolean.class)
+                .setDescription("Should update compare a fingerprint of the changelog with the fingerprints of fully applied changelogs before taking the lock, and finish early if it matches")
+                .setDefaultValue(false);
+
         getContainer().addProperty(LIQUIBASE_TABLESPACE_NAME, String.class)
                 .setDescription("Tablespace to use for liquibase objects");
 
@@ -95,6 +134,30 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
         return this;
     }
 
+    /**
+     * Table name to use for tracking the progress of batched data changes
+     */
+    public String getDatabaseChangeLogBatchTableName() {
+        return getContainer().getValue(DATABASECHANGELOGBATCH_TABLE_NAME, String.class);
+    }
+
+    public GlobalConfiguration setDatabaseChangeLogBatchTableName(String name) {
+        getContainer().setValue(DATABASECHANGELOGBATCH_TABLE_NAME, name);
+        return this;
+    }
+
+    /**
+     * Table name to use for storing fingerprints of fully applied changelogs
+     */
+    public String getDatabaseChangeLogFingerprintTableName() {
+        return getContainer().getValue(DATABASECHANGELOGFINGERPRINT_TABLE_NAME, String.class);
+    }
+
+    public GlobalConfiguration setDatabaseChangeLogFingerprintTableName(String name) {
+        getContainer().setValue(DATABASECHANGELOGFINGERPRINT_TABLE_NAME, name);
+        return this;
+    }
+
     /**
      * Wait time (in minutes) to wait to receive the changelog lock before giving up.
      */
@@ -178,4 +241,74 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
         getContainer().setValue(OUTPUT_ENCODING, name);
         return this;
     }
+
+    /**
+     * Maximum number of prepared statements cached per connection
+     */
+    public Integer getPreparedStatementCacheSize() {
+        return getContainer().getValue(PREPARED_STATEMENT_CACHE_SIZE, Integer.class);
+    }
+
+    public GlobalConfiguration setPreparedStatementCacheSize(Integer size) {
+        getContainer().setValue(PREPARED_STATEMENT_CACHE_SIZE, size);
+        return this;
+    }
+
+    /**
+     * Close cached prepared statements on commit and rollback
+     */
+    public Boolean getPreparedStatementCacheCloseOnCommit() {
+        return getContainer().getValue(PREPARED_STATEMENT_CACHE_CLOSE_ON_COMMIT, Boolean.class);
+    }
+
+    public GlobalConfiguration setPreparedStatementCacheCloseOnCommit(Boolean closeOnCommit) {
+        getContainer().setValue(PREPARED_STATEMENT_CACHE_CLOSE_ON_COMMIT, closeOnCommit);
+        return this;
+    }
+
+    /**
+     * Directory for the persistent checksum cache of external resources, or null if the cache is disabled
+     */
+    public String getChecksumCacheDirectory() {
+        return getContainer().getValue(CHECKSUM_CACHE_DIRECTORY, String.class);
+    }
+
+    public GlobalConfiguration setChecksumCacheDirectory(String directory) {
+        getContainer().setValue(CHECKSUM_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    /**
+     * Should changeSets keep their parsed change definitions and only create {@link liquibase.change.Change} objects when they are needed.
+     * Checksums are computed from the changes, so already executed changeSets are only left unloaded if {@link #getChecksumCacheDirectory()} is set.
+     */
+    public boolean getLazyChangeLoading() {
+        return getContainer().getValue(LAZY_CHANGE_LOADING, Boolean.class);
+    }
+
+    public GlobalConfiguration setLazyChangeLoading(boolean lazyChangeLoading) {
+        getContainer().setValue(LAZY_CHANGE_LOADING, lazyChangeLoading);
+        return this;
+    }
+
+    /**
+     * Comma separated FILENAME prefixes to read the change history for, or null to read all of it
+     */
+    public String getDatabaseChangeLogFilenamePrefixes() {
+        return getContainer().getValue(DATABASECHANGELOG_FILENAME_PREFIXES, String.class);
+    }
+
+    public GlobalConfiguration setDatabaseChangeLogFilenamePrefixes(String prefixes) {
+        getContainer().setValue(DATABASECHANGELOG_FILENAME_PREFIXES, prefixes);
+        return this;
+    }
+
+    public boolean getUseChangeLogFingerprint() {
+        return getContainer().getValue(USE_CHANGELOG_FINGERPRINT, Boolean.class);
+    }
+
+    public GlobalConfiguration setUseChangeLogFingerprint(boolean useChangeLogFingerprint) {
+        getContainer().setValue(USE_CHANGELOG_FINGERPRINT, useChangeLogFingerprint);
+        return this;
+    }
 }
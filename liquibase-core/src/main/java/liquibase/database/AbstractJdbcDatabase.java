@@ -16,6 +16,8 @@ import liquibase.diff.compare.DatabaseObjectComparatorFactory;
 import liquibase.diff.output.DiffOutputControl;
 import liquibase.diff.output.changelog.DiffToChangeLog;
 import liquibase.exception.*;
+import liquibase.executor.BatchExecutor;
+import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.lockservice.LockServiceFactory;
 import liquibase.logging.LogFactory;
@@ -823,6 +825,12 @@ public abstract class AbstractJdbcDatabase implements Database {
             if (DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(getDatabaseChangeLogLockTableName()).setSchema(liquibaseSchema), this)) {
                 return true;
             }
+            if (DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getDatabaseChangeLogBatchTableName()).setSchema(liquibaseSchema), this)) {
+                return true;
+            }
+            if (DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getDatabaseChangeLogFingerprintTableName()).setSchema(liquibaseSchema), this)) {
+                return true;
+            }
             return false;
         } else if (object instanceof Column) {
             return isLiquibaseObject(((Column) object).getRelation());
@@ -1226,12 +1234,21 @@ public abstract class AbstractJdbcDatabase implements Database {
      */
     @Override
     public void execute(final SqlStatement[] statements, final List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+        List<SqlStatement> statementsToExecute = new ArrayList<SqlStatement>(statements.length);
         for (SqlStatement statement : statements) {
             if (statement.skipOnUnsupported() && !SqlGeneratorFactory.getInstance().supports(statement, this)) {
                 continue;
             }
             LogFactory.getLogger().debug("Executing Statement: " + statement);
-            ExecutorService.getInstance().getExecutor(this).execute(statement, sqlVisitors);
+            statementsToExecute.add(statement);
+        }
+        Executor executor = ExecutorService.getInstance().getExecutor(this);
+        if (executor instanceof BatchExecutor) {
+            ((BatchExecutor) executor).executeBatch(statementsToExecute, sqlVisitors);
+        } else {
+            for (SqlStatement statement : statementsToExecute) {
+                executor.execute(statement, sqlVisitors);
+            }
         }
     }
 
@@ -1,9 +1,12 @@
 package liquibase.database;
 
 import liquibase.database.jvm.JdbcConnection;
+import liquibase.database.jvm.PreparedStatementCache;
 import liquibase.exception.DatabaseException;
+import liquibase.util.JdbcUtils;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 /**
  * Factory for PreparedStatements
@@ -20,12 +23,46 @@ public final class PreparedStatementFactory {
     /**
      * Create a <code>PreparedStatement</code> object,
      * sql pre-compilation might take place, depending on driver support. 
+     * If the connection has a {@link PreparedStatementCache}, a cached statement for the same sql is returned.
+     * Statements should be handed back with {@link #release(PreparedStatement)} rather than closed.
      * @param sql to execute
      * @return a <code>PreparedStatement</code> object
      * @throws DatabaseException
      */
     public PreparedStatement create(String sql) throws DatabaseException {
-        return con.prepareStatement(sql);
+        PreparedStatementCache cache = con.getPreparedStatementCache();
+        if (cache == null) {
+            return con.prepareStatement(sql);
+        }
+        return cache.get(sql);
+    }
+
+    /**
+     * Closes the statement unless it is cached, in which case only its parameters are cleared.
+     */
+    public void release(PreparedStatement statement) {
+        PreparedStatementCache cache = con.getPreparedStatementCache();
+        if (cache == null || !cache.contains(statement)) {
+            JdbcUtils.closeStatement(statement);
+            return;
+        }
+        try {
+            statement.clearParameters();
+        } catch (SQLException e) {
+            cache.remove(statement);
+        }
+    }
+
+    /**
+     * Closes the statement and removes it from the cache. Used when the statement failed and may not be reusable.
+     */
+    public void discard(PreparedStatement statement) {
+        PreparedStatementCache cache = con.getPreparedStatementCache();
+        if (cache == null) {
+            JdbcUtils.closeStatement(statement);
+        } else {
+            cache.remove(statement);
+        }
     }
 
     @Override
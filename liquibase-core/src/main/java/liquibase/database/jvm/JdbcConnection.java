@@ -1,5 +1,7 @@
 package liquibase.database.jvm;
 
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
 import liquibase.exception.DatabaseException;
@@ -18,11 +20,35 @@ import java.util.Map;
  */
 public class JdbcConnection implements DatabaseConnection {
     private java.sql.Connection con;
+    private PreparedStatementCache preparedStatementCache;
+    private boolean closePreparedStatementsOnCommit;
 
     public JdbcConnection(java.sql.Connection connection) {
         this.con = connection;
     }
 
+    /**
+     * Returns the cache of prepared statements for this connection, or null if {@link GlobalConfiguration#getPreparedStatementCacheSize()} is 0.
+     */
+    public synchronized PreparedStatementCache getPreparedStatementCache() {
+        if (preparedStatementCache == null) {
+            GlobalConfiguration configuration = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+            Integer size = configuration.getPreparedStatementCacheSize();
+            if (size == null || size <= 0) {
+                return null;
+            }
+            preparedStatementCache = new PreparedStatementCache(this, size);
+            closePreparedStatementsOnCommit = configuration.getPreparedStatementCacheCloseOnCommit();
+        }
+        return preparedStatementCache;
+    }
+
+    private void clearPreparedStatementCache(boolean onCommit) {
+        if (preparedStatementCache != null && (!onCommit || closePreparedStatementsOnCommit)) {
+            preparedStatementCache.clear();
+        }
+    }
+
 
     @Override
     public void attached(Database database) {
@@ -109,6 +135,7 @@ public class JdbcConnection implements DatabaseConnection {
     @Override
     public void close() throws DatabaseException {
         rollback();
+        clearPreparedStatementCache(false);
         try {
             con.close();
         } catch (SQLException e) {
@@ -124,6 +151,8 @@ public class JdbcConnection implements DatabaseConnection {
             }
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            clearPreparedStatementCache(true);
         }
     }
 
@@ -338,6 +367,8 @@ public class JdbcConnection implements DatabaseConnection {
             }
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            clearPreparedStatementCache(true);
         }
     }
 
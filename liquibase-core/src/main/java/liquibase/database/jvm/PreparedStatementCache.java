@@ -0,0 +1,104 @@
+package liquibase.database.jvm;
+
+import liquibase.exception.DatabaseException;
+import liquibase.logging.LogFactory;
+import liquibase.util.JdbcUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of {@link PreparedStatement}s for a single {@link JdbcConnection}, keyed by SQL text.
+ * Statements are closed when they are evicted or when {@link #clear()} is called.
+ */
+public class PreparedStatementCache {
+
+    private final JdbcConnection connection;
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    private long hits;
+    private long misses;
+
+    public PreparedStatementCache(JdbcConnection connection, final int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    JdbcUtils.closeStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the cached statement for the given SQL with its parameters cleared, preparing a new one on a miss.
+     */
+    public synchronized PreparedStatement get(String sql) throws DatabaseException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null) {
+            try {
+                statement.clearParameters();
+                hits++;
+                return statement;
+            } catch (SQLException e) {
+                LogFactory.getLogger().debug("Cannot reuse cached prepared statement, preparing again: " + e.getMessage());
+                statements.remove(sql);
+                JdbcUtils.closeStatement(statement);
+            }
+        }
+
+        misses++;
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    public synchronized boolean contains(PreparedStatement statement) {
+        return statements.containsValue(statement);
+    }
+
+    /**
+     * Removes the statement from the cache and closes it, for example after it failed.
+     */
+    public synchronized void remove(PreparedStatement statement) {
+        statements.values().remove(statement);
+        JdbcUtils.closeStatement(statement);
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes and removes all cached statements. Hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        if (statements.size() > 0) {
+            LogFactory.getLogger().debug("Closing " + statements.size() + " cached prepared statements (" + hits + " hits, " + misses + " misses)");
+        }
+        for (PreparedStatement statement : new ArrayList<PreparedStatement>(statements.values())) {
+            JdbcUtils.closeStatement(statement);
+        }
+        statements.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
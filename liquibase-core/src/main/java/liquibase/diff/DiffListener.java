@@ -0,0 +1,18 @@
+package liquibase.diff;
+
+import liquibase.structure.DatabaseObject;
+
+/**
+ * Listener interface called as a diff is generated, so results can be written out before all types are compared.
+ * Attach instances to {@link liquibase.diff.compare.CompareControl}.
+ */
+public interface DiffListener {
+
+    /**
+     * Called after all objects of a type are compared. Calls are never made at the same time, but when types are compared in parallel
+     * they are made in the order the types finish.
+     * @param type Type of object compared
+     * @param typeResult Result holding only the missing, unexpected and changed objects of this type, and the product name and version differences
+     */
+    void typeCompared(Class<? extends DatabaseObject> type, DiffResult typeResult);
+}
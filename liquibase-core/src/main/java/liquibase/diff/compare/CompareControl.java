@@ -2,6 +2,7 @@ package liquibase.diff.compare;
 
 import liquibase.CatalogAndSchema;
 import liquibase.database.Database;
+import liquibase.diff.DiffListener;
 import liquibase.diff.ObjectDifferences;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.logging.LogFactory;
@@ -20,6 +21,8 @@ public class CompareControl {
     private CompareControl.SchemaComparison[] schemaComparisons;
     private Set<Class<? extends DatabaseObject>> compareTypes = new HashSet<Class<? extends DatabaseObject>>();
     private Map<Class<? extends DatabaseObject>, Set<String>> suppressedFields = new HashMap<Class<? extends DatabaseObject>, Set<String>>();
+    private int compareThreads = 1;
+    private DiffListener diffListener;
 
     public static CompareControl STANDARD = new CompareControl();
 
@@ -102,6 +105,27 @@ public class CompareControl {
         return suppressedFields.get(type).contains(field);
     }
 
+    /**
+     * Number of object types compared at the same time. Types are compared one after another if this is 1.
+     */
+    public int getCompareThreads() {
+        return compareThreads;
+    }
+
+    public CompareControl setCompareThreads(int compareThreads) {
+        this.compareThreads = compareThreads;
+        return this;
+    }
+
+    public DiffListener getDiffListener() {
+        return diffListener;
+    }
+
+    public CompareControl setDiffListener(DiffListener diffListener) {
+        this.diffListener = diffListener;
+        return this;
+    }
+
     public SchemaComparison[] getSchemaComparisons() {
         return schemaComparisons;
     }
@@ -11,6 +11,7 @@ import liquibase.structure.core.Schema;
 import liquibase.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DatabaseObjectComparatorFactory {
 
@@ -18,8 +19,8 @@ public class DatabaseObjectComparatorFactory {
 
     private List<DatabaseObjectComparator> comparators = new ArrayList<DatabaseObjectComparator>();
 
-    private Map<String, List<DatabaseObjectComparator>> validComparatorsByClassAndDatabase = new HashMap<String, List<DatabaseObjectComparator>>();
-    private Map<String, DatabaseObjectComparatorChain> comparatorChainsByClassAndDatabase = new HashMap<String, DatabaseObjectComparatorChain>();
+    private Map<String, List<DatabaseObjectComparator>> validComparatorsByClassAndDatabase = new ConcurrentHashMap<String, List<DatabaseObjectComparator>>();
+    private Map<String, DatabaseObjectComparatorChain> comparatorChainsByClassAndDatabase = new ConcurrentHashMap<String, DatabaseObjectComparatorChain>();
 
     private DatabaseObjectComparatorFactory() {
         Class[] classes;
@@ -39,7 +40,7 @@ public class DatabaseObjectComparatorFactory {
     /**
      * Return singleton DatabaseObjectComparatorFactory
      */
-    public static DatabaseObjectComparatorFactory getInstance() {
+    public static synchronized DatabaseObjectComparatorFactory getInstance() {
         if (instance == null) {
             instance = new DatabaseObjectComparatorFactory();
         }
@@ -187,7 +188,7 @@ public class DatabaseObjectComparatorFactory {
         DatabaseObjectComparatorChain chain = new DatabaseObjectComparatorChain(comparators);
         comparatorChainsByClassAndDatabase.put(key, chain);
         //noinspection unchecked
-        return chain;
+        return chain.copy();
     }
 
 }
@@ -13,7 +13,10 @@ import liquibase.snapshot.JdbcDatabaseSnapshot;
 import liquibase.structure.DatabaseObject;
 import liquibase.diff.compare.DatabaseObjectComparatorFactory;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.*;
 
 public class StandardDiffGenerator implements DiffGenerator {
 
@@ -45,8 +48,12 @@ public class StandardDiffGenerator implements DiffGenerator {
         typesToCompare.retainAll(referenceSnapshot.getSnapshotControl().getTypesToInclude());
         typesToCompare.retainAll(comparisonSnapshot.getSnapshotControl().getTypesToInclude());
 
-        for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
-            compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+        if (compareControl.getCompareThreads() > 1 && typesToCompare.size() > 1) {
+            compareInParallel(typesToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+        } else {
+            for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
+                addTypeResult(typeToCompare, compareType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult), diffResult);
+            }
         }
 
 //        // Hack:  Sometimes Indexes or Unique Constraints with multiple columns get added twice (1 for each column),
@@ -68,6 +75,71 @@ public class StandardDiffGenerator implements DiffGenerator {
 
     }
 
+    /**
+     * Compares each type on its own thread. Results are added to the diffResult and passed to the {@link DiffListener} as each type finishes.
+     */
+    protected void compareInParallel(Set<Class<? extends DatabaseObject>> typesToCompare, final DatabaseSnapshot referenceSnapshot, final DatabaseSnapshot comparisonSnapshot, final DiffResult diffResult) throws DatabaseException {
+        DatabaseObjectComparatorFactory.getInstance();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(diffResult.getCompareControl().getCompareThreads(), typesToCompare.size()));
+        try {
+            CompletionService<DiffResult> completionService = new ExecutorCompletionService<DiffResult>(executor);
+            Map<Future<DiffResult>, Class<? extends DatabaseObject>> typesByFuture = new HashMap<Future<DiffResult>, Class<? extends DatabaseObject>>();
+            for (final Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
+                typesByFuture.put(completionService.submit(new Callable<DiffResult>() {
+                    @Override
+                    public DiffResult call() throws Exception {
+                        return compareType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+                    }
+                }), typeToCompare);
+            }
+
+            for (int i = 0; i < typesByFuture.size(); i++) {
+                try {
+                    Future<DiffResult> typeResult = completionService.take();
+                    addTypeResult(typesByFuture.get(typeResult), typeResult.get(), diffResult);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new DatabaseException(e.getCause());
+                } catch (InterruptedException e) {
+                    throw new DatabaseException(e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compares the objects of one type into a new DiffResult holding only that type.
+     */
+    protected <T extends DatabaseObject> DiffResult compareType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult) {
+        DiffResult typeResult = new DiffResult(referenceSnapshot, comparisonSnapshot, diffResult.getCompareControl());
+        typeResult.setProductNameDiff(diffResult.getProductNameDiff());
+        typeResult.setProductVersionDiff(diffResult.getProductVersionDiff());
+        compareObjectType(type, referenceSnapshot, comparisonSnapshot, typeResult);
+        return typeResult;
+    }
+
+    protected void addTypeResult(Class<? extends DatabaseObject> type, DiffResult typeResult, DiffResult diffResult) {
+        for (DatabaseObject missingObject : typeResult.getMissingObjects()) {
+            diffResult.addMissingObject(missingObject);
+        }
+        for (DatabaseObject unexpectedObject : typeResult.getUnexpectedObjects()) {
+            diffResult.addUnexpectedObject(unexpectedObject);
+        }
+        for (Map.Entry<DatabaseObject, ObjectDifferences> changedObject : typeResult.getChangedObjects().entrySet()) {
+            diffResult.addChangedObject(changedObject.getKey(), changedObject.getValue());
+        }
+
+        DiffListener diffListener = diffResult.getCompareControl().getDiffListener();
+        if (diffListener != null) {
+            diffListener.typeCompared(type, typeResult);
+        }
+    }
+
     protected <T extends DatabaseObject> void compareObjectType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult) {
 
         CompareControl.SchemaComparison[] schemaComparisons = diffResult.getCompareControl().getSchemaComparisons();
@@ -1,6 +1,7 @@
 package liquibase.diff.output.report;
 
 import liquibase.CatalogAndSchema;
+import liquibase.diff.DiffListener;
 import liquibase.diff.Difference;
 import liquibase.diff.ObjectDifferences;
 import liquibase.diff.compare.CompareControl;
@@ -14,23 +15,31 @@ import liquibase.structure.core.Schema;
 import java.io.PrintStream;
 import java.util.*;
 
-public class DiffToReport {
+/**
+ * Prints a {@link DiffResult} as a text report. Attached to {@link CompareControl#setDiffListener(DiffListener)},
+ * it prints the section of each type as soon as the type is compared instead.
+ */
+public class DiffToReport implements DiffListener {
 
     private DiffResult diffResult;
     private PrintStream out;
+    private boolean printedHeader;
 
     public DiffToReport(DiffResult diffResult, PrintStream out) {
         this.diffResult = diffResult;
         this.out = out;
     }
 
+    /**
+     * Creates a report printed as the diff is generated, through {@link #typeCompared(Class, DiffResult)}.
+     */
+    public DiffToReport(PrintStream out) {
+        this.out = out;
+    }
+
     public void print() throws DatabaseException {
         DatabaseObjectComparator comparator = new DatabaseObjectComparator();
-        out.println("Reference Database: " + diffResult.getReferenceSnapshot().getDatabase());
-        out.println("Comparison Database: " + diffResult.getComparisonSnapshot().getDatabase());
-
-        printComparison("Product Name", diffResult.getProductNameDiff(), out);
-        printComparison("Product Version", diffResult.getProductVersionDiff(), out);
+        printHeader();
 
         TreeSet<Class<? extends DatabaseObject>> types = new TreeSet<Class<? extends DatabaseObject>>(new Comparator<Class<? extends DatabaseObject>>() {
             @Override
@@ -40,16 +49,38 @@ public class DiffToReport {
         });
         types.addAll(diffResult.getCompareControl().getComparedTypes());
         for (Class<? extends DatabaseObject> type : types) {
-            printSetComparison("Missing " + getTypeName(type), diffResult.getMissingObjects(type, comparator), out);
-            printSetComparison("Unexpected "+getTypeName(type), diffResult.getUnexpectedObjects(type, comparator), out);
-
-            printChangedComparison("Changed " + getTypeName(type), diffResult.getChangedObjects(type, comparator), out);
-
+            printType(type, comparator);
         }
         
 //        printColumnComparison(diffResult.getColumns().getChanged(), out);
     }
 
+    @Override
+    public void typeCompared(Class<? extends DatabaseObject> type, DiffResult typeResult) {
+        this.diffResult = typeResult;
+        if (!printedHeader) {
+            printHeader();
+        }
+        printType(type, new DatabaseObjectComparator());
+        out.flush();
+    }
+
+    protected void printHeader() {
+        out.println("Reference Database: " + diffResult.getReferenceSnapshot().getDatabase());
+        out.println("Comparison Database: " + diffResult.getComparisonSnapshot().getDatabase());
+
+        printComparison("Product Name", diffResult.getProductNameDiff(), out);
+        printComparison("Product Version", diffResult.getProductVersionDiff(), out);
+        printedHeader = true;
+    }
+
+    protected void printType(Class<? extends DatabaseObject> type, DatabaseObjectComparator comparator) {
+        printSetComparison("Missing " + getTypeName(type), diffResult.getMissingObjects(type, comparator), out);
+        printSetComparison("Unexpected "+getTypeName(type), diffResult.getUnexpectedObjects(type, comparator), out);
+
+        printChangedComparison("Changed " + getTypeName(type), diffResult.getChangedObjects(type, comparator), out);
+    }
+
     protected String getTypeName(Class<? extends DatabaseObject> type) {
         return type.getSimpleName().replaceAll("([A-Z])", " $1").trim() + "(s)";
     }
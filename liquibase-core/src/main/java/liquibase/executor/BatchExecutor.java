@@ -0,0 +1,20 @@
+package liquibase.executor;
+
+import liquibase.exception.DatabaseException;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.statement.SqlStatement;
+
+import java.util.List;
+
+/**
+ * Optional interface for {@link Executor}s that can send several statements to the database at once.
+ * Callers check for it with instanceof and execute the statements one by one otherwise.
+ */
+public interface BatchExecutor extends Executor {
+
+    /**
+     * Executes the given statements in order. Implementations may send consecutive statements to the database as a single batch,
+     * but must report a failure against the SQL that caused it.
+     */
+    void executeBatch(List<SqlStatement> statements, List<SqlVisitor> sqlVisitors) throws DatabaseException;
+}
@@ -9,23 +9,22 @@ import liquibase.database.core.OracleDatabase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
 import liquibase.executor.AbstractExecutor;
-import liquibase.executor.Executor;
+import liquibase.executor.BatchExecutor;
 import liquibase.logging.LogFactory;
 import liquibase.logging.Logger;
 import liquibase.sql.UnparsedSql;
 import liquibase.sql.visitor.SqlVisitor;
 import liquibase.statement.*;
-import liquibase.statement.core.RawSqlStatement;
+import liquibase.statement.core.*;
 import liquibase.util.JdbcUtils;
 import liquibase.util.StringUtils;
 
+import java.sql.BatchUpdateException;
 import java.sql.CallableStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Class to simplify execution of SqlStatements.  Based heavily on <a href="http://static.springframework.org/spring/docs/2.0.x/reference/jdbc.html">Spring's JdbcTemplate</a>.
@@ -33,10 +32,46 @@ import java.util.Map;
  * <b>Note: This class is currently intended for Liquibase-internal use only and may change without notice in the future</b>
  */
 @SuppressWarnings({"unchecked"})
-public class JdbcExecutor extends AbstractExecutor implements Executor {
+public class JdbcExecutor extends AbstractExecutor implements BatchExecutor {
+
+    /**
+     * Statements whose generated SQL never returns results, so they can be sent in a JDBC batch.
+     * Other statements, such as {@link RawSqlStatement}s from sql and sqlFile changes, are always executed on their own.
+     */
+    private static final Set<Class<? extends SqlStatement>> BATCHABLE_STATEMENTS = new HashSet<Class<? extends SqlStatement>>(Arrays.<Class<? extends SqlStatement>>asList(
+            InsertStatement.class,
+            UpdateStatement.class,
+            DeleteStatement.class,
+            CreateTableStatement.class,
+            DropTableStatement.class,
+            AddColumnStatement.class,
+            DropColumnStatement.class,
+            CreateIndexStatement.class,
+            DropIndexStatement.class,
+            AddPrimaryKeyStatement.class,
+            DropPrimaryKeyStatement.class,
+            AddForeignKeyConstraintStatement.class,
+            DropForeignKeyConstraintStatement.class,
+            AddUniqueConstraintStatement.class,
+            DropUniqueConstraintStatement.class,
+            DropViewStatement.class,
+            CreateSequenceStatement.class,
+            DropSequenceStatement.class,
+            MarkChangeSetRanStatement.class,
+            RemoveChangeSetRanStatusStatement.class,
+            UpdateChangeSetChecksumStatement.class
+    ));
 
     private Logger log = LogFactory.getLogger();
 
+    private Boolean supportsBatchUpdates;
+
+    @Override
+    public void setDatabase(Database database) {
+        super.setDatabase(database);
+        this.supportsBatchUpdates = null;
+    }
+
     @Override
     public boolean updatesDatabase() {
         return true;
@@ -75,9 +110,7 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
     public void execute(Change change, List<SqlVisitor> sqlVisitors) throws DatabaseException {
         SqlStatement[] sqlStatements = change.generateStatements(database);
         if (sqlStatements != null) {
-            for (SqlStatement statement : sqlStatements) {
-                execute(statement, sqlVisitors);
-            }
+            executeBatch(Arrays.asList(sqlStatements), sqlVisitors);
         }
     }
 
@@ -122,6 +155,105 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
         execute(new ExecuteStatementCallback(sql, sqlVisitors), sqlVisitors);
     }
 
+    /**
+     * Sends runs of consecutive statements with {@link Statement#addBatch(String)} and {@link Statement#executeBatch()} if the driver supports
+     * batch updates. Statements that are not {@link #isBatchable(SqlStatement) batchable} and SQL that may return results or contains "?"
+     * end the current batch and are executed on their own.
+     */
+    @Override
+    public void executeBatch(List<SqlStatement> statements, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if (!supportsBatchUpdates()) {
+            for (SqlStatement statement : statements) {
+                execute(statement, sqlVisitors);
+            }
+            return;
+        }
+
+        List<String> batchSql = new ArrayList<String>();
+        SqlStatement firstInBatch = null;
+        for (SqlStatement statement : statements) {
+            if (!isBatchable(statement)) {
+                flushBatch(firstInBatch, batchSql, sqlVisitors);
+                firstInBatch = null;
+                execute(statement, sqlVisitors);
+                continue;
+            }
+
+            String[] sqlToExecute = applyVisitors(statement, sqlVisitors);
+            if (!isBatchable(sqlToExecute)) {
+                flushBatch(firstInBatch, batchSql, sqlVisitors);
+                firstInBatch = null;
+                execute(new ExecuteStatementCallback(statement, sqlVisitors, sqlToExecute), sqlVisitors);
+                continue;
+            }
+
+            for (String sql : sqlToExecute) {
+                if (sql == null) {
+                    continue;
+                }
+                if (database instanceof OracleDatabase) {
+                    sql = sql.replaceFirst("/\\s*/\\s*$", ""); //remove duplicated /'s
+                }
+                batchSql.add(sql);
+            }
+            if (firstInBatch == null) {
+                firstInBatch = statement;
+            }
+        }
+        flushBatch(firstInBatch, batchSql, sqlVisitors);
+    }
+
+    /**
+     * Returns true if the SQL generated for the statement never returns results.
+     */
+    protected boolean isBatchable(SqlStatement statement) {
+        return BATCHABLE_STATEMENTS.contains(statement.getClass());
+    }
+
+    /**
+     * SQL visitors can change the generated SQL, so it is checked again for parameters and statements that may return results.
+     */
+    protected boolean isBatchable(String[] sqlToExecute) {
+        for (String sql : sqlToExecute) {
+            if (sql == null) {
+                continue;
+            }
+            if (sql.contains("?")) {
+                return false;
+            }
+            String start = sql.trim().toUpperCase();
+            if (start.startsWith("SELECT") || start.startsWith("WITH") || start.startsWith("EXEC") || start.startsWith("CALL")
+                    || start.startsWith("DECLARE") || start.startsWith("BEGIN") || start.startsWith("{")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void flushBatch(SqlStatement firstInBatch, List<String> batchSql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if (batchSql.size() == 0) {
+            return;
+        }
+        execute(new BatchStatementCallback(firstInBatch, new ArrayList<String>(batchSql)), sqlVisitors);
+        batchSql.clear();
+    }
+
+    protected boolean supportsBatchUpdates() throws DatabaseException {
+        if (supportsBatchUpdates == null) {
+            DatabaseConnection con = database.getConnection();
+            if (!(con instanceof JdbcConnection)) {
+                return false;
+            }
+            try {
+                supportsBatchUpdates = ((JdbcConnection) con).getUnderlyingConnection().getMetaData().supportsBatchUpdates();
+            } catch (SQLException e) {
+                log.debug("Cannot determine batch update support: " + e.getMessage());
+                supportsBatchUpdates = false;
+            }
+        }
+        return supportsBatchUpdates;
+    }
+
 
     public Object query(final SqlStatement sql, final ResultSetExtractor rse) throws DatabaseException {
         return query(sql, rse, new ArrayList<SqlVisitor>());
@@ -143,6 +275,15 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
         return (List) query(sql, new RowMapperResultSetExtractor(rowMapper), sqlVisitors);
     }
 
+    /**
+     * Maps the rows of a query like {@link #query(SqlStatement, RowMapper)}, but asks the driver to fetch fetchSize rows at a time
+     * instead of reading the whole result into memory before the first row is mapped.
+     */
+    public List query(SqlStatement sql, RowMapper rowMapper, int fetchSize) throws DatabaseException {
+        List<SqlVisitor> sqlVisitors = new ArrayList<SqlVisitor>();
+        return (List) execute(new QueryStatementCallback(sql, new RowMapperResultSetExtractor(rowMapper), sqlVisitors, fetchSize), sqlVisitors);
+    }
+
     public Object queryForObject(SqlStatement sql, RowMapper rowMapper) throws DatabaseException {
         return queryForObject(sql, rowMapper, new ArrayList());
     }
@@ -293,15 +434,24 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
 
         private final SqlStatement sql;
         private final List<SqlVisitor> sqlVisitors;
+        private final String[] sqlToExecute;
 
         private ExecuteStatementCallback(SqlStatement sql, List<SqlVisitor> sqlVisitors) {
+            this(sql, sqlVisitors, null);
+        }
+
+        /**
+         * @param sqlToExecute the SQL already generated for the statement with the visitors applied, or null to generate it
+         */
+        private ExecuteStatementCallback(SqlStatement sql, List<SqlVisitor> sqlVisitors, String[] sqlToExecute) {
             this.sql = sql;
             this.sqlVisitors = sqlVisitors;
+            this.sqlToExecute = sqlToExecute;
         }
 
         @Override
         public Object doInStatement(Statement stmt) throws SQLException, DatabaseException {
-            for (String statement : applyVisitors(sql, sqlVisitors)) {
+            for (String statement : sqlToExecute == null ? applyVisitors(sql, sqlVisitors) : sqlToExecute) {
                 if (database instanceof OracleDatabase) {
                     statement = statement.replaceFirst("/\\s*/\\s*$", ""); //remove duplicated /'s
                 }
@@ -325,16 +475,88 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
         }
     }
 
+    private class BatchStatementCallback implements StatementCallback {
+
+        private final SqlStatement firstStatement;
+        private final List<String> sql;
+
+        private BatchStatementCallback(SqlStatement firstStatement, List<String> sql) {
+            this.firstStatement = firstStatement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object doInStatement(Statement stmt) throws SQLException, DatabaseException {
+            if (sql.size() == 1) {
+                log.debug("Executing EXECUTE database command: " + sql.get(0));
+                try {
+                    stmt.execute(sql.get(0));
+                } catch (Throwable e) {
+                    throw new DatabaseException(e.getMessage() + " [Failed SQL: " + sql.get(0) + "]", e);
+                }
+                return null;
+            }
+
+            for (String statement : sql) {
+                log.debug("Adding to EXECUTE batch: " + statement);
+                stmt.addBatch(statement);
+            }
+            log.debug("Executing batch of " + sql.size() + " database commands");
+            try {
+                stmt.executeBatch();
+            } catch (BatchUpdateException e) {
+                int failedIndex = getFailedIndex(e.getUpdateCounts());
+                if (failedIndex < 0) {
+                    throw new DatabaseException(e.getMessage() + " [Failed SQL: " + StringUtils.join(sql, "; ") + "]", e);
+                }
+                throw new DatabaseException(e.getMessage() + " [Failed SQL: " + sql.get(failedIndex) + "]", e);
+            } catch (Throwable e) {
+                throw new DatabaseException(e.getMessage() + " [Failed SQL: " + StringUtils.join(sql, "; ") + "]", e);
+            }
+            return null;
+        }
+
+        /**
+         * Drivers either stop at the first failure and return the counts of the statements before it, or continue and mark failed statements
+         * with {@link Statement#EXECUTE_FAILED}.
+         */
+        private int getFailedIndex(int[] updateCounts) {
+            if (updateCounts == null) {
+                return -1;
+            }
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    return i;
+                }
+            }
+            if (updateCounts.length < sql.size()) {
+                return updateCounts.length;
+            }
+            return -1;
+        }
+
+        @Override
+        public SqlStatement getStatement() {
+            return firstStatement;
+        }
+    }
+
     private class QueryStatementCallback implements StatementCallback {
 
         private final SqlStatement sql;
         private final List<SqlVisitor> sqlVisitors;
         private final ResultSetExtractor rse;
+        private final int fetchSize;
 
         private QueryStatementCallback(SqlStatement sql, ResultSetExtractor rse, List<SqlVisitor> sqlVisitors) {
+            this(sql, rse, sqlVisitors, 0);
+        }
+
+        private QueryStatementCallback(SqlStatement sql, ResultSetExtractor rse, List<SqlVisitor> sqlVisitors, int fetchSize) {
             this.sql = sql;
             this.rse = rse;
             this.sqlVisitors = sqlVisitors;
+            this.fetchSize = fetchSize;
         }
 
 
@@ -349,6 +571,13 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
                 }
                 log.debug("Executing QUERY database command: "+sqlToExecute[0]);
 
+                if (fetchSize > 0) {
+                    try {
+                        stmt.setFetchSize(fetchSize);
+                    } catch (SQLException e) {
+                        log.debug("Cannot set fetch size: " + e.getMessage());
+                    }
+                }
                 rs = stmt.executeQuery(sqlToExecute[0]);
                 ResultSet rsToUse = rs;
                 return rse.extractData(rsToUse);
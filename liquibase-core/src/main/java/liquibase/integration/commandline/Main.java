@@ -980,6 +980,7 @@ public class Main {
                 command.setDatabase(database);
                 command.setSchemas(getCommandParam("schemas", database.getDefaultSchema().getSchemaName()));
                 command.setSerializerFormat(getCommandParam("snapshotFormat", null));
+                command.setMetricsReportFile(getCommandParam("snapshotMetricsFile", null));
                 Writer outputWriter = getOutputWriter();
                 outputWriter.write(command.execute().toString());
                 outputWriter.flush();
@@ -5,6 +5,7 @@ import liquibase.statement.DatabaseFunction;
 import liquibase.statement.SequenceCurrentValueFunction;
 import liquibase.statement.SequenceNextValueFunction;
 import liquibase.util.ISODateFormat;
+import liquibase.util.StringPool;
 import liquibase.util.StringUtils;
 
 import java.math.BigDecimal;
@@ -118,6 +119,8 @@ public class ParsedNode {
             }
         } else if (value instanceof Map) {
             addChildren(((Map) value));
+        } else if (value instanceof String) {
+            this.value = StringPool.intern((String) value);
         } else {
             this.value = value;
         }
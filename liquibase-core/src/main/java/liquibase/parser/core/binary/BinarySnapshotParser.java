@@ -0,0 +1,404 @@
+package liquibase.parser.core.binary;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.OfflineConnection;
+import liquibase.exception.LiquibaseParseException;
+import liquibase.parser.SnapshotParser;
+import liquibase.resource.ResourceAccessor;
+import liquibase.serializer.core.binary.BinarySnapshotSerializer;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.RestoredDatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Column;
+import liquibase.util.ObjectUtil;
+import liquibase.util.StreamUtil;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import static liquibase.serializer.core.binary.BinarySnapshotSerializer.*;
+
+/**
+ * Reads snapshots written by {@link BinarySnapshotSerializer}. Objects are created while the stream is read, references between them
+ * are resolved once all objects are known.
+ */
+public class BinarySnapshotParser implements SnapshotParser {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    @Override
+    public boolean supports(String path, ResourceAccessor resourceAccessor) {
+        for (String extension : new BinarySnapshotSerializer().getValidFileExtensions()) {
+            if (path.toLowerCase().endsWith("." + extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public DatabaseSnapshot parse(String path, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
+        InputStream stream = null;
+        try {
+            stream = StreamUtil.singleInputStream(path, resourceAccessor);
+            if (stream == null) {
+                throw new LiquibaseParseException(path + " does not exist");
+            }
+            return parse(stream);
+        } catch (IOException e) {
+            throw new LiquibaseParseException(e);
+        } finally {
+            StreamUtil.closeQuietly(stream);
+        }
+    }
+
+    public DatabaseSnapshot parse(InputStream stream) throws LiquibaseParseException {
+        try {
+            return new Reader(new DataInputStream(new BufferedInputStream(stream))).readSnapshot();
+        } catch (LiquibaseParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    private static class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<String>();
+        private final Map<String, DatabaseObject> objectsByKey = new HashMap<String, DatabaseObject>();
+        private final List<DatabaseObject> objectsToResolve = new ArrayList<DatabaseObject>();
+        private boolean unresolvedValues;
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private DatabaseSnapshot readSnapshot() throws Exception {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new LiquibaseParseException("Not a binary snapshot");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new LiquibaseParseException("Unsupported binary snapshot version " + version);
+            }
+
+            Map<String, Object> databaseInfo = new HashMap<String, Object>();
+            int infoSize = readVarInt();
+            for (int i = 0; i < infoSize; i++) {
+                String key = readString();
+                databaseInfo.put(key, readValue());
+            }
+
+            Database database = DatabaseFactory.getInstance().getDatabase((String) databaseInfo.get("shortName")).getClass().newInstance();
+            RestoredDatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database);
+            DatabaseConnection connection = database.getConnection();
+            if (connection instanceof OfflineConnection) {
+                ((OfflineConnection) connection).setDatabaseMajorVersion((Integer) databaseInfo.get("majorVersion"));
+                ((OfflineConnection) connection).setDatabaseMinorVersion((Integer) databaseInfo.get("minorVersion"));
+                ((OfflineConnection) connection).setProductVersion((String) databaseInfo.get("productVersion"));
+                ((OfflineConnection) connection).setConnectionUserName((String) databaseInfo.get("user"));
+            }
+
+            List<DatabaseObject> referencedObjects = readObjects();
+            List<DatabaseObject> objects = readObjects();
+
+            for (DatabaseObject object : objectsToResolve) {
+                for (String attribute : object.getAttributes()) {
+                    Object value = object.getAttribute(attribute, Object.class);
+                    Object resolved = resolveReferences(value);
+                    if (resolved != value) {
+                        object.setAttribute(attribute, null);
+                        setAttribute(object, attribute, resolved);
+                    }
+                }
+            }
+            for (DatabaseObject object : objectsToResolve) {
+                for (String attribute : object.getAttributes()) {
+                    Object value = object.getAttribute(attribute, Object.class);
+                    Object created = createValues(value);
+                    if (created != value) {
+                        object.setAttribute(attribute, null);
+                        setAttribute(object, attribute, created);
+                    }
+                }
+            }
+
+            snapshot.addObjects(objects, referencedObjects);
+            return snapshot;
+        }
+
+        private List<DatabaseObject> readObjects() throws Exception {
+            List<DatabaseObject> objects = new ArrayList<DatabaseObject>();
+            int typeCount = readVarInt();
+            for (int i = 0; i < typeCount; i++) {
+                Class<? extends DatabaseObject> type = (Class<? extends DatabaseObject>) Class.forName(readString());
+                int objectCount = readVarInt();
+                for (int j = 0; j < objectCount; j++) {
+                    DatabaseObject object = readObjectBody(type);
+                    objectsByKey.put(type.getName() + "#" + object.getSnapshotId(), object);
+                    objects.add(object);
+                }
+            }
+            return objects;
+        }
+
+        private DatabaseObject readObjectBody(Class<? extends DatabaseObject> type) throws Exception {
+            DatabaseObject object = type.newInstance();
+            String snapshotId = readString();
+            if (snapshotId != null) {
+                object.setSnapshotId(snapshotId);
+            }
+
+            boolean hadUnresolvedValues = unresolvedValues;
+            unresolvedValues = false;
+            int attributeCount = readVarInt();
+            for (int i = 0; i < attributeCount; i++) {
+                String attribute = readString();
+                Object value = readValue();
+                if (value instanceof ObjectReference || value instanceof CollectionValue || value instanceof MapValue) {
+                    object.setAttribute(attribute, value);
+                } else {
+                    setAttribute(object, attribute, value);
+                }
+            }
+            if (unresolvedValues) {
+                objectsToResolve.add(object);
+            }
+            unresolvedValues = hadUnresolvedValues;
+            return object;
+        }
+
+        /**
+         * Uses the setter when there is one, as {@link DatabaseSnapshot#load} does, because some objects keep attributes in fields too.
+         */
+        private void setAttribute(DatabaseObject object, String attribute, Object value) {
+            if (value != null && ObjectUtil.hasWriteProperty(object, attribute)) {
+                ObjectUtil.setProperty(object, attribute, value);
+            } else {
+                object.setAttribute(attribute, value);
+            }
+        }
+
+        private Object readValue() throws Exception {
+            int type = readVarInt();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString();
+                case BOOLEAN:
+                    return in.readBoolean();
+                case INTEGER:
+                    return in.readInt();
+                case LONG:
+                    return in.readLong();
+                case BIG_INTEGER:
+                    return new BigInteger(readString());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case DOUBLE:
+                    return in.readDouble();
+                case OBJECT_REFERENCE: {
+                    String key = readString() + "#" + readString();
+                    DatabaseObject object = objectsByKey.get(key);
+                    if (object != null) {
+                        return object;
+                    }
+                    unresolvedValues = true;
+                    return new ObjectReference(key);
+                }
+                case EMBEDDED_OBJECT:
+                    return readObjectBody((Class<? extends DatabaseObject>) Class.forName(readString()));
+                case COLLECTION: {
+                    String collectionClass = readString();
+                    int size = readVarInt();
+                    List<Object> elements = new ArrayList<Object>(size);
+                    for (int i = 0; i < size; i++) {
+                        elements.add(readValue());
+                    }
+                    unresolvedValues = true;
+                    return new CollectionValue(collectionClass, elements);
+                }
+                case MAP: {
+                    String mapClass = readString();
+                    int size = readVarInt();
+                    List<Object> keys = new ArrayList<Object>(size);
+                    List<Object> values = new ArrayList<Object>(size);
+                    for (int i = 0; i < size; i++) {
+                        keys.add(readValue());
+                        values.add(readValue());
+                    }
+                    unresolvedValues = true;
+                    return new MapValue(mapClass, keys, values);
+                }
+                case DATE:
+                    return Class.forName(readString()).getConstructor(long.class).newInstance(in.readLong());
+                case ENUM:
+                    return Enum.valueOf((Class<? extends Enum>) Class.forName(readString()), readString());
+                case AUTO_INCREMENT:
+                    return new Column.AutoIncrementInformation((Number) readValue(), (Number) readValue());
+                case SERIALIZABLE: {
+                    Object object = Class.forName(readString()).newInstance();
+                    int fieldCount = readVarInt();
+                    for (int i = 0; i < fieldCount; i++) {
+                        String field = readString();
+                        Object value = readValue();
+                        if (value != null && ObjectUtil.hasWriteProperty(object, field)) {
+                            ObjectUtil.setProperty(object, field, value);
+                        }
+                    }
+                    return object;
+                }
+                case TYPED_STRING: {
+                    String className = readString();
+                    String value = readString();
+                    try {
+                        return Class.forName(className).getConstructor(String.class).newInstance(value);
+                    } catch (Exception e) {
+                        return value;
+                    }
+                }
+                case CLASS:
+                    return Class.forName(readString());
+                default:
+                    throw new LiquibaseParseException("Unknown value type " + type + " in binary snapshot");
+            }
+        }
+
+        /**
+         * Replaces references to objects that were read after the object holding them.
+         */
+        private Object resolveReferences(Object value) throws LiquibaseParseException {
+            if (value instanceof ObjectReference) {
+                DatabaseObject object = objectsByKey.get(((ObjectReference) value).key);
+                if (object == null) {
+                    throw new LiquibaseParseException("Unknown object " + ((ObjectReference) value).key + " referenced in binary snapshot");
+                }
+                return object;
+            } else if (value instanceof CollectionValue) {
+                List<Object> elements = ((CollectionValue) value).elements;
+                for (int i = 0; i < elements.size(); i++) {
+                    elements.set(i, resolveReferences(elements.get(i)));
+                }
+            } else if (value instanceof MapValue) {
+                List<Object> keys = ((MapValue) value).keys;
+                List<Object> values = ((MapValue) value).values;
+                for (int i = 0; i < keys.size(); i++) {
+                    keys.set(i, resolveReferences(keys.get(i)));
+                    values.set(i, resolveReferences(values.get(i)));
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Creates the collections and maps read into placeholders. Done after all references are resolved, because adding objects to
+         * hashed collections uses attributes that may have been references.
+         */
+        private Object createValues(Object value) throws Exception {
+            if (value instanceof CollectionValue) {
+                CollectionValue collectionValue = (CollectionValue) value;
+                Collection collection = (Collection) newInstance(collectionValue.className);
+                if (collection == null) {
+                    Class<?> collectionClass = Class.forName(collectionValue.className);
+                    if (SortedSet.class.isAssignableFrom(collectionClass)) {
+                        collection = new TreeSet();
+                    } else if (Set.class.isAssignableFrom(collectionClass)) {
+                        collection = new LinkedHashSet();
+                    } else {
+                        collection = new ArrayList();
+                    }
+                }
+                for (Object element : collectionValue.elements) {
+                    collection.add(createValues(element));
+                }
+                return collection;
+            } else if (value instanceof MapValue) {
+                MapValue mapValue = (MapValue) value;
+                Map map = (Map) newInstance(mapValue.className);
+                if (map == null) {
+                    map = new LinkedHashMap();
+                }
+                for (int i = 0; i < mapValue.keys.size(); i++) {
+                    map.put(createValues(mapValue.keys.get(i)), createValues(mapValue.values.get(i)));
+                }
+                return map;
+            }
+            return value;
+        }
+
+        private Object newInstance(String className) {
+            try {
+                return Class.forName(className).newInstance();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private String readString() throws IOException {
+            int code = readVarInt();
+            if (code == 0) {
+                return null;
+            }
+            if (code == 1) {
+                byte[] bytes = new byte[readVarInt()];
+                in.readFully(bytes);
+                String value = new String(bytes, "UTF-8");
+                strings.add(value);
+                return value;
+            }
+            return strings.get(code - 2);
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+
+    private static class ObjectReference {
+        private final String key;
+
+        private ObjectReference(String key) {
+            this.key = key;
+        }
+    }
+
+    private static class CollectionValue {
+        private final String className;
+        private final List<Object> elements;
+
+        private CollectionValue(String className, List<Object> elements) {
+            this.className = className;
+            this.elements = elements;
+        }
+    }
+
+    private static class MapValue {
+        private final String className;
+        private final List<Object> keys;
+        private final List<Object> values;
+
+        private MapValue(String className, List<Object> keys, List<Object> values) {
+            this.className = className;
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+}
@@ -3,13 +3,16 @@ package liquibase.precondition.core;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.PreconditionErrorException;
 import liquibase.exception.PreconditionFailedException;
 import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
+import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.precondition.AbstractPrecondition;
 import liquibase.precondition.Precondition;
+import liquibase.statement.core.TableIsEmptyStatement;
 import liquibase.statement.core.TableRowCountStatement;
 import liquibase.util.StringUtils;
 
@@ -19,6 +22,7 @@ public class RowCountPrecondition extends AbstractPrecondition {
     private String schemaName;
     private String tableName;
     private Integer expectedRows;
+    private Boolean approximate;
 
     public String getCatalogName() {
         return catalogName;
@@ -52,6 +56,19 @@ public class RowCountPrecondition extends AbstractPrecondition {
         this.expectedRows = expectedRows;
     }
 
+    /**
+     * If true, the row count is taken from the table statistics kept by the database instead of counting all rows.
+     * Statistics are available on PostgreSQL, Oracle, SQL Server and MySQL and are only as accurate as the last time they were gathered.
+     * Rows are counted when there are no statistics for the table, and an estimate of 0 is confirmed by checking whether the table has any row.
+     */
+    public Boolean getApproximate() {
+        return approximate;
+    }
+
+    public void setApproximate(Boolean approximate) {
+        this.approximate = approximate;
+    }
+
     @Override
     public Warnings warn(Database database) {
         return new Warnings();
@@ -69,9 +86,7 @@ public class RowCountPrecondition extends AbstractPrecondition {
     @Override
     public void check(Database database, DatabaseChangeLog changeLog, ChangeSet changeSet) throws PreconditionFailedException, PreconditionErrorException {
         try {
-            TableRowCountStatement statement = new TableRowCountStatement(catalogName, schemaName, tableName);
-
-            int result = ExecutorService.getInstance().getExecutor(database).queryForInt(statement);
+            long result = countRows(database);
             if (result != expectedRows) {
                 throw new PreconditionFailedException(getFailureMessage(result), changeLog, this);
             }
@@ -83,7 +98,24 @@ public class RowCountPrecondition extends AbstractPrecondition {
         }
     }
 
-    protected String getFailureMessage(int result) {
+    protected long countRows(Database database) throws DatabaseException {
+        Executor executor = ExecutorService.getInstance().getExecutor(database);
+        if (approximate != null && approximate) {
+            Long estimate = executor.queryForObject(new TableRowCountStatement(catalogName, schemaName, tableName).setApproximate(true), Long.class);
+            if (estimate != null && estimate > 0) {
+                return estimate;
+            }
+            if (estimate != null && estimate == 0) {
+                //statistics of a table filled since they were gathered still say 0, so confirm with an existence check
+                if (executor.queryForInt(new TableIsEmptyStatement(catalogName, schemaName, tableName)) == 1) {
+                    return 0;
+                }
+            }
+        }
+        return executor.queryForLong(new TableRowCountStatement(catalogName, schemaName, tableName));
+    }
+
+    protected String getFailureMessage(long result) {
         return "Table "+tableName+" is not empty. Contains "+result+" rows";
     }
 
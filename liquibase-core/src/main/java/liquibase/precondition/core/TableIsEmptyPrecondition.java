@@ -1,13 +1,53 @@
 package liquibase.precondition.core;
 
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.exception.PreconditionErrorException;
+import liquibase.exception.PreconditionFailedException;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.TableIsEmptyStatement;
+
 public class TableIsEmptyPrecondition extends RowCountPrecondition {
 
+    private Boolean existenceOnly;
+
     public TableIsEmptyPrecondition() {
         this.setExpectedRows(0);
     }
 
+    /**
+     * If true, only checks whether the table has any row instead of counting them. The failure message then does not include the row count.
+     */
+    public Boolean getExistenceOnly() {
+        return existenceOnly;
+    }
+
+    public void setExistenceOnly(Boolean existenceOnly) {
+        this.existenceOnly = existenceOnly;
+    }
+
+    @Override
+    public void check(Database database, DatabaseChangeLog changeLog, ChangeSet changeSet) throws PreconditionFailedException, PreconditionErrorException {
+        if (existenceOnly == null || !existenceOnly) {
+            super.check(database, changeLog, changeSet);
+            return;
+        }
+
+        try {
+            int empty = ExecutorService.getInstance().getExecutor(database).queryForInt(new TableIsEmptyStatement(getCatalogName(), getSchemaName(), getTableName()));
+            if (empty != 1) {
+                throw new PreconditionFailedException("Table "+getTableName()+" is not empty", changeLog, this);
+            }
+        } catch (PreconditionFailedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PreconditionErrorException(e, changeLog, this);
+        }
+    }
+
     @Override
-    protected String getFailureMessage(int result) {
+    protected String getFailureMessage(long result) {
         return "Table "+getTableName()+" is not empty. Contains "+result+" rows";
     }
 
@@ -1,6 +1,5 @@
 package liquibase.resource;
 
-import liquibase.util.FileUtil;
 import liquibase.util.StringUtils;
 
 import java.io.File;
@@ -8,6 +7,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
 import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 /**
  * An implementation of {@link liquibase.resource.ResourceAccessor} that wraps a class loader.
@@ -15,6 +16,8 @@ import java.util.*;
 public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
 
     private ClassLoader classLoader;
+    private Map<File, JarIndex> jarIndexes = new HashMap<File, JarIndex>();
+
     public ClassLoaderResourceAccessor() {
         this.classLoader = getClass().getClassLoader();
         init(); //init needs to be called after classloader is set
@@ -80,32 +83,32 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
                     splitPath = URLDecoder.decode(splitPath, "UTF-8");
                     File zipfile = new File(splitPath);
 
-
-                    File zipFileDir = FileUtil.unzip(zipfile);
                     if (path.startsWith("classpath:")) {
                         path = path.replaceFirst("classpath:", "");
                     }
                     if (path.startsWith("classpath*:")) {
                         path = path.replaceFirst("classpath\\*:", "");
                     }
-                    File dirInZip = new File(zipFileDir, zipAndFile[1]);
-                    if (!dirInZip.exists()) {
-                        dirInZip = new File(zipFileDir, path);
+                    JarIndex jarIndex = getJarIndex(zipfile);
+                    String dirInZip = zipAndFile.length > 1 ? zipAndFile[1] : "";
+                    if (!jarIndex.list(dirInZip, recursive, includeFiles, includeDirectories, returnSet)) {
+                        jarIndex.list(path, recursive, includeFiles, includeDirectories, returnSet);
                     }
-                    URI fileUri = dirInZip.toURI();
-                    fileUrl = fileUri.toURL();
+                    fileUrl = null;
                 }
             }
 
-            try {
-                File file = new File(fileUrl.toURI());
-                if (file.exists()) {
-                    getContents(file, recursive, includeFiles, includeDirectories, path, returnSet);
+            if (fileUrl != null) {
+                try {
+                    File file = new File(fileUrl.toURI());
+                    if (file.exists()) {
+                        getContents(file, recursive, includeFiles, includeDirectories, path, returnSet);
+                    }
+                } catch (URISyntaxException e) {
+                    //not a local file
+                } catch (IllegalArgumentException e) {
+                    //not a local file
                 }
-            } catch (URISyntaxException e) {
-                //not a local file
-            } catch (IllegalArgumentException e) {
-                //not a local file
             }
 
             Enumeration<URL> resources = classLoader.getResources(path);
@@ -123,6 +126,18 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
         return returnSet;
     }
 
+    /**
+     * Returns the entry index for the given jar, reading the jar's central directory only if it has not been read since the jar last changed.
+     */
+    protected synchronized JarIndex getJarIndex(File zipFile) throws IOException {
+        JarIndex index = jarIndexes.get(zipFile);
+        if (index == null || index.lastModified != zipFile.lastModified()) {
+            index = new JarIndex(zipFile);
+            jarIndexes.put(zipFile, index);
+        }
+        return index;
+    }
+
     @Override
     public ClassLoader toClassLoader() {
         return classLoader;
@@ -143,4 +158,68 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
         return getClass().getName()+"("+ description +")";
 
     }
+
+    /**
+     * Sorted entry names of a jar, so the entries under a directory can be found without extracting the jar.
+     * Directories are included even if the jar has no explicit entries for them.
+     */
+    protected static class JarIndex {
+
+        private final long lastModified;
+        private final TreeSet<String> entries = new TreeSet<String>();
+
+        protected JarIndex(File zipFile) throws IOException {
+            this.lastModified = zipFile.lastModified();
+            JarFile jarFile = new JarFile(zipFile);
+            try {
+                Enumeration<JarEntry> jarEntries = jarFile.entries();
+                while (jarEntries.hasMoreElements()) {
+                    String name = jarEntries.nextElement().getName();
+                    entries.add(name);
+                    int slash = name.lastIndexOf('/', name.length() - 2);
+                    while (slash > 0) {
+                        entries.add(name.substring(0, slash + 1));
+                        slash = name.lastIndexOf('/', slash - 1);
+                    }
+                }
+            } finally {
+                jarFile.close();
+            }
+        }
+
+        /**
+         * Adds the entries under the given directory to returnSet. Directories are returned without a trailing slash.
+         *
+         * @return false if the directory does not exist in the jar
+         */
+        protected boolean list(String directory, boolean recursive, boolean includeFiles, boolean includeDirectories, Set<String> returnSet) {
+            String prefix = directory.replace('\\', '/').replaceFirst("^/+", "");
+            if (prefix.length() > 0 && !prefix.endsWith("/")) {
+                prefix += "/";
+            }
+            if (prefix.length() > 0 && !entries.contains(prefix)) {
+                return false;
+            }
+
+            for (String entry : entries.tailSet(prefix, false)) {
+                if (!entry.startsWith(prefix)) {
+                    break;
+                }
+                String relative = entry.substring(prefix.length());
+                boolean isDirectory = entry.endsWith("/");
+                if (isDirectory) {
+                    relative = relative.substring(0, relative.length() - 1);
+                }
+                if (!recursive && relative.contains("/")) {
+                    continue;
+                }
+                if (isDirectory && includeDirectories) {
+                    returnSet.add(entry.substring(0, entry.length() - 1));
+                } else if (!isDirectory && includeFiles) {
+                    returnSet.add(entry);
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,247 @@
+package liquibase.serializer.core.binary;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.serializer.LiquibaseSerializable;
+import liquibase.serializer.SnapshotSerializer;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.DatabaseObjectCollection;
+import liquibase.structure.core.Column;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Writes snapshots in a compact binary format that {@link liquibase.parser.core.binary.BinarySnapshotParser} reads back without building a {@link liquibase.parser.core.ParsedNode} tree.
+ * <p></p>
+ * The file starts with {@link #MAGIC} and {@link #VERSION}, followed by the database information, the referenced objects and the snapshot objects.
+ * Objects are grouped by type and written as their snapshotId and attributes. References to other snapshot objects are written as type and snapshotId.
+ * Strings are written once and referred to by index afterwards, so repeated names, types and class names cost a few bytes each.
+ */
+public class BinarySnapshotSerializer implements SnapshotSerializer {
+
+    public static final byte[] MAGIC = new byte[]{'L', 'B', 'S', 'N', 'A', 'P'};
+    public static final int VERSION = 1;
+
+    public static final int NULL = 0;
+    public static final int STRING = 1;
+    public static final int BOOLEAN = 2;
+    public static final int INTEGER = 3;
+    public static final int LONG = 4;
+    public static final int BIG_INTEGER = 5;
+    public static final int BIG_DECIMAL = 6;
+    public static final int DOUBLE = 7;
+    public static final int OBJECT_REFERENCE = 8;
+    public static final int EMBEDDED_OBJECT = 9;
+    public static final int COLLECTION = 10;
+    public static final int MAP = 11;
+    public static final int DATE = 12;
+    public static final int ENUM = 13;
+    public static final int AUTO_INCREMENT = 14;
+    public static final int SERIALIZABLE = 15;
+    public static final int TYPED_STRING = 16;
+    public static final int CLASS = 17;
+
+    @Override
+    public String[] getValidFileExtensions() {
+        return new String[]{
+                "lbsnap"
+        };
+    }
+
+    @Override
+    public String serialize(LiquibaseSerializable object, boolean pretty) {
+        throw new UnexpectedLiquibaseException("Binary snapshots cannot be serialized to a string, use write()");
+    }
+
+    @Override
+    public void write(DatabaseSnapshot snapshot, OutputStream out) throws IOException {
+        Writer writer = new Writer(new DataOutputStream(new BufferedOutputStream(out)), snapshot);
+        writer.writeSnapshot();
+    }
+
+    private static class Writer {
+        private final DataOutputStream out;
+        private final DatabaseSnapshot snapshot;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+        private final Set<DatabaseObject> snapshotObjects = Collections.newSetFromMap(new IdentityHashMap<DatabaseObject, Boolean>());
+        private final Set<DatabaseObject> embedding = Collections.newSetFromMap(new IdentityHashMap<DatabaseObject, Boolean>());
+
+        private Writer(DataOutputStream out, DatabaseSnapshot snapshot) {
+            this.out = out;
+            this.snapshot = snapshot;
+        }
+
+        private void writeSnapshot() throws IOException {
+            DatabaseObjectCollection referencedObjects = (DatabaseObjectCollection) snapshot.getSerializableFieldValue("referencedObjects");
+            DatabaseObjectCollection objects = (DatabaseObjectCollection) snapshot.getSerializableFieldValue("objects");
+            for (DatabaseObjectCollection collection : Arrays.asList(referencedObjects, objects)) {
+                for (Set<? extends DatabaseObject> typeObjects : collection.toMap().values()) {
+                    snapshotObjects.addAll(typeObjects);
+                }
+            }
+
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+
+            Map<String, Object> databaseInfo = new TreeMap<String, Object>();
+            if (snapshot.getDatabase().getConnection() != null) {
+                databaseInfo.putAll((Map<String, Object>) snapshot.getSerializableFieldValue("database"));
+            } else {
+                databaseInfo.put("shortName", snapshot.getDatabase().getShortName());
+            }
+            writeVarInt(databaseInfo.size());
+            for (Map.Entry<String, Object> entry : databaseInfo.entrySet()) {
+                writeString(entry.getKey());
+                writeValue(entry.getValue());
+            }
+
+            writeObjects(referencedObjects);
+            writeObjects(objects);
+            out.flush();
+        }
+
+        private void writeObjects(DatabaseObjectCollection collection) throws IOException {
+            Map<Class<? extends DatabaseObject>, Set<? extends DatabaseObject>> objectsByType = collection.toMap();
+            writeVarInt(objectsByType.size());
+            for (Map.Entry<Class<? extends DatabaseObject>, Set<? extends DatabaseObject>> entry : objectsByType.entrySet()) {
+                writeString(entry.getKey().getName());
+                writeVarInt(entry.getValue().size());
+                for (DatabaseObject object : entry.getValue()) {
+                    writeObjectBody(object);
+                }
+            }
+        }
+
+        private void writeObjectBody(DatabaseObject object) throws IOException {
+            writeString(object.getSnapshotId());
+            Set<String> attributes = object.getAttributes();
+            writeVarInt(attributes.size());
+            for (String attribute : attributes) {
+                writeString(attribute);
+                writeValue(object.getAttribute(attribute, Object.class));
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writeVarInt(NULL);
+            } else if (value instanceof String) {
+                writeVarInt(STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                writeVarInt(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Integer) {
+                writeVarInt(INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                writeVarInt(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof BigInteger) {
+                writeVarInt(BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof BigDecimal) {
+                writeVarInt(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value instanceof Double) {
+                writeVarInt(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof DatabaseObject) {
+                DatabaseObject object = (DatabaseObject) value;
+                if (snapshotObjects.contains(object)) {
+                    writeVarInt(OBJECT_REFERENCE);
+                    writeString(object.getClass().getName());
+                    writeString(object.getSnapshotId());
+                } else if (embedding.add(object)) {
+                    writeVarInt(EMBEDDED_OBJECT);
+                    writeString(object.getClass().getName());
+                    writeObjectBody(object);
+                    embedding.remove(object);
+                } else {
+                    writeVarInt(NULL);
+                }
+            } else if (value instanceof Collection) {
+                writeVarInt(COLLECTION);
+                writeString(value.getClass().getName());
+                writeVarInt(((Collection) value).size());
+                for (Object element : (Collection) value) {
+                    writeValue(element);
+                }
+            } else if (value instanceof Map) {
+                writeVarInt(MAP);
+                writeString(value.getClass().getName());
+                writeVarInt(((Map) value).size());
+                for (Map.Entry entry : ((Map<?, ?>) value).entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (value instanceof Date) {
+                writeVarInt(DATE);
+                writeString(value.getClass().getName());
+                out.writeLong(((Date) value).getTime());
+            } else if (value instanceof Enum) {
+                writeVarInt(ENUM);
+                writeString(((Enum) value).getDeclaringClass().getName());
+                writeString(((Enum) value).name());
+            } else if (value instanceof Class) {
+                writeVarInt(CLASS);
+                writeString(((Class) value).getName());
+            } else if (value instanceof Column.AutoIncrementInformation) {
+                writeVarInt(AUTO_INCREMENT);
+                writeValue(((Column.AutoIncrementInformation) value).getStartWith());
+                writeValue(((Column.AutoIncrementInformation) value).getIncrementBy());
+            } else if (value instanceof LiquibaseSerializable) {
+                LiquibaseSerializable serializable = (LiquibaseSerializable) value;
+                writeVarInt(SERIALIZABLE);
+                writeString(value.getClass().getName());
+                Map<String, Object> fields = new TreeMap<String, Object>();
+                for (String field : serializable.getSerializableFields()) {
+                    Object fieldValue = serializable.getSerializableFieldValue(field);
+                    if (fieldValue != null) {
+                        fields.put(field, fieldValue);
+                    }
+                }
+                writeVarInt(fields.size());
+                for (Map.Entry<String, Object> field : fields.entrySet()) {
+                    writeString(field.getKey());
+                    writeValue(field.getValue());
+                }
+            } else {
+                writeVarInt(TYPED_STRING);
+                writeString(value.getClass().getName());
+                writeString(value.toString());
+            }
+        }
+
+        /**
+         * Writes 0 for null, 1 followed by the UTF-8 bytes for a string not written before, or its index plus 2.
+         */
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes("UTF-8");
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+}
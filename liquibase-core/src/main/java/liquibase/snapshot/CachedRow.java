@@ -1,37 +1,68 @@
 package liquibase.snapshot;
 
-import liquibase.executor.jvm.ColumnMapRowMapper;
-
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A row of a metadata result set. Rows read by {@link ResultSetCache} are views of a {@link ColumnarRows} table, other rows wrap a map.
+ */
 public class CachedRow {
     private Map row;
 
+    private ColumnarRows rows;
+    private int index;
+    private Map<String, Object> addedColumns;
+
     public CachedRow(Map row) {
         this.row = row;
     }
 
-
+    CachedRow(ColumnarRows rows, int index) {
+        this.rows = rows;
+        this.index = index;
+    }
 
     public Object get(String columnName) {
-        return row.get(columnName);
+        if (rows == null) {
+            return row.get(columnName);
+        }
+        int column = rows.getColumnIndex(columnName);
+        if (column >= 0) {
+            return rows.getValue(column, index);
+        }
+        return addedColumns == null ? null : addedColumns.get(columnName);
     }
 
     public void set(String columnName, Object value) {
-        row.put(columnName, value);
+        if (rows == null) {
+            row.put(columnName, value);
+            return;
+        }
+        int column = rows.getColumnIndex(columnName);
+        if (column >= 0) {
+            rows.setValue(column, index, value);
+        } else {
+            if (addedColumns == null) {
+                addedColumns = new HashMap<String, Object>();
+            }
+            addedColumns.put(columnName, value);
+        }
     }
 
 
     public boolean containsColumn(String columnName) {
-        return row.containsKey(columnName);
+        if (rows == null) {
+            return row.containsKey(columnName);
+        }
+        return rows.getColumnIndex(columnName) >= 0 || (addedColumns != null && addedColumns.containsKey(columnName));
     }
 
     public String getString(String columnName) {
-        return (String) row.get(columnName);
+        return (String) get(columnName);
     }
 
     public Integer getInt(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             return ((Number) o).intValue();
         } else if (o instanceof String) {
@@ -41,7 +72,7 @@ public class CachedRow {
     }
 
     public Short getShort(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             return ((Number) o).shortValue();
         } else if (o instanceof String) {
@@ -51,7 +82,7 @@ public class CachedRow {
     }
 
     public Boolean getBoolean(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             if (((Number) o).longValue() == 0) {
                 return false;
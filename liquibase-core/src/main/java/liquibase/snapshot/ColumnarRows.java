@@ -0,0 +1,84 @@
+package liquibase.snapshot;
+
+import java.util.*;
+
+/**
+ * Rows of a metadata result set stored as one array per column. Equal strings are stored once per result set.
+ * Rows are read through {@link CachedRow} views.
+ */
+class ColumnarRows {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> columnIndexes = new HashMap<String, Integer>();
+    private final Object[][] columns;
+    private final Map<String, String> strings = new HashMap<String, String>();
+    private int size;
+
+    /**
+     * @param columnNames the column names, in result set order. If a name is repeated, the last column with that name is used.
+     */
+    ColumnarRows(String[] columnNames) {
+        for (int i = 0; i < columnNames.length; i++) {
+            columnIndexes.put(columnNames[i], i);
+        }
+        columns = new Object[columnNames.length][];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Object[INITIAL_CAPACITY];
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getColumnIndex(String columnName) {
+        Integer column = columnIndexes.get(columnName);
+        if (column == null) {
+            return -1;
+        }
+        return column;
+    }
+
+    Object getValue(int column, int row) {
+        return columns[column][row];
+    }
+
+    void setValue(int column, int row, Object value) {
+        columns[column][row] = value;
+    }
+
+    /**
+     * Adds a row with the given values in column order. The array is copied and can be reused by the caller.
+     */
+    void addRow(Object[] values) {
+        for (int i = 0; i < columns.length; i++) {
+            if (size == columns[i].length) {
+                columns[i] = Arrays.copyOf(columns[i], size * 2);
+            }
+            Object value = values[i];
+            if (value instanceof String) {
+                value = intern((String) value);
+            }
+            columns[i][size] = value;
+        }
+        size++;
+    }
+
+    List<CachedRow> getRows() {
+        List<CachedRow> rows = new ArrayList<CachedRow>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new CachedRow(this, i));
+        }
+        return rows;
+    }
+
+    private String intern(String value) {
+        String existing = strings.get(value);
+        if (existing == null) {
+            strings.put(value, value);
+            return value;
+        }
+        return existing;
+    }
+}
@@ -151,7 +151,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable{
 
     public ResultSetCache getResultSetCache(String key) {
         if (!resultSetCaches.containsKey(key)) {
-            resultSetCaches.put(key, new ResultSetCache());
+            resultSetCaches.put(key, new ResultSetCache(key, snapshotControl == null ? null : snapshotControl.getMetrics()));
         }
         return resultSetCaches.get(key);
     }
@@ -178,6 +178,10 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable{
             return example;
         }
 
+        if (!snapshotControl.shouldInclude(example)) {
+            return null;
+        }
+
        T existing = get(example);
         if (existing != null) {
             return existing;
@@ -193,7 +197,16 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable{
             snapshotListener.willSnapshot(example, database);
         }
 
-        T object = chain.snapshot(example, this);
+        SnapshotMetrics metrics = snapshotControl.getMetrics();
+        long startTime = metrics == null ? 0 : metrics.startObject();
+        T object = null;
+        try {
+            object = chain.snapshot(example, this);
+        } finally {
+            if (metrics != null) {
+                metrics.finishObject(example.getClass(), object != null, startTime);
+            }
+        }
 
         if (object == null) {
             Set<DatabaseObject> collection = knownNull.get(example.getClass());
@@ -354,6 +367,47 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable{
         return allFound.get(type);
     }
 
+    /**
+     * Adds the objects found by another snapshot of the same database, such as one taken of a different schema.
+     * Objects already in this snapshot are kept.
+     */
+    void merge(DatabaseSnapshot snapshot) {
+        for (Set<? extends DatabaseObject> objects : snapshot.allFound.toMap().values()) {
+            for (DatabaseObject object : objects) {
+                if (allFound.get(object) == null) {
+                    allFound.add(object);
+                }
+            }
+        }
+        for (Set<? extends DatabaseObject> objects : snapshot.referencedObjects.toMap().values()) {
+            for (DatabaseObject object : objects) {
+                if (allFound.get(object) == null && referencedObjects.get(object) == null) {
+                    referencedObjects.add(object);
+                }
+            }
+        }
+        for (Map.Entry<Class<? extends DatabaseObject>, Set<DatabaseObject>> entry : snapshot.knownNull.entrySet()) {
+            Set<DatabaseObject> collection = knownNull.get(entry.getKey());
+            if (collection == null) {
+                collection = new HashSet<DatabaseObject>();
+                knownNull.put(entry.getKey(), collection);
+            }
+            collection.addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Adds objects that were read from a stored snapshot rather than from the database.
+     */
+    protected void addRestoredObjects(Collection<? extends DatabaseObject> objects, Collection<? extends DatabaseObject> referencedObjects) {
+        for (DatabaseObject object : objects) {
+            this.allFound.add(object);
+        }
+        for (DatabaseObject object : referencedObjects) {
+            this.referencedObjects.add(object);
+        }
+    }
+
 
     protected SnapshotGeneratorChain createGeneratorChain(Class<? extends DatabaseObject> databaseObjectType, Database database) {
         SortedSet<SnapshotGenerator> generators = SnapshotGeneratorFactory.getInstance().getGenerators(databaseObjectType, database);
@@ -45,6 +45,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
         private DatabaseMetaData databaseMetaData;
         private Database database;
+        private boolean catalogQueriesFailed;
 
         public CachingDatabaseMetaData(Database database, DatabaseMetaData metaData) {
             this.databaseMetaData = metaData;
@@ -55,6 +56,35 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             return databaseMetaData;
         }
 
+        /**
+         * Returns the LIKE pattern from the snapshot include filters that all included objects of the given types match, or null to read all of them.
+         * Bulk queries use it so that objects the snapshot would skip are not read.
+         * The pattern is matched case sensitively, as by the {@link DatabaseMetaData} methods.
+         */
+        protected String getIncludedNamePattern(Class<? extends DatabaseObject>... types) {
+            return getIncludedNamePattern(false, types);
+        }
+
+        /**
+         * Like {@link #getIncludedNamePattern(Class[])}, but if ignoreCase is true the pattern is in upper case and must be compared with upper cased names,
+         * as in "UPPER(TABLE_NAME) LIKE ?". Queries that can do this also skip objects for case insensitive filters.
+         */
+        protected String getIncludedNamePattern(boolean ignoreCase, Class<? extends DatabaseObject>... types) {
+            SnapshotControl snapshotControl = getSnapshotControl();
+            if (snapshotControl == null) {
+                return null;
+            }
+            String pattern = null;
+            for (Class<? extends DatabaseObject> type : types) {
+                String typePattern = snapshotControl.getIncludedNamePattern(type, ignoreCase);
+                if (typePattern == null || (pattern != null && !pattern.equals(typePattern))) {
+                    return null;
+                }
+                pattern = typePattern;
+            }
+            return pattern;
+        }
+
         public List<CachedRow> getForeignKeys(final String catalogName, final String schemaName, final String tableName, final String fkName) throws DatabaseException {
             return getResultSetCache("getImportedKeys").get(new ResultSetCache.UnionResultSetExtractor(database) {
 
@@ -138,6 +168,9 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                                 "AND p.table_name NOT LIKE 'BIN$%' " +
                                 "ORDER BY fktable_schem, fktable_name, key_seq";
                         return executeAndExtract(sql, database);
+                    } else if (hasCatalogQueries()) {
+                        CatalogAndSchema catalogAndSchema = new CatalogAndSchema(catalogName, schemaName).customize(database);
+                        return executeCatalogQuery(this, getForeignKeysSql(((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema), ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema)));
                     } else {
                         throw new RuntimeException("Cannot bulk select");
                     }
@@ -145,7 +178,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
                 @Override
                 boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-                    return database instanceof OracleDatabase; //oracle is slow, always bulk select while you are at it. Other databases need to go through all tables.
+                    return database instanceof OracleDatabase || hasCatalogQueries(); //oracle is slow, always bulk select while you are at it. Other databases need to go through all tables.
                 }
             });
         }
@@ -211,6 +244,10 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
                 @Override
                 public List<CachedRow> bulkFetch() throws SQLException, DatabaseException {
+                    if (hasCatalogQueries()) {
+                        CatalogAndSchema catalogAndSchema = new CatalogAndSchema(catalogName, schemaName).customize(database);
+                        return executeCatalogQuery(this, getIndexInfoSql(((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema), ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema)));
+                    }
                     this.bulkFetch = true;
                     return fastFetch();
                 }
@@ -220,7 +257,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                     if (database instanceof OracleDatabase) {
                         return super.shouldBulkSelect(schemaKey, resultSetCache);
                     }
-                    return false;
+                    return hasCatalogQueries();
                 }
             });
         }
@@ -285,7 +322,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                     CatalogAndSchema catalogAndSchema = new CatalogAndSchema(catalogName, schemaName).customize(database);
 
                     try {
-                        return extract(databaseMetaData.getColumns(((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema), ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema), null, null));
+                        return extract(databaseMetaData.getColumns(((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema), ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema), getIncludedNamePattern(Table.class, View.class), null));
                     } catch (SQLException e) {
                         if (shouldReturnEmptyColumns(e)) {
                             return new ArrayList<CachedRow>();
@@ -329,6 +366,254 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             });
         }
 
+        /**
+         * Returns true if primary keys, foreign keys and indexes are read for the whole schema with the database's own catalog queries
+         * instead of calling {@link DatabaseMetaData} for each table.
+         */
+        protected boolean hasCatalogQueries() {
+            return !catalogQueriesFailed && supportsCatalogQueries();
+        }
+
+        protected boolean supportsCatalogQueries() {
+            return database instanceof PostgresDatabase || database instanceof MySQLDatabase;
+        }
+
+        /**
+         * Runs one of the schema-wide catalog queries. Returns null if there is no query for this database version or the query fails,
+         * so the rows are read through {@link DatabaseMetaData} for each table instead. After a failure the catalog queries are no longer used.
+         */
+        protected List<CachedRow> executeCatalogQuery(ResultSetCache.ResultSetExtractor extractor, String sql) throws DatabaseException {
+            if (sql == null) {
+                return null;
+            }
+            try {
+                return extractor.executeAndExtract(sql, database);
+            } catch (SQLException e) {
+                disableCatalogQueries(e);
+            } catch (DatabaseException e) {
+                disableCatalogQueries(e);
+            }
+            return null;
+        }
+
+        private void disableCatalogQueries(Exception e) throws DatabaseException {
+            LogFactory.getLogger().info("Cannot read " + database.getShortName() + " catalog tables, reading metadata table by table: " + e.getMessage());
+            catalogQueriesFailed = true;
+            if (database instanceof PostgresDatabase) {
+                database.rollback(); //the failed query aborted the transaction
+            }
+        }
+
+        /**
+         * Returns SQL selecting the same columns as {@link DatabaseMetaData#getPrimaryKeys(String, String, String)} for every table in the given schema.
+         */
+        protected String getPrimaryKeysSql(String jdbcCatalogName, String jdbcSchemaName) {
+            if (database instanceof PostgresDatabase) {
+                return "select null as TABLE_CAT, n.nspname as TABLE_SCHEM, t.relname as TABLE_NAME, a.attname as COLUMN_NAME, k.n as KEY_SEQ, k.conname as PK_NAME "
+                        + "from (select c.conrelid, c.conname, c.conkey, generate_series(1, array_upper(c.conkey, 1)) as n from pg_constraint c where c.contype='p') k "
+                        + "join pg_class t on t.oid=k.conrelid "
+                        + "join pg_namespace n on n.oid=t.relnamespace "
+                        + "join pg_attribute a on a.attrelid=k.conrelid and a.attnum=k.conkey[k.n] "
+                        + "where n.nspname='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "order by t.relname, k.n";
+            } else if (database instanceof MySQLDatabase) {
+                return "select TABLE_SCHEMA as TABLE_CAT, null as TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, ORDINAL_POSITION as KEY_SEQ, CONSTRAINT_NAME as PK_NAME "
+                        + "from information_schema.key_column_usage "
+                        + "where table_schema='" + database.escapeStringForDatabase(jdbcCatalogName) + "' "
+                        + "and constraint_name='PRIMARY' "
+                        + "order by table_name, ordinal_position";
+            }
+            return null;
+        }
+
+        /**
+         * Returns SQL selecting the same columns as {@link DatabaseMetaData#getImportedKeys(String, String, String)} for every table in the given schema.
+         */
+        protected String getForeignKeysSql(String jdbcCatalogName, String jdbcSchemaName) {
+            if (database instanceof PostgresDatabase) {
+                return "select null as PKTABLE_CAT, pn.nspname as PKTABLE_SCHEM, pt.relname as PKTABLE_NAME, pa.attname as PKCOLUMN_NAME, "
+                        + "null as FKTABLE_CAT, fn.nspname as FKTABLE_SCHEM, ft.relname as FKTABLE_NAME, fa.attname as FKCOLUMN_NAME, "
+                        + "k.n as KEY_SEQ, "
+                        + getPostgresRuleSql("k.confupdtype") + " as UPDATE_RULE, "
+                        + getPostgresRuleSql("k.confdeltype") + " as DELETE_RULE, "
+                        + "k.conname as FK_NAME, null as PK_NAME, "
+                        + "case when k.condeferrable then case when k.condeferred then 5 else 6 end else 7 end as DEFERRABILITY "
+                        + "from (select c.conname, c.conrelid, c.confrelid, c.conkey, c.confkey, c.confupdtype, c.confdeltype, c.condeferrable, c.condeferred, "
+                        + "generate_series(1, array_upper(c.conkey, 1)) as n from pg_constraint c where c.contype='f') k "
+                        + "join pg_class ft on ft.oid=k.conrelid "
+                        + "join pg_namespace fn on fn.oid=ft.relnamespace "
+                        + "join pg_attribute fa on fa.attrelid=k.conrelid and fa.attnum=k.conkey[k.n] "
+                        + "join pg_class pt on pt.oid=k.confrelid "
+                        + "join pg_namespace pn on pn.oid=pt.relnamespace "
+                        + "join pg_attribute pa on pa.attrelid=k.confrelid and pa.attnum=k.confkey[k.n] "
+                        + "where fn.nspname='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "order by ft.relname, k.conname, k.n";
+            } else if (database instanceof MySQLDatabase) {
+                try {
+                    if (database.getDatabaseMajorVersion() < 5 || (database.getDatabaseMajorVersion() == 5 && database.getDatabaseMinorVersion() < 1)) {
+                        return null; //information_schema.referential_constraints was added in 5.1.10, earlier 5.1 versions fail and fall back
+                    }
+                } catch (DatabaseException e) {
+                    return null;
+                }
+                return "select kcu.REFERENCED_TABLE_SCHEMA as PKTABLE_CAT, null as PKTABLE_SCHEM, kcu.REFERENCED_TABLE_NAME as PKTABLE_NAME, kcu.REFERENCED_COLUMN_NAME as PKCOLUMN_NAME, "
+                        + "kcu.TABLE_SCHEMA as FKTABLE_CAT, null as FKTABLE_SCHEM, kcu.TABLE_NAME as FKTABLE_NAME, kcu.COLUMN_NAME as FKCOLUMN_NAME, "
+                        + "kcu.ORDINAL_POSITION as KEY_SEQ, "
+                        + getMySQLRuleSql("rc.UPDATE_RULE") + " as UPDATE_RULE, "
+                        + getMySQLRuleSql("rc.DELETE_RULE") + " as DELETE_RULE, "
+                        + "kcu.CONSTRAINT_NAME as FK_NAME, rc.UNIQUE_CONSTRAINT_NAME as PK_NAME, 7 as DEFERRABILITY "
+                        + "from information_schema.key_column_usage kcu "
+                        + "join information_schema.referential_constraints rc on rc.constraint_schema=kcu.constraint_schema and rc.constraint_name=kcu.constraint_name "
+                        + "where kcu.table_schema='" + database.escapeStringForDatabase(jdbcCatalogName) + "' "
+                        + "and kcu.referenced_table_name is not null "
+                        + "order by kcu.table_name, kcu.constraint_name, kcu.ordinal_position";
+            }
+            return null;
+        }
+
+        private String getPostgresRuleSql(String column) {
+            return "case " + column + " when 'c' then " + DatabaseMetaData.importedKeyCascade
+                    + " when 'n' then " + DatabaseMetaData.importedKeySetNull
+                    + " when 'd' then " + DatabaseMetaData.importedKeySetDefault
+                    + " when 'r' then " + DatabaseMetaData.importedKeyRestrict
+                    + " else " + DatabaseMetaData.importedKeyNoAction + " end";
+        }
+
+        private String getMySQLRuleSql(String column) {
+            return "case " + column + " when 'CASCADE' then " + DatabaseMetaData.importedKeyCascade
+                    + " when 'SET NULL' then " + DatabaseMetaData.importedKeySetNull
+                    + " when 'SET DEFAULT' then " + DatabaseMetaData.importedKeySetDefault
+                    + " when 'RESTRICT' then " + DatabaseMetaData.importedKeyRestrict
+                    + " else " + DatabaseMetaData.importedKeyNoAction + " end";
+        }
+
+        /**
+         * Returns SQL selecting the same columns as {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)} for every table in the given schema.
+         */
+        protected String getIndexInfoSql(String jdbcCatalogName, String jdbcSchemaName) {
+            if (database instanceof PostgresDatabase) {
+                return "select null as TABLE_CAT, n.nspname as TABLE_SCHEM, t.relname as TABLE_NAME, not i.indisunique as NON_UNIQUE, null as INDEX_QUALIFIER, ic.relname as INDEX_NAME, "
+                        + "case when i.indisclustered then " + DatabaseMetaData.tableIndexClustered + " when am.amname='hash' then " + DatabaseMetaData.tableIndexHashed + " else " + DatabaseMetaData.tableIndexOther + " end as TYPE, "
+                        + "k.n as ORDINAL_POSITION, pg_get_indexdef(i.indexrelid, k.n, false) as COLUMN_NAME, null as ASC_OR_DESC, "
+                        + "pg_get_expr(i.indpred, i.indrelid) as FILTER_CONDITION "
+                        + "from (select indexrelid, generate_series(1, indnatts) as n from pg_index) k "
+                        + "join pg_index i on i.indexrelid=k.indexrelid "
+                        + "join pg_class ic on ic.oid=i.indexrelid "
+                        + "join pg_am am on am.oid=ic.relam "
+                        + "join pg_class t on t.oid=i.indrelid "
+                        + "join pg_namespace n on n.oid=t.relnamespace "
+                        + "where n.nspname='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "order by t.relname, ic.relname, k.n";
+            } else if (database instanceof MySQLDatabase) {
+                return "select TABLE_SCHEMA as TABLE_CAT, null as TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, INDEX_SCHEMA as INDEX_QUALIFIER, INDEX_NAME, "
+                        + "case when INDEX_TYPE='HASH' then " + DatabaseMetaData.tableIndexHashed + " else " + DatabaseMetaData.tableIndexOther + " end as TYPE, "
+                        + "SEQ_IN_INDEX as ORDINAL_POSITION, COLUMN_NAME, COLLATION as ASC_OR_DESC, null as FILTER_CONDITION "
+                        + "from information_schema.statistics "
+                        + "where table_schema='" + database.escapeStringForDatabase(jdbcCatalogName) + "' "
+                        + "order by table_name, index_name, seq_in_index";
+            }
+            return null;
+        }
+
+        /**
+         * Return the auto-increment columns for the given catalog, schema, table, and column, read with a single query for the whole schema.
+         * Returns null if there is no such query for this database and each column needs to be checked on its own.
+         */
+        public List<CachedRow> getAutoIncrementColumns(final String catalogName, final String schemaName, final String tableName, final String columnName) throws SQLException, DatabaseException {
+            CatalogAndSchema catalogAndSchema = new CatalogAndSchema(catalogName, schemaName).customize(database);
+            final String sql = getAutoIncrementColumnsSql(((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema), ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema));
+            if (sql == null) {
+                return null;
+            }
+
+            return getResultSetCache("getAutoIncrementColumns").get(new ResultSetCache.SingleResultSetExtractor(database) {
+
+                @Override
+                public ResultSetCache.RowData rowKeyParameters(CachedRow row) {
+                    return new ResultSetCache.RowData(row.getString("TABLE_CAT"), row.getString("TABLE_SCHEM"), database, row.getString("TABLE_NAME"), row.getString("COLUMN_NAME"));
+                }
+
+                @Override
+                public ResultSetCache.RowData wantedKeyParameters() {
+                    return new ResultSetCache.RowData(catalogName, schemaName, database, tableName, columnName);
+                }
+
+                @Override
+                boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
+                    return true;
+                }
+
+                @Override
+                public List<CachedRow> fastFetchQuery() throws SQLException, DatabaseException {
+                    return bulkFetchQuery();
+                }
+
+                @Override
+                public List<CachedRow> bulkFetchQuery() throws SQLException, DatabaseException {
+                    return executeAndExtract(sql, database);
+                }
+            });
+        }
+
+        /**
+         * Returns SQL selecting TABLE_CAT, TABLE_SCHEM, TABLE_NAME and COLUMN_NAME of every auto-increment column in the given schema,
+         * or null if it is not known for this database.
+         */
+        protected String getAutoIncrementColumnsSql(String jdbcCatalogName, String jdbcSchemaName) throws DatabaseException {
+            if ((database instanceof MySQLDatabase ? jdbcCatalogName : jdbcSchemaName) == null) {
+                return null;
+            }
+            if (database instanceof MySQLDatabase) {
+                return "select TABLE_SCHEMA as TABLE_CAT, null as TABLE_SCHEM, TABLE_NAME, COLUMN_NAME "
+                        + "from information_schema.columns "
+                        + "where table_schema='" + database.escapeStringForDatabase(jdbcCatalogName) + "' "
+                        + "and extra like '%auto_increment%'";
+            } else if (database instanceof PostgresDatabase) {
+                return "select current_database() as TABLE_CAT, n.nspname as TABLE_SCHEM, c.relname as TABLE_NAME, a.attname as COLUMN_NAME "
+                        + "from pg_attribute a "
+                        + "join pg_class c on c.oid=a.attrelid "
+                        + "join pg_namespace n on n.oid=c.relnamespace "
+                        + "where n.nspname='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "and c.relkind='r' and a.attnum > 0 and not a.attisdropped "
+                        + "and pg_get_serial_sequence(quote_ident(n.nspname) || '.' || quote_ident(c.relname), a.attname) is not null";
+            } else if (database instanceof MSSQLDatabase) {
+                String catalogPrefix = "";
+                String catalogColumn = "DB_NAME()";
+                if (jdbcCatalogName != null) {
+                    catalogPrefix = database.escapeObjectName(jdbcCatalogName, Catalog.class) + ".";
+                    catalogColumn = "'" + database.escapeStringForDatabase(jdbcCatalogName) + "'";
+                }
+                if (database.getDatabaseMajorVersion() >= 9) {
+                    return "select " + catalogColumn + " as TABLE_CAT, s.name as TABLE_SCHEM, t.name as TABLE_NAME, c.name as COLUMN_NAME "
+                            + "from " + catalogPrefix + "sys.identity_columns c "
+                            + "join " + catalogPrefix + "sys.tables t on t.object_id=c.object_id "
+                            + "join " + catalogPrefix + "sys.schemas s on s.schema_id=t.schema_id "
+                            + "where s.name='" + database.escapeStringForDatabase(jdbcSchemaName) + "'";
+                }
+                return null;
+            } else if (database instanceof SybaseDatabase) {
+                return "select db_name() as TABLE_CAT, user_name(o.uid) as TABLE_SCHEM, o.name as TABLE_NAME, c.name as COLUMN_NAME "
+                        + "from syscolumns c, sysobjects o "
+                        + "where c.id=o.id and o.type='U' "
+                        + "and user_name(o.uid)='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "and (c.status & 128) = 128";
+            } else if (database instanceof DB2Database) {
+                if (database.getDatabaseProductName().startsWith("DB2 UDB for AS/400")) {
+                    return null;
+                }
+                return "select null as TABLE_CAT, TABSCHEMA as TABLE_SCHEM, TABNAME as TABLE_NAME, COLNAME as COLUMN_NAME "
+                        + "from SYSCAT.COLUMNS "
+                        + "where TABSCHEMA='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "and IDENTITY='Y'";
+            } else if (database instanceof H2Database) {
+                return "select TABLE_CATALOG as TABLE_CAT, TABLE_SCHEMA as TABLE_SCHEM, TABLE_NAME, COLUMN_NAME "
+                        + "from INFORMATION_SCHEMA.COLUMNS "
+                        + "where TABLE_SCHEMA='" + database.escapeStringForDatabase(jdbcSchemaName) + "' "
+                        + "and SEQUENCE_NAME is not null";
+            }
+            return null;
+        }
+
         public List<CachedRow> getTables(final String catalogName, final String schemaName, final String table) throws SQLException, DatabaseException {
             return getResultSetCache("getTables").get(new ResultSetCache.SingleResultSetExtractor(database) {
 
@@ -352,7 +637,8 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
                     String catalog = ((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema);
                     String schema = ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema);
-                    return extract(databaseMetaData.getTables(catalog, schema, database.correctObjectName(table, Table.class), new String[]{"TABLE"}));
+                    String tableNamePattern = table == null ? getIncludedNamePattern(Table.class) : database.correctObjectName(table, Table.class);
+                    return extract(databaseMetaData.getTables(catalog, schema, tableNamePattern, new String[]{"TABLE"}));
                 }
 
                 @Override
@@ -365,7 +651,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
                     String catalog = ((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema);
                     String schema = ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema);
-                    return extract(databaseMetaData.getTables(catalog, schema, null, new String[]{"TABLE"}));
+                    return extract(databaseMetaData.getTables(catalog, schema, getIncludedNamePattern(Table.class), new String[]{"TABLE"}));
                 }
 
                 private List<CachedRow> queryOracle(CatalogAndSchema catalogAndSchema, String tableName) throws DatabaseException, SQLException {
@@ -377,6 +663,8 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                         "WHERE a.OWNER='" + ownerName + "'";
                     if (tableName != null) {
                         sql += " AND a.TABLE_NAME='" + database.correctObjectName(tableName, Table.class) + "'";
+                    } else if (getIncludedNamePattern(true, Table.class) != null) {
+                        sql += " AND UPPER(a.TABLE_NAME) LIKE '" + getIncludedNamePattern(true, Table.class).replace("'", "''") + "'";
                     }
 
                     return executeAndExtract(sql, database);
@@ -481,13 +769,17 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                 }
 
                 @Override
-                public List<CachedRow> bulkFetchQuery() throws SQLException {
+                public List<CachedRow> bulkFetchQuery() throws SQLException, DatabaseException {
+                    if (hasCatalogQueries()) {
+                        CatalogAndSchema catalogAndSchema = new CatalogAndSchema(catalogName, schemaName).customize(database);
+                        return executeCatalogQuery(this, getPrimaryKeysSql(((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema), ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema)));
+                    }
                     return null;
                 }
 
                 @Override
                 boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-                    return false;
+                    return hasCatalogQueries();
                 }
             });
         }
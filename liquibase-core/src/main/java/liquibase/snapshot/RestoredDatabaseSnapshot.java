@@ -4,9 +4,15 @@ import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
 import liquibase.structure.DatabaseObject;
 
+import java.util.Collection;
+
 public class RestoredDatabaseSnapshot extends DatabaseSnapshot {
 
     public RestoredDatabaseSnapshot(Database database) throws DatabaseException, InvalidExampleException {
         super(new DatabaseObject[0], database);
     }
+
+    public void addObjects(Collection<? extends DatabaseObject> objects, Collection<? extends DatabaseObject> referencedObjects) {
+        addRestoredObjects(objects, referencedObjects);
+    }
 }
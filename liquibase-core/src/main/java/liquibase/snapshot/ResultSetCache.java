@@ -4,14 +4,13 @@ import liquibase.database.Database;
 import liquibase.database.core.InformixDatabase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
-import liquibase.executor.jvm.ColumnMapRowMapper;
-import liquibase.executor.jvm.RowMapperResultSetExtractor;
 import liquibase.util.JdbcUtils;
 import liquibase.util.StringUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
@@ -21,36 +20,57 @@ class ResultSetCache {
     private Map<String, Integer> timesSingleQueried = new HashMap<String, Integer>();
     private Map<String, Boolean> didBulkQuery = new HashMap<String, Boolean>();
 
-    private Map<String, Map<String, List<CachedRow>>> cacheBySchema = new HashMap<String, Map<String, List<CachedRow>>>();
+    private Map<String, RowIndex> cacheBySchema = new HashMap<String, RowIndex>();
 
     private Map<String, Object> info = new HashMap<String, Object>();
 
+    private final String name;
+    private final SnapshotMetrics metrics;
+
+    /**
+     * @param name the metadata call cached, used to report queries and cache hits to metrics
+     * @param metrics where queries and cache hits are reported, or null
+     */
+    ResultSetCache(String name, SnapshotMetrics metrics) {
+        this.name = name;
+        this.metrics = metrics;
+    }
+
     public List<CachedRow> get(ResultSetExtractor resultSetExtractor) throws DatabaseException {
         try {
-            String wantedKey = resultSetExtractor.wantedKeyParameters().createParamsKey(resultSetExtractor.database);
+            RowData wantedKeyParameters = resultSetExtractor.wantedKeyParameters();
+            String[] wantedKey = wantedKeyParameters.getKeyValues();
 
-            String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
+            String schemaKey = wantedKeyParameters.createSchemaKey(resultSetExtractor.database);
 
-            Map<String, List<CachedRow>> cache = cacheBySchema.get(schemaKey);
+            RowIndex cache = cacheBySchema.get(schemaKey);
             if (cache == null ) {
-                cache = new HashMap<String, List<CachedRow>>();
+                cache = new RowIndex();
                 cacheBySchema.put(schemaKey, cache);
             }
 
-            if (cache.containsKey(wantedKey)) {
-                return cache.get(wantedKey);
-            }
-
-            if (didBulkQuery.containsKey(schemaKey) && didBulkQuery.get(schemaKey)) {
-                return new ArrayList<CachedRow>();
+            List<CachedRow> cachedRows = cache.find(wantedKey);
+            if (!cachedRows.isEmpty() || (didBulkQuery.containsKey(schemaKey) && didBulkQuery.get(schemaKey))) {
+                if (metrics != null) {
+                    metrics.recordCacheHit(name);
+                }
+                return cachedRows;
             }
 
+            long startTime = System.nanoTime();
+            boolean bulk = resultSetExtractor.shouldBulkSelect(schemaKey, this);
             List<CachedRow> results;
-            if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
-                cache.clear(); //remove any existing single fetches that may be duplicated
+            results = null;
+            if (bulk) {
                 results = resultSetExtractor.bulkFetch();
-                didBulkQuery.put(schemaKey, true);
-            } else {
+                if (results == null) {
+                    bulk = false;
+                } else {
+                    cache.clear(); //remove any existing single fetches that may be duplicated
+                    didBulkQuery.put(schemaKey, true);
+                }
+            }
+            if (!bulk) {
                 Integer previousCount = timesSingleQueried.get(schemaKey);
                 if (previousCount == null) {
                     previousCount = 0;
@@ -58,25 +78,15 @@ class ResultSetCache {
                 timesSingleQueried.put(schemaKey, previousCount+1);
                 results = resultSetExtractor.fastFetch();
             }
-
-            for (CachedRow row : results) {
-                for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
-                    if (!cache.containsKey(rowKey)) {
-                        cache.put(rowKey, new ArrayList<CachedRow>());
-                    }
-                    cache.get(rowKey).add(row);
-                }
+            if (metrics != null) {
+                metrics.recordQuery(name, bulk, results.size(), startTime);
             }
 
-            List<CachedRow> returnList = cache.get(wantedKey);
-            if (returnList == null) {
-                returnList = new ArrayList<CachedRow>();
+            for (CachedRow row : results) {
+                cache.add(resultSetExtractor.rowKeyParameters(row).getKeyValues(), row);
             }
-            return returnList;
-
-
-
 
+            return cache.find(wantedKey);
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -96,8 +106,6 @@ class ResultSetCache {
         private String catalog;
         private String schema;
 
-        private String[] keyPermutations;
-
         protected RowData(String catalog, String schema, Database database, String... parameters) {
             this.database = database;
             this.catalog = catalog;
@@ -106,34 +114,18 @@ class ResultSetCache {
             this.parameters = parameters;
         }
 
-        public String[] getKeyPermutations() {
-            if (keyPermutations == null) {
-                this.keyPermutations = permutations(parameters);
-
+        /**
+         * Returns the parameters as used by the cache index: lower case if the database is not case sensitive, with null meaning any value.
+         */
+        public String[] getKeyValues() {
+            if (database.isCaseSensitive()) {
+                return parameters;
             }
-            return keyPermutations;
-        }
-
-        protected String[] permutations(String[] params) {
-            return permute(params, 0);
-        }
-
-        private String[] permute(String[] params, int fromIndex) {
-            String[] nullVersion = Arrays.copyOf(params, params.length);
-            nullVersion[fromIndex] = null;
-            if (params.length == fromIndex + 1) {
-                return new String[] {
-                        createKey(database, params),
-                        createKey(database, nullVersion)
-                };
-            } else {
-                List<String> permutations = new ArrayList<String>();
-
-                Collections.addAll(permutations, permute(params, fromIndex + 1));
-                Collections.addAll(permutations, permute(nullVersion, fromIndex + 1));
-
-                return permutations.toArray(new String[permutations.size()]);
+            String[] keyValues = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                keyValues[i] = parameters[i] == null ? null : parameters[i].toLowerCase();
             }
+            return keyValues;
         }
 
         public String createSchemaKey(Database database) {
@@ -217,6 +209,10 @@ class ResultSetCache {
         public abstract RowData wantedKeyParameters();
 
         public abstract List<CachedRow> fastFetch() throws SQLException, DatabaseException;
+
+        /**
+         * Returns the rows of the whole schema, or null if they cannot be read at once after all, in which case {@link #fastFetch()} is used instead.
+         */
         public abstract List<CachedRow> bulkFetch() throws SQLException, DatabaseException;
 
         protected List<CachedRow> extract(ResultSet resultSet) throws SQLException {
@@ -225,44 +221,125 @@ class ResultSetCache {
 
         protected List<CachedRow> extract(ResultSet resultSet, final boolean informixIndexTrimHint) throws SQLException {
             resultSet.setFetchSize(FETCH_SIZE);
-            List<Map> result;
-            List<CachedRow> returnList = new ArrayList<CachedRow>();
             try {
-                result = (List<Map>) new RowMapperResultSetExtractor(new ColumnMapRowMapper() {
-                  @Override
-                  protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
-                    Object value = super.getColumnValue(rs, index);
-                    if (value != null && value instanceof String) {
-
-                      // Don't trim for informix database,
-                      // We need to discern the space in front of an index name,
-                      // to know if it was auto-generated or not
-                      
-                      if(informixIndexTrimHint == false) {
-                        value = ((String) value).trim(); // Trim the value normally
-                      } else {
-                        boolean startsWithSpace = false;
-                        if(database instanceof InformixDatabase && ((String)value).matches("^ .*$")) {
-                          startsWithSpace = true; // Set the flag if the value started with a space
-                        }
-                        value = ((String) value).trim(); // Trim the value normally
-                        if(startsWithSpace == true) {
-                          value = " "+value; // Put the space back at the beginning if the flag was set
-                        }
-                      }
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                String[] columnNames = new String[metaData.getColumnCount()];
+                for (int i = 0; i < columnNames.length; i++) {
+                    columnNames[i] = metaData.getColumnLabel(i + 1).toUpperCase();
+                }
 
-                    }
-                    return value;
-                  }
-                }).extractData(resultSet);
+                ColumnarRows rows = new ColumnarRows(columnNames);
+                Object[] values = new Object[columnNames.length];
+                while (resultSet.next()) {
+                    for (int i = 0; i < values.length; i++) {
+                        Object value = JdbcUtils.getResultSetValue(resultSet, i + 1);
+                        if (value != null && value instanceof String) {
+
+                            // Don't trim for informix database,
+                            // We need to discern the space in front of an index name,
+                            // to know if it was auto-generated or not
+
+                            if (informixIndexTrimHint == false) {
+                                value = ((String) value).trim(); // Trim the value normally
+                            } else {
+                                boolean startsWithSpace = false;
+                                if (database instanceof InformixDatabase && ((String) value).matches("^ .*$")) {
+                                    startsWithSpace = true; // Set the flag if the value started with a space
+                                }
+                                value = ((String) value).trim(); // Trim the value normally
+                                if (startsWithSpace == true) {
+                                    value = " " + value; // Put the space back at the beginning if the flag was set
+                                }
+                            }
 
-                for (Map row : result) {
-                    returnList.add(new CachedRow(row));
+                        }
+                        values[i] = value;
+                    }
+                    rows.addRow(values);
                 }
+                return rows.getRows();
             } finally {
                 JdbcUtils.closeResultSet(resultSet);
             }
-            return returnList;
+        }
+    }
+
+    /**
+     * Cached rows of one schema, indexed by their key parameters with one level per parameter.
+     * A null parameter in a lookup matches any value at that level. Rows are returned in the order they were added.
+     */
+    static class RowIndex {
+        private Map<String, Object> root = new HashMap<String, Object>();
+        private List<CachedRow> rows = new ArrayList<CachedRow>();
+
+        void add(String[] keyValues, CachedRow row) {
+            Map<String, Object> node = root;
+            for (int i = 0; i < keyValues.length - 1; i++) {
+                Map<String, Object> child = (Map<String, Object>) node.get(keyValues[i]);
+                if (child == null) {
+                    child = new HashMap<String, Object>();
+                    node.put(keyValues[i], child);
+                }
+                node = child;
+            }
+            String lastKey = keyValues.length == 0 ? null : keyValues[keyValues.length - 1];
+            List<Integer> leaf = (List<Integer>) node.get(lastKey);
+            if (leaf == null) {
+                leaf = new ArrayList<Integer>();
+                node.put(lastKey, leaf);
+            }
+            leaf.add(rows.size());
+            rows.add(row);
+        }
+
+        List<CachedRow> find(String[] keyValues) {
+            List<List<Integer>> leaves = new ArrayList<List<Integer>>();
+            collect(root, keyValues, 0, leaves);
+
+            List<CachedRow> found = new ArrayList<CachedRow>();
+            if (leaves.size() == 1) {
+                for (Integer index : leaves.get(0)) {
+                    found.add(rows.get(index));
+                }
+            } else if (leaves.size() > 1) {
+                List<Integer> indexes = new ArrayList<Integer>();
+                for (List<Integer> leaf : leaves) {
+                    indexes.addAll(leaf);
+                }
+                Collections.sort(indexes);
+                for (Integer index : indexes) {
+                    found.add(rows.get(index));
+                }
+            }
+            return found;
+        }
+
+        private void collect(Map<String, Object> node, String[] keyValues, int level, List<List<Integer>> leaves) {
+            boolean lastLevel = level >= keyValues.length - 1;
+            String wanted = keyValues.length == 0 ? null : keyValues[level];
+            Collection<Object> children;
+            if (wanted == null) {
+                children = node.values();
+            } else {
+                Object child = node.get(wanted);
+                if (child == null) {
+                    return;
+                }
+                children = Collections.singletonList(child);
+            }
+
+            for (Object child : children) {
+                if (lastLevel) {
+                    leaves.add((List<Integer>) child);
+                } else {
+                    collect((Map<String, Object>) child, keyValues, level + 1, leaves);
+                }
+            }
+        }
+
+        void clear() {
+            root.clear();
+            rows.clear();
         }
     }
 
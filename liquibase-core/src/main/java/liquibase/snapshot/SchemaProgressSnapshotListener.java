@@ -0,0 +1,66 @@
+package liquibase.snapshot;
+
+import liquibase.database.Database;
+import liquibase.logging.LogFactory;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Schema;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logs when each schema snapshot starts and finishes, with the number of objects found in it.
+ * Safe to use when schemas are snapshotted in parallel.
+ */
+public class SchemaProgressSnapshotListener implements SnapshotListener {
+
+    private final Map<String, AtomicInteger> objectCounts = new ConcurrentHashMap<String, AtomicInteger>();
+    private final Set<String> finishedSchemas = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    @Override
+    public void willSnapshot(DatabaseObject example, Database database) {
+        if (example instanceof Schema) {
+            LogFactory.getLogger().info("Snapshotting schema " + example);
+        }
+    }
+
+    @Override
+    public void finishedSnapshot(DatabaseObject example, DatabaseObject snapshot, Database database) {
+        if (snapshot instanceof Schema) {
+            finishedSchemas.add(snapshot.toString());
+            LogFactory.getLogger().info("Finished snapshot of schema " + snapshot + ": " + getObjectCount(snapshot.toString()) + " objects");
+        } else if (snapshot != null && snapshot.getSchema() != null) {
+            getCounter(snapshot.getSchema().toString()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of objects found so far in the given schema, as returned by {@link Schema#toString()}.
+     */
+    public int getObjectCount(String schema) {
+        AtomicInteger counter = objectCounts.get(schema);
+        if (counter == null) {
+            return 0;
+        }
+        return counter.get();
+    }
+
+    public Set<String> getFinishedSchemas() {
+        return Collections.unmodifiableSet(finishedSchemas);
+    }
+
+    private AtomicInteger getCounter(String schema) {
+        AtomicInteger counter = objectCounts.get(schema);
+        if (counter == null) {
+            synchronized (objectCounts) {
+                counter = objectCounts.get(schema);
+                if (counter == null) {
+                    counter = new AtomicInteger();
+                    objectCounts.put(schema, counter);
+                }
+            }
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,16 @@
+package liquibase.snapshot;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+
+/**
+ * Opens additional connections used to snapshot schemas in parallel. Attach instances to {@link liquibase.snapshot.SnapshotControl}
+ */
+public interface SnapshotConnectionFactory {
+
+    /**
+     * Returns a new Database of the same type as the passed database, connected to the same database with its own connection.
+     * The returned database is closed when the snapshot is finished.
+     */
+    Database openDatabase(Database database) throws DatabaseException;
+}
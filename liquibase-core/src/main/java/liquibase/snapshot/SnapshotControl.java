@@ -15,6 +15,14 @@ public class SnapshotControl implements LiquibaseSerializable {
 
     private Set<Class<? extends DatabaseObject>> types;
     private SnapshotListener snapshotListener;
+    private int snapshotThreads = 1;
+    private SnapshotMetrics metrics;
+    private SnapshotConnectionFactory connectionFactory;
+    private List<SnapshotObjectFilter> includeFilters = new ArrayList<SnapshotObjectFilter>();
+    private List<SnapshotObjectFilter> excludeFilters = new ArrayList<SnapshotObjectFilter>();
+
+    private SnapshotControl() {
+    }
 
     public SnapshotControl(Database database) {
         setTypes(DatabaseObjectFactory.getInstance().getStandardTypes(), database);
@@ -40,6 +48,55 @@ public class SnapshotControl implements LiquibaseSerializable {
         this.snapshotListener = snapshotListener;
     }
 
+    public SnapshotMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Collects timings and metadata query counts for snapshots using this control. Null, the default, collects nothing.
+     */
+    public SnapshotControl setMetrics(SnapshotMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Number of schemas snapshotted at the same time, each on its own connection from {@link #getConnectionFactory()}.
+     * Schemas are snapshotted one after another on the main connection if this is 1 or there is no connection factory.
+     */
+    public int getSnapshotThreads() {
+        return snapshotThreads;
+    }
+
+    public SnapshotControl setSnapshotThreads(int snapshotThreads) {
+        this.snapshotThreads = snapshotThreads;
+        return this;
+    }
+
+    public SnapshotConnectionFactory getConnectionFactory() {
+        return connectionFactory;
+    }
+
+    public SnapshotControl setConnectionFactory(SnapshotConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        return this;
+    }
+
+    /**
+     * Returns a copy with its own set of types, so that snapshots running in parallel can add types independently.
+     */
+    SnapshotControl copy() {
+        SnapshotControl copy = new SnapshotControl();
+        copy.types = new HashSet<Class<? extends DatabaseObject>>(this.types);
+        copy.snapshotListener = this.snapshotListener;
+        copy.snapshotThreads = this.snapshotThreads;
+        copy.metrics = this.metrics;
+        copy.connectionFactory = this.connectionFactory;
+        copy.includeFilters = this.includeFilters;
+        copy.excludeFilters = this.excludeFilters;
+        return copy;
+    }
+
     @Override
     public String getSerializedObjectName() {
         return "snapshotControl";
@@ -109,6 +166,97 @@ public class SnapshotControl implements LiquibaseSerializable {
         return types.contains(type);
     }
 
+    /**
+     * Only objects matching one of the include filters that apply to them are snapshotted. Objects no include filter applies to are not restricted.
+     */
+    public SnapshotControl addIncludeFilter(SnapshotObjectFilter filter) {
+        this.includeFilters.add(filter);
+        return this;
+    }
+
+    /**
+     * Objects matching an exclude filter, and the objects inside them, are not snapshotted.
+     */
+    public SnapshotControl addExcludeFilter(SnapshotObjectFilter filter) {
+        this.excludeFilters.add(filter);
+        return this;
+    }
+
+    /**
+     * Adds include filters in the format parsed by {@link SnapshotObjectFilter#parse(String)}.
+     */
+    public SnapshotControl setIncludeObjects(String filter) {
+        this.includeFilters.addAll(SnapshotObjectFilter.parse(filter));
+        return this;
+    }
+
+    /**
+     * Adds exclude filters in the format parsed by {@link SnapshotObjectFilter#parse(String)}.
+     */
+    public SnapshotControl setExcludeObjects(String filter) {
+        this.excludeFilters.addAll(SnapshotObjectFilter.parse(filter));
+        return this;
+    }
+
+    public List<SnapshotObjectFilter> getIncludeFilters() {
+        return Collections.unmodifiableList(includeFilters);
+    }
+
+    public List<SnapshotObjectFilter> getExcludeFilters() {
+        return Collections.unmodifiableList(excludeFilters);
+    }
+
+    /**
+     * Returns true if the object described by the example passes the include and exclude filters.
+     */
+    public boolean shouldInclude(DatabaseObject example) {
+        if (example == null) {
+            return true;
+        }
+        for (SnapshotObjectFilter filter : excludeFilters) {
+            if (filter.matches(example)) {
+                return false;
+            }
+        }
+
+        boolean filtered = false;
+        for (SnapshotObjectFilter filter : includeFilters) {
+            if (filter.appliesTo(example)) {
+                if (filter.matches(example)) {
+                    return true;
+                }
+                filtered = true;
+            }
+        }
+        return !filtered;
+    }
+
+    /**
+     * Returns a SQL LIKE pattern that all included objects of the given type match, so metadata queries can skip other objects.
+     * Returns null if objects of the type are not restricted to a single pattern.
+     * <p>
+     * If ignoreCase is true the pattern is returned in upper case, to be compared with upper cased names.
+     * Otherwise the pattern is compared with names as stored, so patterns of case insensitive filters are only returned if they contain no letters:
+     * converting them to the database's case would still miss quoted names in other cases.
+     */
+    public String getIncludedNamePattern(Class<? extends DatabaseObject> type, boolean ignoreCase) {
+        String pattern = null;
+        for (SnapshotObjectFilter filter : includeFilters) {
+            if (filter.appliesTo(type)) {
+                if (pattern != null || filter.getLikePattern() == null) {
+                    return null;
+                }
+                pattern = filter.getLikePattern();
+                if (ignoreCase) {
+                    pattern = pattern.toUpperCase();
+                } else if (!filter.isCaseSensitive() && !pattern.toUpperCase().equals(pattern.toLowerCase())) {
+                    return null;
+                }
+            }
+        }
+        return pattern;
+    }
+
     @Override
     public void load(ParsedNode parsedNode, ResourceAccessor resourceAccessor) throws ParsedNodeException {
         throw new RuntimeException("TODO");
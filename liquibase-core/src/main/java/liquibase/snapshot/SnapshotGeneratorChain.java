@@ -47,7 +47,16 @@ public class SnapshotGeneratorChain {
             return null;
         }
 
-        T obj = next.snapshot(example, snapshot, this);
+        SnapshotMetrics metrics = snapshot.getSnapshotControl().getMetrics();
+        long startTime = metrics == null ? 0 : metrics.startGenerator();
+        T obj;
+        try {
+            obj = next.snapshot(example, snapshot, this);
+        } finally {
+            if (metrics != null) {
+                metrics.finishGenerator(next.getClass(), startTime);
+            }
+        }
         if (obj != null && obj.getSnapshotId() == null) {
             obj.setSnapshotId(snapshotIdService.generateId());
         }
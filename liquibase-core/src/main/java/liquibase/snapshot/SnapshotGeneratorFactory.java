@@ -10,6 +10,7 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.parser.SnapshotParser;
 import liquibase.parser.SnapshotParserFactory;
 import liquibase.resource.FileSystemResourceAccessor;
+import liquibase.logging.LogFactory;
 import liquibase.servicelocator.ServiceLocator;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Schema;
@@ -17,6 +18,7 @@ import liquibase.structure.core.Table;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class SnapshotGeneratorFactory {
 
@@ -131,7 +133,100 @@ public class SnapshotGeneratorFactory {
             }
             return snapshot;
         }
-        return new JdbcDatabaseSnapshot(examples, database, snapshotControl);
+        SnapshotMetrics metrics = snapshotControl == null ? null : snapshotControl.getMetrics();
+        long startTime = System.nanoTime();
+        try {
+            if (shouldSnapshotInParallel(examples, snapshotControl)) {
+                return createParallelSnapshot(examples, database, snapshotControl);
+            }
+            return new JdbcDatabaseSnapshot(examples, database, snapshotControl);
+        } finally {
+            if (metrics != null) {
+                metrics.recordSnapshot(startTime);
+            }
+        }
+    }
+
+    protected boolean shouldSnapshotInParallel(DatabaseObject[] examples, SnapshotControl snapshotControl) {
+        if (snapshotControl == null || snapshotControl.getSnapshotThreads() < 2 || snapshotControl.getConnectionFactory() == null) {
+            return false;
+        }
+        if (examples == null || examples.length < 2) {
+            return false;
+        }
+        for (DatabaseObject example : examples) {
+            if (!(example instanceof Schema)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Snapshots each schema separately on connections opened by the {@link SnapshotConnectionFactory} and merges the results.
+     * Objects in one schema that reference another schema point to the referenced object found by their own schema snapshot.
+     */
+    protected DatabaseSnapshot createParallelSnapshot(DatabaseObject[] schemas, Database database, SnapshotControl snapshotControl) throws DatabaseException, InvalidExampleException {
+        int threads = Math.min(snapshotControl.getSnapshotThreads(), schemas.length);
+        SnapshotListener snapshotListener = snapshotControl.getSnapshotListener();
+        if (snapshotListener != null) {
+            snapshotListener = new SynchronizedSnapshotListener(snapshotListener);
+        }
+
+        List<Database> openedDatabases = new ArrayList<Database>();
+        final BlockingQueue<Database> availableDatabases = new LinkedBlockingQueue<Database>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                Database schemaDatabase = snapshotControl.getConnectionFactory().openDatabase(database);
+                openedDatabases.add(schemaDatabase);
+                availableDatabases.add(schemaDatabase);
+            }
+
+            List<Future<DatabaseSnapshot>> schemaSnapshots = new ArrayList<Future<DatabaseSnapshot>>();
+            for (final DatabaseObject schema : schemas) {
+                final SnapshotControl schemaSnapshotControl = snapshotControl.copy();
+                schemaSnapshotControl.setSnapshotListener(snapshotListener);
+                schemaSnapshots.add(executor.submit(new Callable<DatabaseSnapshot>() {
+                    @Override
+                    public DatabaseSnapshot call() throws Exception {
+                        Database schemaDatabase = availableDatabases.take();
+                        try {
+                            return new JdbcDatabaseSnapshot(new DatabaseObject[]{schema}, schemaDatabase, schemaSnapshotControl);
+                        } finally {
+                            availableDatabases.add(schemaDatabase);
+                        }
+                    }
+                }));
+            }
+
+            JdbcDatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(null, database, snapshotControl);
+            for (Future<DatabaseSnapshot> schemaSnapshot : schemaSnapshots) {
+                try {
+                    snapshot.merge(schemaSnapshot.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof DatabaseException) {
+                        throw (DatabaseException) e.getCause();
+                    } else if (e.getCause() instanceof InvalidExampleException) {
+                        throw (InvalidExampleException) e.getCause();
+                    }
+                    throw new DatabaseException(e.getCause());
+                } catch (InterruptedException e) {
+                    throw new DatabaseException(e);
+                }
+            }
+            return snapshot;
+        } finally {
+            executor.shutdownNow();
+            for (Database schemaDatabase : openedDatabases) {
+                try {
+                    schemaDatabase.close();
+                    liquibase.executor.ExecutorService.getInstance().clearExecutor(schemaDatabase);
+                } catch (DatabaseException e) {
+                    LogFactory.getLogger().warning("Error closing snapshot connection: " + e.getMessage());
+                }
+            }
+        }
     }
 
     public <T extends DatabaseObject> T createSnapshot(T example, Database database) throws DatabaseException, InvalidExampleException {
@@ -205,4 +300,29 @@ public class SnapshotGeneratorFactory {
         }
 
     }
+
+    /**
+     * Passes calls from parallel schema snapshots to a listener one at a time.
+     */
+    private static class SynchronizedSnapshotListener implements SnapshotListener {
+        private final SnapshotListener delegate;
+
+        private SynchronizedSnapshotListener(SnapshotListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void willSnapshot(DatabaseObject example, Database database) {
+            synchronized (delegate) {
+                delegate.willSnapshot(example, database);
+            }
+        }
+
+        @Override
+        public void finishedSnapshot(DatabaseObject example, DatabaseObject snapshot, Database database) {
+            synchronized (delegate) {
+                delegate.finishedSnapshot(example, snapshot, database);
+            }
+        }
+    }
 }
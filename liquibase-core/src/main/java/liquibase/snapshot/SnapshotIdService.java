@@ -3,10 +3,14 @@ package liquibase.snapshot;
 import liquibase.util.MD5Util;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Generates ids for snapshotted objects. Ids are a prefix unique to this run followed by a counter in base 36, and can be generated from several threads at once.
+ */
 public class SnapshotIdService {
     private static SnapshotIdService instance = new SnapshotIdService();
-    private int nextId = 100;
+    private final AtomicLong nextId = new AtomicLong(100);
     private String base = MD5Util.computeMD5(Long.toString(new Date().getTime())).substring(0, 4);
 
     public static SnapshotIdService getInstance() {
@@ -18,6 +22,6 @@ public class SnapshotIdService {
     }
 
     public String generateId() {
-        return base+Integer.toString(nextId++);
+        return base+Long.toString(nextId.getAndIncrement(), Character.MAX_RADIX);
     }
 }
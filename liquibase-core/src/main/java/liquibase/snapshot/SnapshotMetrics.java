@@ -0,0 +1,302 @@
+package liquibase.snapshot;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.structure.DatabaseObject;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects timings and counters while snapshots run. Attach an instance with {@link SnapshotControl#setMetrics(SnapshotMetrics)};
+ * the same instance can be shared by several snapshots, including schemas snapshotted in parallel.
+ * <p></p>
+ * Generator and object type times are self times: the time spent in a generator does not include the generators it delegates to,
+ * and the time spent on an object does not include the nested objects included with it.
+ * Metadata calls are the queries made through {@link ResultSetCache}, counted by call name such as "getColumns".
+ */
+public class SnapshotMetrics implements SnapshotMetricsMBean {
+
+    private final AtomicLong snapshotCount = new AtomicLong();
+    private final AtomicLong snapshotTime = new AtomicLong();
+
+    private final ConcurrentMap<String, Counters> generators = new ConcurrentHashMap<String, Counters>();
+    private final ConcurrentMap<String, Counters> objectTypes = new ConcurrentHashMap<String, Counters>();
+    private final ConcurrentMap<String, Counters> metadataCalls = new ConcurrentHashMap<String, Counters>();
+
+    private final TimingStack generatorTimings = new TimingStack();
+    private final TimingStack objectTimings = new TimingStack();
+
+    private ObjectName objectName;
+
+    /**
+     * Called before a generator runs. Pass the returned value to {@link #finishGenerator(Class, long)}.
+     */
+    public long startGenerator() {
+        return generatorTimings.start();
+    }
+
+    public void finishGenerator(Class<? extends SnapshotGenerator> generator, long startTime) {
+        Counters counters = getCounters(generators, generator.getName());
+        counters.calls.incrementAndGet();
+        counters.time.addAndGet(generatorTimings.finish(startTime));
+    }
+
+    /**
+     * Called before an object is snapshotted. Pass the returned value to {@link #finishObject(Class, boolean, long)}.
+     */
+    public long startObject() {
+        return objectTimings.start();
+    }
+
+    public void finishObject(Class<? extends DatabaseObject> type, boolean found, long startTime) {
+        Counters counters = getCounters(objectTypes, type.getName());
+        counters.calls.incrementAndGet();
+        if (found) {
+            counters.found.incrementAndGet();
+        }
+        counters.time.addAndGet(objectTimings.finish(startTime));
+    }
+
+    public void recordCacheHit(String metadataCall) {
+        getCounters(metadataCalls, metadataCall).cacheHits.incrementAndGet();
+    }
+
+    public void recordQuery(String metadataCall, boolean bulk, int rows, long startTime) {
+        Counters counters = getCounters(metadataCalls, metadataCall);
+        if (bulk) {
+            counters.bulkQueries.incrementAndGet();
+        } else {
+            counters.calls.incrementAndGet();
+        }
+        counters.rows.addAndGet(rows);
+        counters.time.addAndGet(System.nanoTime() - startTime);
+    }
+
+    public void recordSnapshot(long startTime) {
+        snapshotCount.incrementAndGet();
+        snapshotTime.addAndGet(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public long getSnapshotCount() {
+        return snapshotCount.get();
+    }
+
+    @Override
+    public long getSnapshotTime() {
+        return toMillis(snapshotTime.get());
+    }
+
+    @Override
+    public long getObjectsSnapshotted() {
+        long total = 0;
+        for (Counters counters : objectTypes.values()) {
+            total += counters.found.get();
+        }
+        return total;
+    }
+
+    @Override
+    public long getMetadataQueries() {
+        return getSingleQueries() + getBulkQueries();
+    }
+
+    @Override
+    public long getBulkQueries() {
+        long total = 0;
+        for (Counters counters : metadataCalls.values()) {
+            total += counters.bulkQueries.get();
+        }
+        return total;
+    }
+
+    @Override
+    public long getSingleQueries() {
+        long total = 0;
+        for (Counters counters : metadataCalls.values()) {
+            total += counters.calls.get();
+        }
+        return total;
+    }
+
+    @Override
+    public long getCacheHits() {
+        long total = 0;
+        for (Counters counters : metadataCalls.values()) {
+            total += counters.cacheHits.get();
+        }
+        return total;
+    }
+
+    @Override
+    public long getRowsRead() {
+        long total = 0;
+        for (Counters counters : metadataCalls.values()) {
+            total += counters.rows.get();
+        }
+        return total;
+    }
+
+    @Override
+    public long getMetadataQueryTime() {
+        long total = 0;
+        for (Counters counters : metadataCalls.values()) {
+            total += counters.time.get();
+        }
+        return toMillis(total);
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"snapshotCount\": ").append(getSnapshotCount()).append(",\n");
+        json.append("  \"snapshotTime\": ").append(getSnapshotTime()).append(",\n");
+        json.append("  \"objectsSnapshotted\": ").append(getObjectsSnapshotted()).append(",\n");
+        json.append("  \"metadataQueries\": ").append(getMetadataQueries()).append(",\n");
+        json.append("  \"cacheHits\": ").append(getCacheHits()).append(",\n");
+        json.append("  \"rowsRead\": ").append(getRowsRead()).append(",\n");
+
+        json.append("  \"generators\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Counters> entry : new TreeMap<String, Counters>(generators).entrySet()) {
+            Counters counters = entry.getValue();
+            json.append(separator).append("    \"").append(entry.getKey()).append("\": {")
+                    .append("\"calls\": ").append(counters.calls.get())
+                    .append(", \"time\": ").append(toMillis(counters.time.get()))
+                    .append("}");
+            separator = ",\n";
+        }
+        json.append("\n  },\n");
+
+        json.append("  \"objectTypes\": {");
+        separator = "\n";
+        for (Map.Entry<String, Counters> entry : new TreeMap<String, Counters>(objectTypes).entrySet()) {
+            Counters counters = entry.getValue();
+            json.append(separator).append("    \"").append(entry.getKey()).append("\": {")
+                    .append("\"lookups\": ").append(counters.calls.get())
+                    .append(", \"found\": ").append(counters.found.get())
+                    .append(", \"time\": ").append(toMillis(counters.time.get()))
+                    .append("}");
+            separator = ",\n";
+        }
+        json.append("\n  },\n");
+
+        json.append("  \"metadataCalls\": {");
+        separator = "\n";
+        for (Map.Entry<String, Counters> entry : new TreeMap<String, Counters>(metadataCalls).entrySet()) {
+            Counters counters = entry.getValue();
+            json.append(separator).append("    \"").append(entry.getKey()).append("\": {")
+                    .append("\"singleQueries\": ").append(counters.calls.get())
+                    .append(", \"bulkQueries\": ").append(counters.bulkQueries.get())
+                    .append(", \"cacheHits\": ").append(counters.cacheHits.get())
+                    .append(", \"rowsRead\": ").append(counters.rows.get())
+                    .append(", \"time\": ").append(toMillis(counters.time.get()))
+                    .append("}");
+            separator = ",\n";
+        }
+        json.append("\n  }\n");
+
+        return json.append("}\n").toString();
+    }
+
+    @Override
+    public void reset() {
+        snapshotCount.set(0);
+        snapshotTime.set(0);
+        generators.clear();
+        objectTypes.clear();
+        metadataCalls.clear();
+    }
+
+    /**
+     * Registers this instance with the platform MBean server as liquibase:type=SnapshotMetrics,name=<i>name</i>.
+     */
+    public synchronized ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("liquibase:type=SnapshotMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        } catch (JMException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+
+    private Counters getCounters(ConcurrentMap<String, Counters> map, String key) {
+        Counters counters = map.get(key);
+        if (counters == null) {
+            counters = new Counters();
+            Counters existing = map.putIfAbsent(key, counters);
+            if (existing != null) {
+                counters = existing;
+            }
+        }
+        return counters;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static class Counters {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong found = new AtomicLong();
+        private final AtomicLong bulkQueries = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong time = new AtomicLong();
+    }
+
+    /**
+     * Tracks, per thread, the time spent in nested calls so that they can be subtracted from the caller's time.
+     */
+    private static class TimingStack extends ThreadLocal<LinkedList<long[]>> {
+        @Override
+        protected LinkedList<long[]> initialValue() {
+            return new LinkedList<long[]>();
+        }
+
+        private long start() {
+            get().push(new long[1]);
+            return System.nanoTime();
+        }
+
+        /**
+         * Returns the self time of the call started at startTime and adds its total time to the enclosing call.
+         */
+        private long finish(long startTime) {
+            long elapsed = System.nanoTime() - startTime;
+            LinkedList<long[]> stack = get();
+            long nested = stack.pop()[0];
+            if (!stack.isEmpty()) {
+                stack.peek()[0] += elapsed;
+            }
+            return elapsed - nested;
+        }
+    }
+}
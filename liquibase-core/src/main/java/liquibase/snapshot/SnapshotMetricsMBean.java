@@ -0,0 +1,32 @@
+package liquibase.snapshot;
+
+/**
+ * JMX view of {@link SnapshotMetrics}. Times are in milliseconds.
+ */
+public interface SnapshotMetricsMBean {
+
+    long getSnapshotCount();
+
+    long getSnapshotTime();
+
+    long getObjectsSnapshotted();
+
+    long getMetadataQueries();
+
+    long getBulkQueries();
+
+    long getSingleQueries();
+
+    long getCacheHits();
+
+    long getRowsRead();
+
+    long getMetadataQueryTime();
+
+    /**
+     * Returns all metrics, including the times by generator, object type and metadata call, as JSON.
+     */
+    String getReport();
+
+    void reset();
+}
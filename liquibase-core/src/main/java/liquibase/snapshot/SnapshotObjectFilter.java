@@ -0,0 +1,170 @@
+package liquibase.snapshot;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.*;
+import liquibase.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Name pattern used by {@link SnapshotControl} to include or exclude objects from a snapshot.
+ * A filter without a type applies to all objects except catalogs and schemas. Objects inside a table or view, such as columns and indexes,
+ * match a filter when their table or view matches it.
+ */
+public class SnapshotObjectFilter {
+
+    /**
+     * Regular expressions made of only name characters, "." and ".*", which translate directly to LIKE patterns.
+     * "$" is left out since it is an end anchor in a regular expression but a name character in some databases.
+     */
+    private static final Pattern SIMPLE_REGEX = Pattern.compile("(?:[\\w#]|\\.\\*|\\.)*");
+
+    private final Class<? extends DatabaseObject> objectType;
+    private final Pattern namePattern;
+    private final String likePattern;
+
+    protected SnapshotObjectFilter(Class<? extends DatabaseObject> objectType, Pattern namePattern, String likePattern) {
+        this.objectType = objectType;
+        this.namePattern = namePattern;
+        this.likePattern = likePattern;
+    }
+
+    /**
+     * Creates a filter matching names against the given regular expression.
+     */
+    public static SnapshotObjectFilter regex(Class<? extends DatabaseObject> objectType, String regex) {
+        String likePattern = null;
+        if (SIMPLE_REGEX.matcher(regex).matches()) {
+            likePattern = regex.replace(".*", "%").replace(".", "_");
+        }
+        return new SnapshotObjectFilter(objectType, Pattern.compile(regex), likePattern);
+    }
+
+    /**
+     * Creates a filter matching names against the given SQL LIKE pattern, case insensitively.
+     */
+    public static SnapshotObjectFilter like(Class<? extends DatabaseObject> objectType, String likePattern) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : likePattern.toCharArray()) {
+            if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append(".");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return new SnapshotObjectFilter(objectType, Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE), likePattern);
+    }
+
+    /**
+     * Parses a comma separated list of regular expressions, each optionally prefixed with an object type as in "table:ORDERS_.*".
+     * This is the same format used by {@link liquibase.diff.output.StandardObjectChangeFilter}.
+     */
+    public static List<SnapshotObjectFilter> parse(String filter) {
+        List<SnapshotObjectFilter> filters = new ArrayList<SnapshotObjectFilter>();
+        filter = StringUtils.trimToNull(filter);
+        if (filter == null) {
+            return filters;
+        }
+
+        for (String subfilter : filter.split("\\s*,\\s*")) {
+            String[] split = subfilter.split(":");
+            if (split.length == 1) {
+                filters.add(regex(null, split[0]));
+            } else {
+                String className = "liquibase.structure.core." + StringUtils.upperCaseFirst(split[0]);
+                try {
+                    filters.add(regex((Class<? extends DatabaseObject>) Class.forName(className), split[1]));
+                } catch (ClassNotFoundException e) {
+                    throw new UnexpectedLiquibaseException(e);
+                }
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Returns false if names are matched regardless of case, as for {@link #like(Class, String)} filters.
+     */
+    public boolean isCaseSensitive() {
+        return (namePattern.flags() & Pattern.CASE_INSENSITIVE) == 0;
+    }
+
+    public Class<? extends DatabaseObject> getObjectType() {
+        return objectType;
+    }
+
+    /**
+     * Returns a SQL LIKE pattern matching at least every name this filter matches, or null if there is none.
+     */
+    public String getLikePattern() {
+        return likePattern;
+    }
+
+    /**
+     * Returns true if this filter applies to objects of the given type, not counting the table or view they are in.
+     */
+    public boolean appliesTo(Class<? extends DatabaseObject> type) {
+        if (objectType == null) {
+            return !Catalog.class.isAssignableFrom(type) && !Schema.class.isAssignableFrom(type);
+        }
+        return objectType.isAssignableFrom(type);
+    }
+
+    /**
+     * Returns true if this filter applies to the given object or the table or view it is in.
+     */
+    public boolean appliesTo(DatabaseObject object) {
+        while (object != null) {
+            if (appliesTo(object.getClass())) {
+                return true;
+            }
+            object = getContainer(object);
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the name of the given object, or of the table or view it is in, matches this filter.
+     */
+    public boolean matches(DatabaseObject object) {
+        while (object != null) {
+            if (appliesTo(object.getClass()) && object.getName() != null && namePattern.matcher(object.getName()).matches()) {
+                return true;
+            }
+            object = getContainer(object);
+        }
+        return false;
+    }
+
+    protected DatabaseObject getContainer(DatabaseObject object) {
+        if (object instanceof Column) {
+            return ((Column) object).getRelation();
+        }
+        if (object instanceof Index) {
+            return ((Index) object).getTable();
+        }
+        if (object instanceof ForeignKey) {
+            return ((ForeignKey) object).getForeignKeyTable();
+        }
+        if (object instanceof PrimaryKey) {
+            return ((PrimaryKey) object).getTable();
+        }
+        if (object instanceof UniqueConstraint) {
+            return ((UniqueConstraint) object).getTable();
+        }
+        if (object instanceof Data) {
+            return ((Data) object).getTable();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return (objectType == null ? "" : objectType.getSimpleName() + ":") + namePattern.pattern();
+    }
+}
@@ -43,7 +43,7 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
 
             if (columnMetadataRs.size() > 0) {
                 CachedRow data = columnMetadataRs.get(0);
-                Column column = readColumn(data, relation, database);
+                Column column = readColumn(data, relation, database, databaseMetaData);
 
                 if (column != null && database instanceof MSSQLDatabase && database.getDatabaseMajorVersion() >= 8) {
                     String sql;
@@ -114,6 +114,14 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
     }
 
     protected Column readColumn(CachedRow columnMetadataResultSet, Relation table, Database database) throws SQLException, DatabaseException {
+        return readColumn(columnMetadataResultSet, table, database, null);
+    }
+
+    /**
+     * Reads the column from the getColumns() metadata. If the driver does not report IS_AUTOINCREMENT, auto-increment columns are looked up
+     * with one query per schema through the given metadata, or by selecting from the column if there is no such query for the database.
+     */
+    protected Column readColumn(CachedRow columnMetadataResultSet, Relation table, Database database, JdbcDatabaseSnapshot.CachingDatabaseMetaData databaseMetaData) throws SQLException, DatabaseException {
         String rawTableName = (String) columnMetadataResultSet.get("TABLE_NAME");
         String rawColumnName = (String) columnMetadataResultSet.get("COLUMN_NAME");
         String rawSchemaName = StringUtils.trimToNull((String) columnMetadataResultSet.get("TABLE_SCHEM"));
@@ -166,43 +174,18 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
                         throw new UnexpectedLiquibaseException("Unknown is_autoincrement value: '" + isAutoincrement+"'");
                     }
                 } else {
-                    //probably older version of java, need to select from the column to find out if it is auto-increment
-                    String selectStatement;
-                    if (database.getDatabaseProductName().startsWith("DB2 UDB for AS/400")) {
-                        selectStatement = "select " + database.escapeColumnName(rawCatalogName, rawSchemaName, rawTableName, rawColumnName) + " from " + rawSchemaName + "." + rawTableName + " where 0=1";
-                        LogFactory.getLogger().debug("rawCatalogName : <" + rawCatalogName + ">");
-                        LogFactory.getLogger().debug("rawSchemaName : <" + rawSchemaName + ">");
-                        LogFactory.getLogger().debug("rawTableName : <" + rawTableName + ">");
-                        LogFactory.getLogger().debug("raw selectStatement : <" + selectStatement + ">");
-                        
-                        
+                    List<CachedRow> autoIncrementColumns = null;
+                    if (databaseMetaData != null) {
+                        autoIncrementColumns = databaseMetaData.getAutoIncrementColumns(rawCatalogName, rawSchemaName, rawTableName, rawColumnName);
                     }
-                    else{
-                        selectStatement = "select " + database.escapeColumnName(rawCatalogName, rawSchemaName, rawTableName, rawColumnName) + " from " + database.escapeTableName(rawCatalogName, rawSchemaName, rawTableName) + " where 0=1";
-                    }
-                    LogFactory.getLogger().debug("Checking "+rawTableName+"."+rawCatalogName+" for auto-increment with SQL: '"+selectStatement+"'");
-                    Connection underlyingConnection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
-                    Statement statement = null;
-                    ResultSet columnSelectRS = null;
-
-                    try {
-                        statement = underlyingConnection.createStatement();
-                        columnSelectRS = statement.executeQuery(selectStatement);
-                        if (columnSelectRS.getMetaData().isAutoIncrement(1)) {
-                            column.setAutoIncrementInformation(new Column.AutoIncrementInformation());
-                        } else {
+                    if (autoIncrementColumns != null) {
+                        if (autoIncrementColumns.isEmpty()) {
                             column.setAutoIncrementInformation(null);
+                        } else {
+                            column.setAutoIncrementInformation(new Column.AutoIncrementInformation());
                         }
-                    } finally {
-                        try {
-                            if (statement != null) {
-                                statement.close();
-                            }
-                        } catch (SQLException ignore) {
-                        }
-                        if (columnSelectRS != null) {
-                            columnSelectRS.close();
-                        }
+                    } else {
+                        column.setAutoIncrementInformation(readAutoIncrementFromColumn(rawCatalogName, rawSchemaName, rawTableName, rawColumnName, database));
                     }
                 }
             }
@@ -216,6 +199,50 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
         return column;
     }
 
+    /**
+     * Selects from the column to find out if it is auto-increment, for older drivers and databases without a catalog query for it.
+     */
+    protected Column.AutoIncrementInformation readAutoIncrementFromColumn(String rawCatalogName, String rawSchemaName, String rawTableName, String rawColumnName, Database database) throws SQLException, DatabaseException {
+        //probably older version of java, need to select from the column to find out if it is auto-increment
+        String selectStatement;
+        if (database.getDatabaseProductName().startsWith("DB2 UDB for AS/400")) {
+            selectStatement = "select " + database.escapeColumnName(rawCatalogName, rawSchemaName, rawTableName, rawColumnName) + " from " + rawSchemaName + "." + rawTableName + " where 0=1";
+            LogFactory.getLogger().debug("rawCatalogName : <" + rawCatalogName + ">");
+            LogFactory.getLogger().debug("rawSchemaName : <" + rawSchemaName + ">");
+            LogFactory.getLogger().debug("rawTableName : <" + rawTableName + ">");
+            LogFactory.getLogger().debug("raw selectStatement : <" + selectStatement + ">");
+
+
+        }
+        else{
+            selectStatement = "select " + database.escapeColumnName(rawCatalogName, rawSchemaName, rawTableName, rawColumnName) + " from " + database.escapeTableName(rawCatalogName, rawSchemaName, rawTableName) + " where 0=1";
+        }
+        LogFactory.getLogger().debug("Checking "+rawTableName+"."+rawCatalogName+" for auto-increment with SQL: '"+selectStatement+"'");
+        Connection underlyingConnection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        Statement statement = null;
+        ResultSet columnSelectRS = null;
+
+        try {
+            statement = underlyingConnection.createStatement();
+            columnSelectRS = statement.executeQuery(selectStatement);
+            if (columnSelectRS.getMetaData().isAutoIncrement(1)) {
+                return new Column.AutoIncrementInformation();
+            } else {
+                return null;
+            }
+        } finally {
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException ignore) {
+            }
+            if (columnSelectRS != null) {
+                columnSelectRS.close();
+            }
+        }
+    }
+
     protected DataType readDataType(CachedRow columnMetadataResultSet, Column column, Database database) throws SQLException {
 
         if (database instanceof OracleDatabase) {
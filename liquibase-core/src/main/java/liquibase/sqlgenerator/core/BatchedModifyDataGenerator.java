@@ -0,0 +1,24 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.BatchedModifyDataStatement;
+
+/**
+ * Generates the unbatched SQL of a {@link BatchedModifyDataStatement} for validation and affected object lookups.
+ * The statement itself is executed range by range through {@link BatchedModifyDataStatement#execute(liquibase.database.PreparedStatementFactory)}.
+ */
+public class BatchedModifyDataGenerator extends AbstractSqlGenerator<BatchedModifyDataStatement> {
+    @Override
+    public ValidationErrors validate(BatchedModifyDataStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return SqlGeneratorFactory.getInstance().validate(statement.getChange().generateModifyStatement(database, statement.getChange().getWhere()), database);
+    }
+
+    @Override
+    public Sql[] generateSql(BatchedModifyDataStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return SqlGeneratorFactory.getInstance().generateSql(statement.getChange().generateModifyStatement(database, statement.getChange().getWhere()), database);
+    }
+}
@@ -41,6 +41,12 @@ public class CreateIndexGenerator extends AbstractSqlGenerator<CreateIndexStatem
             }
         }
 
+        if (createIndexStatement.isOnline() != null && createIndexStatement.isOnline()) {
+            if (!(database instanceof MSSQLDatabase || database instanceof OracleDatabase || database instanceof PostgresDatabase || database instanceof MockDatabase)) {
+                warnings.addWarning("Creating online index not supported with "+database);
+            }
+        }
+
         return warnings;
     }
 
@@ -112,6 +118,10 @@ public class CreateIndexGenerator extends AbstractSqlGenerator<CreateIndexStatem
 	    }
 	    buffer.append(")");
 
+        if (database instanceof MSSQLDatabase && statement.isOnline() != null && statement.isOnline()) {
+            buffer.append(" WITH (ONLINE = ON)");
+        }
+
 	    if (StringUtils.trimToNull(statement.getTablespace()) != null && database.supportsTablespaces()) {
 		    if (database instanceof MSSQLDatabase || database instanceof SybaseASADatabase) {
 			    buffer.append(" ON ").append(statement.getTablespace());
@@ -126,6 +136,10 @@ public class CreateIndexGenerator extends AbstractSqlGenerator<CreateIndexStatem
             buffer.append(" CLUSTER");
         }
 
+        if (database instanceof OracleDatabase && statement.isOnline() != null && statement.isOnline()) {
+            buffer.append(" ONLINE");
+        }
+
         return new Sql[] {new UnparsedSql(buffer.toString(), getAffectedIndex(statement))};
     }
 
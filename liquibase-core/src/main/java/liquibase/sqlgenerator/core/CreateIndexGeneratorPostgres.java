@@ -49,6 +49,9 @@ public class CreateIndexGeneratorPostgres extends CreateIndexGenerator {
 		    buffer.append("UNIQUE ");
 	    }
 	    buffer.append("INDEX ");
+	    if (statement.isOnline() != null && statement.isOnline()) {
+		    buffer.append("CONCURRENTLY ");
+	    }
 
 	    if (statement.getIndexName() != null) {
             // for postgres setting the schema name for the index name is invalid
@@ -0,0 +1,58 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.GetIndexBuildProgressStatement;
+import liquibase.structure.core.Table;
+
+/**
+ * Reads index build progress from pg_stat_progress_create_index on PostgreSQL 12+ and V$SESSION_LONGOPS on Oracle.
+ */
+public class GetIndexBuildProgressGenerator extends AbstractSqlGenerator<GetIndexBuildProgressStatement> {
+
+    @Override
+    public boolean supports(GetIndexBuildProgressStatement statement, Database database) {
+        return database instanceof PostgresDatabase || database instanceof OracleDatabase;
+    }
+
+    @Override
+    public ValidationErrors validate(GetIndexBuildProgressStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("tableName", statement.getTableName());
+        return validationErrors;
+    }
+
+    @Override
+    public Sql[] generateSql(GetIndexBuildProgressStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        CatalogAndSchema schema = new CatalogAndSchema(statement.getCatalogName(), statement.getSchemaName()).customize(database);
+        String tableName = database.correctObjectName(statement.getTableName(), Table.class);
+
+        String sql;
+        if (database instanceof OracleDatabase) {
+            String schemaName = schema.getSchemaName() == null ? schema.getCatalogName() : schema.getSchemaName();
+            if (schemaName == null) {
+                schemaName = database.getDefaultSchemaName();
+            }
+            String target;
+            if (schemaName == null) {
+                target = "TARGET LIKE '%." + database.escapeStringForDatabase(tableName) + "'";
+            } else {
+                target = "TARGET='" + database.escapeStringForDatabase(schemaName + "." + tableName) + "'";
+            }
+            sql = "SELECT SOFAR, TOTALWORK FROM V$SESSION_LONGOPS WHERE " + target + " AND SOFAR < TOTALWORK";
+        } else {
+            sql = "SELECT p.blocks_done, p.blocks_total FROM pg_stat_progress_create_index p " +
+                    "JOIN pg_class c ON c.oid=p.relid " +
+                    "JOIN pg_namespace n ON n.oid=c.relnamespace " +
+                    "WHERE c.relname='" + database.escapeStringForDatabase(tableName) + "' AND n.nspname=" + (schema.getSchemaName() == null ? "current_schema()" : "'" + database.escapeStringForDatabase(schema.getSchemaName()) + "'");
+        }
+
+        return new Sql[]{new UnparsedSql(sql)};
+    }
+}
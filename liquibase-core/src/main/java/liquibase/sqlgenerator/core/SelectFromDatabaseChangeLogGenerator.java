@@ -44,6 +44,14 @@ public class SelectFromDatabaseChangeLogGenerator extends AbstractSqlGenerator<S
                 sql += " WHERE "+database.escapeColumnName(null, null, null, "TAG")+"='" + ((SelectFromDatabaseChangeLogStatement.ByTag) whereClause).getTagName() + "'";
             } else if (whereClause instanceof SelectFromDatabaseChangeLogStatement.ByNotNullCheckSum) {
                     sql += " WHERE MD5SUM IS NOT NULL";
+            } else if (whereClause instanceof SelectFromDatabaseChangeLogStatement.ByFileNamePrefix) {
+                final String fileNameColumn = database.escapeColumnName(null, null, null, "FILENAME");
+                sql += " WHERE (" + StringUtils.join(((SelectFromDatabaseChangeLogStatement.ByFileNamePrefix) whereClause).getPrefixes(), " OR ", new StringUtils.StringUtilsFormatter<String>() {
+                    @Override
+                    public String toString(String prefix) {
+                        return fileNameColumn + " LIKE '" + database.escapeStringForDatabase(prefix) + "%'";
+                    }
+                }) + ")";
             } else {
                 throw new UnexpectedLiquibaseException("Unknown where clause type: " + whereClause.getClass().getName());
             }
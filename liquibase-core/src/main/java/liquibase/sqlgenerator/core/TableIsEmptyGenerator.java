@@ -0,0 +1,54 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.*;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.TableIsEmptyStatement;
+
+public class TableIsEmptyGenerator extends AbstractSqlGenerator<TableIsEmptyStatement> {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    @Override
+    public boolean supports(TableIsEmptyStatement statement, Database database) {
+        return true;
+    }
+
+    @Override
+    public ValidationErrors validate(TableIsEmptyStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("tableName", statement.getTableName());
+        return validationErrors;
+    }
+
+    @Override
+    public Sql[] generateSql(TableIsEmptyStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        String sql = "SELECT CASE WHEN EXISTS (SELECT 1 FROM " + database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()) + ") THEN 0 ELSE 1 END" + getSingleRowFromClause(database);
+        return new Sql[]{new UnparsedSql(sql)};
+    }
+
+    /**
+     * Returns the FROM clause needed by databases that do not allow a SELECT without a table.
+     * The clause must return exactly one row.
+     */
+    protected String getSingleRowFromClause(Database database) {
+        if (database instanceof OracleDatabase || "maxdb".equals(database.getShortName())) { //MaxDB support is provided by an extension
+            return " FROM DUAL";
+        } else if (database instanceof DB2Database || database instanceof DerbyDatabase) {
+            return " FROM SYSIBM.SYSDUMMY1";
+        } else if (database instanceof FirebirdDatabase) {
+            return " FROM RDB$DATABASE";
+        } else if (database instanceof HsqlDatabase) {
+            return " FROM (VALUES(0))";
+        } else if (database instanceof InformixDatabase) {
+            return " FROM systables WHERE tabid = 1";
+        }
+        return "";
+    }
+}
@@ -0,0 +1,40 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.statement.core.TableRowCountStatement;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Table;
+
+public class TableRowCountGeneratorMSSQL extends TableRowCountGenerator {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(TableRowCountStatement statement, Database database) {
+        return database instanceof MSSQLDatabase;
+    }
+
+    @Override
+    protected String generateCountSql(TableRowCountStatement statement, Database database) {
+        if (!statement.isApproximate()) {
+            return super.generateCountSql(statement, database);
+        }
+        CatalogAndSchema schema = new CatalogAndSchema(statement.getCatalogName(), statement.getSchemaName()).customize(database);
+        String catalogPrefix = "";
+        if (statement.getCatalogName() != null) {
+            catalogPrefix = database.escapeObjectName(statement.getCatalogName(), Catalog.class) + ".";
+        }
+
+        return "SELECT SUM(p.rows) FROM " + catalogPrefix + "sys.partitions p "
+                + "JOIN " + catalogPrefix + "sys.tables t ON t.object_id = p.object_id "
+                + "JOIN " + catalogPrefix + "sys.schemas s ON s.schema_id = t.schema_id "
+                + "WHERE p.index_id IN (0, 1) "
+                + "AND t.name = '" + database.escapeStringForDatabase(database.correctObjectName(statement.getTableName(), Table.class)) + "' "
+                + "AND s.name = '" + database.escapeStringForDatabase(schema.getSchemaName()) + "'";
+    }
+}
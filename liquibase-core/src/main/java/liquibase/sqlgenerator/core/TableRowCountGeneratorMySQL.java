@@ -0,0 +1,32 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.statement.core.TableRowCountStatement;
+import liquibase.structure.core.Table;
+
+public class TableRowCountGeneratorMySQL extends TableRowCountGenerator {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(TableRowCountStatement statement, Database database) {
+        return database instanceof MySQLDatabase;
+    }
+
+    @Override
+    protected String generateCountSql(TableRowCountStatement statement, Database database) {
+        if (!statement.isApproximate()) {
+            return super.generateCountSql(statement, database);
+        }
+        CatalogAndSchema schema = new CatalogAndSchema(statement.getCatalogName(), statement.getSchemaName()).customize(database);
+
+        return "SELECT TABLE_ROWS FROM information_schema.tables "
+                + "WHERE TABLE_SCHEMA = '" + database.escapeStringForDatabase(schema.getCatalogName()) + "' "
+                + "AND TABLE_NAME = '" + database.escapeStringForDatabase(database.correctObjectName(statement.getTableName(), Table.class)) + "'";
+    }
+}
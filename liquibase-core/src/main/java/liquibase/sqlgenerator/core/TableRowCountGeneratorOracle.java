@@ -0,0 +1,33 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.statement.core.TableRowCountStatement;
+import liquibase.structure.core.Table;
+
+public class TableRowCountGeneratorOracle extends TableRowCountGenerator {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(TableRowCountStatement statement, Database database) {
+        return database instanceof OracleDatabase;
+    }
+
+    @Override
+    protected String generateCountSql(TableRowCountStatement statement, Database database) {
+        if (!statement.isApproximate()) {
+            return super.generateCountSql(statement, database);
+        }
+        CatalogAndSchema schema = new CatalogAndSchema(statement.getCatalogName(), statement.getSchemaName()).customize(database);
+        String owner = schema.getCatalogName() == null ? schema.getSchemaName() : schema.getCatalogName();
+
+        return "SELECT NUM_ROWS FROM ALL_TABLES "
+                + "WHERE OWNER = '" + database.escapeStringForDatabase(owner) + "' "
+                + "AND TABLE_NAME = '" + database.escapeStringForDatabase(database.correctObjectName(statement.getTableName(), Table.class)) + "'";
+    }
+}
@@ -0,0 +1,33 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.statement.core.TableRowCountStatement;
+import liquibase.structure.core.Table;
+
+public class TableRowCountGeneratorPostgres extends TableRowCountGenerator {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(TableRowCountStatement statement, Database database) {
+        return database instanceof PostgresDatabase;
+    }
+
+    @Override
+    protected String generateCountSql(TableRowCountStatement statement, Database database) {
+        if (!statement.isApproximate()) {
+            return super.generateCountSql(statement, database);
+        }
+        CatalogAndSchema schema = new CatalogAndSchema(statement.getCatalogName(), statement.getSchemaName()).customize(database);
+
+        return "SELECT CAST(c.reltuples AS BIGINT) FROM pg_catalog.pg_class c "
+                + "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+                + "WHERE c.relname = '" + database.escapeStringForDatabase(database.correctObjectName(statement.getTableName(), Table.class)) + "' "
+                + "AND n.nspname = '" + database.escapeStringForDatabase(schema.getSchemaName()) + "'";
+    }
+}
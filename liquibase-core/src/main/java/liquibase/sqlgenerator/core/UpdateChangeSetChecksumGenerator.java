@@ -1,5 +1,6 @@
 package liquibase.sqlgenerator.core;
 
+import liquibase.change.CheckSum;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
 import liquibase.exception.ValidationErrors;
@@ -23,10 +24,14 @@ public class UpdateChangeSetChecksumGenerator extends AbstractSqlGenerator<Updat
     @Override
     public Sql[] generateSql(UpdateChangeSetChecksumStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
         ChangeSet changeSet = statement.getChangeSet();
+        CheckSum checkSum = statement.getCheckSum();
+        if (checkSum == null) {
+            checkSum = changeSet.generateCheckSum();
+        }
 
         SqlStatement runStatement = null;
         runStatement = new UpdateStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), database.getDatabaseChangeLogTableName())
-                .addNewColumnValue("MD5SUM", changeSet.generateCheckSum().toString())
+                .addNewColumnValue("MD5SUM", checkSum.toString())
                 .setWhereClause(database.escapeObjectName("ID", Column.class) + " = ? " +
                         "AND " + database.escapeObjectName("AUTHOR", Column.class) + " = ? " +
                         "AND " + database.escapeObjectName("FILENAME", Column.class) + " = ?")
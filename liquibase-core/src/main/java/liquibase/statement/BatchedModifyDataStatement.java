@@ -0,0 +1,256 @@
+package liquibase.statement;
+
+import liquibase.change.core.AbstractModifyDataChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.visitor.ChangeExecListener;
+import liquibase.changelog.visitor.ChangeExecProgressListener;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.logging.LogFactory;
+import liquibase.logging.Logger;
+import liquibase.snapshot.InvalidExampleException;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.core.*;
+import liquibase.structure.core.Table;
+import liquibase.util.JdbcUtils;
+import liquibase.util.MD5Util;
+import liquibase.util.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes an {@link AbstractModifyDataChange} in ranges of {@link AbstractModifyDataChange#getBatchColumnName()} values,
+ * committing after each range. The next range to process is stored in the DATABASECHANGELOGBATCH table in the same transaction as the
+ * modified rows, so a failed or interrupted run continues with the first range not yet committed.
+ * Because ranges are committed, and the progress table is created on first use, the containing changeSet must not run in a transaction.
+ * Liquibase runs such changeSets in auto-commit mode, so auto-commit is turned off while the ranges are modified and restored afterwards.
+ */
+public class BatchedModifyDataStatement implements ExecutablePreparedStatement {
+
+    private Logger log = LogFactory.getLogger();
+
+    private Database database;
+    private AbstractModifyDataChange change;
+
+    public BatchedModifyDataStatement(Database database, AbstractModifyDataChange change) {
+        this.database = database;
+        this.change = change;
+    }
+
+    public AbstractModifyDataChange getChange() {
+        return change;
+    }
+
+    @Override
+    public boolean skipOnUnsupported() {
+        return false;
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        Executor executor = ExecutorService.getInstance().getExecutor(database);
+        String escapedKeyColumn = database.escapeColumnName(change.getCatalogName(), change.getSchemaName(), change.getTableName(), change.getBatchColumnName());
+
+        List<Map<String, ?>> rangeRows = executor.queryForList(new RawSqlStatement("SELECT MIN(" + escapedKeyColumn + "), MAX(" + escapedKeyColumn + ") FROM "
+                + database.escapeTableName(change.getCatalogName(), change.getSchemaName(), change.getTableName())));
+        Iterator<?> range = rangeRows.get(0).values().iterator();
+        Object minValue = range.next();
+        Object maxValue = range.next();
+        if (minValue == null || maxValue == null) {
+            log.info("No rows in " + change.getTableName() + ", nothing to modify");
+            return;
+        }
+        if (!(minValue instanceof Number) || !(maxValue instanceof Number)) {
+            throw new DatabaseException("Batch column " + change.getBatchColumnName() + " on " + change.getTableName() + " must be numeric");
+        }
+        Number min = (Number) minValue;
+        Number max = (Number) maxValue;
+
+        String progressId = getProgressId();
+        createProgressTableIfNeeded();
+        Long storedNextKey = readNextKey(factory, progressId);
+
+        long nextKey = min.longValue();
+        boolean progressStored = storedNextKey != null;
+        if (progressStored) {
+            log.info("Resuming batched modification of " + change.getTableName() + " at " + change.getBatchColumnName() + " " + storedNextKey);
+            nextKey = storedNextKey;
+        }
+
+        long batchSize = change.getBatchSize();
+        long rowsProcessed = 0;
+        long startTime = System.currentTimeMillis();
+
+        boolean autoCommit = database.isAutoCommit();
+        boolean committed = true;
+        boolean progressDeleted = false;
+        try {
+            database.setAutoCommit(false);
+            while (nextKey <= max.longValue()) {
+                long batchEnd = nextKey + batchSize;
+                boolean lastRange = batchEnd > max.longValue() || batchEnd < nextKey; //batchEnd < nextKey on overflow
+
+                String rangeClause;
+                if (lastRange) {
+                    rangeClause = escapedKeyColumn + " >= " + nextKey + " AND " + escapedKeyColumn + " <= " + max.longValue();
+                } else {
+                    rangeClause = escapedKeyColumn + " >= " + nextKey + " AND " + escapedKeyColumn + " < " + batchEnd;
+                }
+                String whereClause;
+                if (StringUtils.trimToNull(change.getWhere()) == null) {
+                    whereClause = rangeClause;
+                } else {
+                    whereClause = "(" + change.getWhere().trim() + ") AND " + rangeClause;
+                }
+
+                committed = false;
+                progressDeleted = lastRange;
+                rowsProcessed += executor.update(change.generateModifyStatement(database, whereClause));
+                if (lastRange) {
+                    if (progressStored) {
+                        deleteNextKey(progressId);
+                    }
+                } else {
+                    writeNextKey(progressId, batchEnd, progressStored);
+                    progressStored = true;
+                }
+                database.commit();
+                committed = true;
+
+                long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+                double rowsPerSecond = rowsProcessed * 1000d / elapsed;
+                log.debug("Modified " + rowsProcessed + " rows in " + change.getTableName() + " up to " + change.getBatchColumnName() + " " + (lastRange ? max.longValue() : batchEnd) + " (" + Math.round(rowsPerSecond) + " rows/sec)");
+                fireBatchCommitted(rowsProcessed, rowsPerSecond);
+
+                if (lastRange) {
+                    break;
+                }
+                nextKey = batchEnd;
+            }
+        } finally {
+            if (!committed) {
+                try {
+                    database.rollback();
+                } catch (DatabaseException e) {
+                    log.warning("Could not roll back uncommitted range of " + change.getTableName() + ": " + e.getMessage(), e);
+                }
+            }
+            database.setAutoCommit(autoCommit);
+        }
+
+        if (progressStored && !progressDeleted) {
+            deleteNextKey(progressId);
+            database.commit();
+        }
+
+        log.info("Modified " + rowsProcessed + " rows in " + change.getTableName() + " in " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+
+    protected String getProgressTableName() {
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getDatabaseChangeLogBatchTableName();
+    }
+
+    /**
+     * Identifies the change across runs. Based on the containing changeSet and the position of the change in it.
+     */
+    protected String getProgressId() {
+        ChangeSet changeSet = change.getChangeSet();
+        if (changeSet == null) {
+            return MD5Util.computeMD5(change.getTableName() + "::" + change.getWhere());
+        }
+        return MD5Util.computeMD5(changeSet.toString(false) + "::" + changeSet.getChanges().indexOf(change));
+    }
+
+    protected void createProgressTableIfNeeded() throws DatabaseException {
+        Table table = (Table) new Table().setName(getProgressTableName()).setSchema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName());
+        try {
+            if (SnapshotGeneratorFactory.getInstance().has(table, database)) {
+                return;
+            }
+        } catch (InvalidExampleException e) {
+            throw new DatabaseException(e);
+        }
+
+        log.info("Creating " + getProgressTableName() + " table");
+        ExecutorService.getInstance().getExecutor(database).execute(new CreateTableStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getProgressTableName())
+                .setTablespace(database.getLiquibaseTablespaceName())
+                .addPrimaryKeyColumn("ID", DataTypeFactory.getInstance().fromDescription("VARCHAR(35)", database), null, null, null, new NotNullConstraint())
+                .addColumn("NEXTKEY", DataTypeFactory.getInstance().fromDescription("BIGINT", database), null, new ColumnConstraint[]{new NotNullConstraint()})
+                .addColumn("DATEUPDATED", DataTypeFactory.getInstance().fromDescription("DATETIME", database)));
+        database.commit();
+    }
+
+    protected Long readNextKey(PreparedStatementFactory factory, String progressId) throws DatabaseException {
+        PreparedStatement statement = factory.create("SELECT NEXTKEY FROM "
+                + database.escapeTableName(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getProgressTableName())
+                + " WHERE ID=?");
+        ResultSet resultSet = null;
+        try {
+            statement.setString(1, progressId);
+            resultSet = statement.executeQuery();
+            if (!resultSet.next()) {
+                return null;
+            }
+            long value = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                return null;
+            }
+            return value;
+        } catch (SQLException e) {
+            JdbcUtils.closeResultSet(resultSet);
+            resultSet = null;
+            factory.discard(statement);
+            statement = null;
+            throw new DatabaseException(e);
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            if (statement != null) {
+                factory.release(statement);
+            }
+        }
+    }
+
+    protected void writeNextKey(String progressId, long nextKey, boolean exists) throws DatabaseException {
+        Executor executor = ExecutorService.getInstance().getExecutor(database);
+        if (exists) {
+            executor.execute(new UpdateStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getProgressTableName())
+                    .addNewColumnValue("NEXTKEY", nextKey)
+                    .addNewColumnValue("DATEUPDATED", new DatabaseFunction(database.getCurrentDateTimeFunction()))
+                    .setWhereClause("ID=?")
+                    .addWhereParameter(progressId));
+        } else {
+            executor.execute(new InsertStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getProgressTableName())
+                    .addColumnValue("ID", progressId)
+                    .addColumnValue("NEXTKEY", nextKey)
+                    .addColumnValue("DATEUPDATED", new DatabaseFunction(database.getCurrentDateTimeFunction())));
+        }
+    }
+
+    protected void deleteNextKey(String progressId) throws DatabaseException {
+        ExecutorService.getInstance().getExecutor(database).execute(new DeleteStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getProgressTableName())
+                .setWhere("ID=?")
+                .addWhereParameter(progressId));
+    }
+
+    protected void fireBatchCommitted(long rowsProcessed, double rowsPerSecond) {
+        ChangeSet changeSet = change.getChangeSet();
+        if (changeSet == null) {
+            return;
+        }
+        ChangeExecListener listener = changeSet.getExecListener();
+        if (listener instanceof ChangeExecProgressListener) {
+            ((ChangeExecProgressListener) listener).batchCommitted(change, changeSet, database, rowsProcessed, rowsPerSecond);
+        }
+    }
+}
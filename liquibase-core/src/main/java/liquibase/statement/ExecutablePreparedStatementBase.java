@@ -27,7 +27,6 @@ import liquibase.logging.LogFactory;
 import liquibase.logging.Logger;
 import liquibase.resource.ResourceAccessor;
 import liquibase.resource.UtfBomAwareReader;
-import liquibase.util.JdbcUtils;
 import liquibase.util.StreamUtil;
 import liquibase.util.StringUtils;
 import liquibase.util.file.FilenameUtils;
@@ -71,6 +70,7 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
 	
 	    // create prepared statement
 	    PreparedStatement stmt = factory.create(sql);
+	    boolean succeeded = false;
 	
 	    try {
 	        // attach params
@@ -82,13 +82,18 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
 	        }
 	        // trigger execution
 	        stmt.execute();
+	        succeeded = true;
 	    } catch(SQLException e) {
 	        throw new DatabaseException(e);
 	    } finally {
 	        for (Closeable closeable : closeables) {
                 StreamUtil.closeQuietly(closeable);
             }
-	        JdbcUtils.closeStatement(stmt);
+	        if (succeeded) {
+	            factory.release(stmt);
+	        } else {
+	            factory.discard(stmt);
+	        }
 	    }
 	}
 
@@ -17,6 +17,7 @@ public class CreateIndexStatement extends AbstractSqlStatement {
 	// for example: foreignKey, primaryKey or uniqueConstraint
 	private String associatedWith;
     private Boolean clustered;
+    private Boolean online;
 
     public CreateIndexStatement(String indexName, String tableCatalogName, String tableSchemaName, String tableName, Boolean isUnique, String associatedWith, AddColumnConfig... columns) {
         this.indexName = indexName;
@@ -82,4 +83,16 @@ public class CreateIndexStatement extends AbstractSqlStatement {
         }
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns true if the index should be built without blocking writes to the table, such as CREATE INDEX CONCURRENTLY on PostgreSQL or ONLINE on Oracle and MSSQL.
+     */
+    public Boolean isOnline() {
+        return online;
+    }
+
+    public CreateIndexStatement setOnline(Boolean online) {
+        this.online = online;
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package liquibase.statement.core;
+
+import liquibase.statement.AbstractSqlStatement;
+
+/**
+ * Queries the progress of an index currently being built on another connection.
+ * The returned row contains the amount of work done followed by the total amount of work.
+ * If no index build is in progress for the table, no rows are returned.
+ */
+public class GetIndexBuildProgressStatement extends AbstractSqlStatement {
+    private String catalogName;
+    private String schemaName;
+    private String tableName;
+    private String indexName;
+
+    public GetIndexBuildProgressStatement(String catalogName, String schemaName, String tableName, String indexName) {
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.indexName = indexName;
+    }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+}
@@ -3,6 +3,8 @@ package liquibase.statement.core;
 import liquibase.change.ColumnConfig;
 import liquibase.statement.AbstractSqlStatement;
 
+import java.util.List;
+
 public class SelectFromDatabaseChangeLogStatement extends AbstractSqlStatement {
 
     private ColumnConfig[] columnsToSelect;
@@ -53,6 +55,22 @@ public class SelectFromDatabaseChangeLogStatement extends AbstractSqlStatement {
 
     }
 
+    /**
+     * Selects rows whose FILENAME starts with any of the given prefixes.
+     */
+    public static class ByFileNamePrefix implements WhereClause {
+
+        private List<String> prefixes;
+
+        public ByFileNamePrefix(List<String> prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        public List<String> getPrefixes() {
+            return prefixes;
+        }
+    }
+
     public static class ByTag implements WhereClause {
 
         private String tagName;
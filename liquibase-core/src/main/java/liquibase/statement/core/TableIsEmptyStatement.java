@@ -0,0 +1,31 @@
+package liquibase.statement.core;
+
+import liquibase.statement.AbstractSqlStatement;
+
+/**
+ * Returns 1 if the table has no rows and 0 otherwise, without counting all rows.
+ */
+public class TableIsEmptyStatement extends AbstractSqlStatement {
+
+    private String catalogName;
+    private String schemaName;
+    private String tableName;
+
+    public TableIsEmptyStatement(String catalogName, String schemaName, String tableName) {
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+    }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+}
@@ -7,6 +7,7 @@ public class TableRowCountStatement extends AbstractSqlStatement {
     private String catalogName;
     private String schemaName;
     private String tableName;
+    private boolean approximate;
 
     public TableRowCountStatement(String catalogName, String schemaName, String tableName) {
         this.catalogName = catalogName;
@@ -25,4 +26,17 @@ public class TableRowCountStatement extends AbstractSqlStatement {
     public String getTableName() {
         return tableName;
     }
+
+    /**
+     * If true, the row count is read from the statistics the database keeps for the table where available instead of counting rows.
+     * The result may differ from the actual row count, or be null or negative if the table has no statistics.
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public TableRowCountStatement setApproximate(boolean approximate) {
+        this.approximate = approximate;
+        return this;
+    }
 }
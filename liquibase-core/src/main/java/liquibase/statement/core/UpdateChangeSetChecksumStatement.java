@@ -1,17 +1,34 @@
 package liquibase.statement.core;
 
+import liquibase.change.CheckSum;
 import liquibase.changelog.ChangeSet;
 import liquibase.statement.AbstractSqlStatement;
 
 public class UpdateChangeSetChecksumStatement extends AbstractSqlStatement {
 
     private ChangeSet changeSet;
+    private CheckSum checkSum;
 
     public UpdateChangeSetChecksumStatement(ChangeSet changeSet) {
         this.changeSet = changeSet;
     }
 
+    /**
+     * Use an already computed checksum for the changeSet instead of generating it again.
+     */
+    public UpdateChangeSetChecksumStatement(ChangeSet changeSet, CheckSum checkSum) {
+        this.changeSet = changeSet;
+        this.checkSum = checkSum;
+    }
+
     public ChangeSet getChangeSet() {
         return changeSet;
     }
+
+    /**
+     * Returns the checksum passed to the constructor, or null if it should be generated from the changeSet.
+     */
+    public CheckSum getCheckSum() {
+        return checkSum;
+    }
 }
\ No newline at end of file
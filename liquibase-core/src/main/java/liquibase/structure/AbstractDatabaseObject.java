@@ -14,12 +14,25 @@ import liquibase.util.StringUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public abstract class AbstractDatabaseObject implements DatabaseObject {
 
-    private Map<String, Object> attributes = new HashMap<String, Object>();
+    private static final int MAX_ATTRIBUTE_SLOTS = 32;
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final Map<Class, AttributeLayout> attributeLayouts = new ConcurrentHashMap<Class, AttributeLayout>();
+
+    /**
+     * Attribute values are stored in an array, with slot positions shared by all objects of the same class.
+     * Attributes beyond {@link #MAX_ATTRIBUTE_SLOTS} per class go in overflowAttributes.
+     */
+    private final AttributeLayout attributeLayout = getAttributeLayout(getClass());
+    private Object[] attributeValues = NO_VALUES;
+    private Map<String, Object> overflowAttributes;
+    private Set<String> attributeNames;
+    private Set<String> serializableFields;
 
     private String snapshotId;
 
@@ -53,17 +66,29 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
 
     @Override
     public Set<String> getAttributes() {
-        return attributes.keySet();
+        if (attributeNames == null) {
+            Set<String> names = new TreeSet<String>();
+            for (int i = 0; i < attributeValues.length; i++) {
+                if (attributeValues[i] != null) {
+                    names.add(attributeLayout.getName(i));
+                }
+            }
+            if (overflowAttributes != null) {
+                names.addAll(overflowAttributes.keySet());
+            }
+            attributeNames = Collections.unmodifiableSet(names);
+        }
+        return attributeNames;
     }
 
     @Override
     public <T> T getAttribute(String attribute, Class<T> type) {
-        return (T) attributes.get(attribute);
+        return (T) getAttributeValue(attribute);
     }
 
     @Override
     public <T> T getAttribute(String attribute, T defaultValue) {
-        T value = (T) attributes.get(attribute);
+        T value = (T) getAttributeValue(attribute);
         if (value == null) {
             return defaultValue;
         }
@@ -72,14 +97,59 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
 
     @Override
     public DatabaseObject setAttribute(String attribute, Object value) {
-        if (value == null) {
-            attributes.remove(attribute);
+        int slot = attributeLayout.getSlot(attribute);
+        if (slot < 0 && value != null) {
+            slot = attributeLayout.addSlot(attribute);
+        }
+
+        Object oldValue;
+        if (slot >= 0) {
+            if (slot >= attributeValues.length) {
+                if (value == null) {
+                    return this;
+                }
+                attributeValues = Arrays.copyOf(attributeValues, attributeLayout.size());
+            }
+            oldValue = attributeValues[slot];
+            attributeValues[slot] = value;
+        } else if (value == null) {
+            oldValue = overflowAttributes == null ? null : overflowAttributes.remove(attribute);
         } else {
-            attributes.put(attribute, value);
+            if (overflowAttributes == null) {
+                overflowAttributes = new HashMap<String, Object>();
+            }
+            oldValue = overflowAttributes.put(attribute, value);
+        }
+
+        if ((oldValue == null) != (value == null)) {
+            attributeNames = null;
+            serializableFields = null;
         }
         return this;
     }
 
+    private Object getAttributeValue(String attribute) {
+        int slot = attributeLayout.getSlot(attribute);
+        if (slot >= 0) {
+            return slot < attributeValues.length ? attributeValues[slot] : null;
+        }
+        return overflowAttributes == null ? null : overflowAttributes.get(attribute);
+    }
+
+    private static AttributeLayout getAttributeLayout(Class type) {
+        AttributeLayout layout = attributeLayouts.get(type);
+        if (layout == null) {
+            synchronized (attributeLayouts) {
+                layout = attributeLayouts.get(type);
+                if (layout == null) {
+                    layout = new AttributeLayout();
+                    attributeLayouts.put(type, layout);
+                }
+            }
+        }
+        return layout;
+    }
+
     @Override
     public String getSerializedObjectName() {
         return getObjectTypeName();
@@ -97,9 +167,12 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
 
     @Override
     public Set<String> getSerializableFields() {
-        TreeSet<String> fields = new TreeSet<String>(attributes.keySet());
-        fields.add("snapshotId");
-        return fields;
+        if (serializableFields == null) {
+            TreeSet<String> fields = new TreeSet<String>(getAttributes());
+            fields.add("snapshotId");
+            serializableFields = Collections.unmodifiableSet(fields);
+        }
+        return serializableFields;
     }
 
     @Override
@@ -107,10 +180,10 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
         if (field.equals("snapshotId")) {
             return snapshotId;
         }
-        if (!attributes.containsKey(field)) {
+        Object value = getAttributeValue(field);
+        if (value == null) {
             throw new UnexpectedLiquibaseException("Unknown field " + field);
         }
-        Object value = attributes.get(field);
         try {
             if (value instanceof Schema) {
                 Schema clone = new Schema(((Schema) value).getCatalogName(), ((Schema) value).getName());
@@ -149,7 +222,7 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
 
             Class propertyType = ObjectUtil.getPropertyType(this, name);
             if (propertyType != null && Collection.class.isAssignableFrom(propertyType) && !(child.getValue() instanceof Collection)) {
-                if (this.attributes.get(name) == null) {
+                if (getAttributeValue(name) == null) {
                     this.setAttribute(name, new ArrayList<Column>());
                 }
                 this.getAttribute(name, List.class).add(child.getValue());
@@ -175,7 +248,7 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
                     }
                 }
 
-                this.attributes.put(name, childValue);
+                this.setAttribute(name, childValue);
             }
         }
     }
@@ -189,4 +262,46 @@ public abstract class AbstractDatabaseObject implements DatabaseObject {
     public String toString() {
         return getName();
     }
+
+    /**
+     * Slot positions of the attribute names used by one class, assigned in the order the names are first set.
+     */
+    private static class AttributeLayout {
+        private final Map<String, Integer> slots = new ConcurrentHashMap<String, Integer>();
+        private volatile String[] names = new String[0];
+
+        public int getSlot(String name) {
+            Integer slot = slots.get(name);
+            if (slot == null) {
+                return -1;
+            }
+            return slot;
+        }
+
+        /**
+         * Returns the slot for the given name, or -1 if all slots are taken.
+         */
+        public synchronized int addSlot(String name) {
+            Integer slot = slots.get(name);
+            if (slot != null) {
+                return slot;
+            }
+            if (names.length >= MAX_ATTRIBUTE_SLOTS) {
+                return -1;
+            }
+            String[] newNames = Arrays.copyOf(names, names.length + 1);
+            newNames[names.length] = name;
+            names = newNames;
+            slots.put(name, names.length - 1);
+            return names.length - 1;
+        }
+
+        public String getName(int slot) {
+            return names[slot];
+        }
+
+        public int size() {
+            return names.length;
+        }
+    }
 }
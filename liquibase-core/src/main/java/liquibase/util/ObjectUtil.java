@@ -9,13 +9,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ObjectUtil {
 
-    private static Map<Class<?>, Method[]> methodCache = new HashMap<Class<?>, Method[]>();
+    private static ConcurrentMap<Class<?>, ClassAccessors> accessorCache = new ConcurrentHashMap<Class<?>, ClassAccessors>();
 
     public static Object getProperty(Object object, String propertyName) throws IllegalAccessException, InvocationTargetException {
         Method readMethod = getReadMethod(object, propertyName);
@@ -107,39 +107,80 @@ public class ObjectUtil {
     }
 
     private static Method getReadMethod(Object object, String propertyName) {
-        String getMethodName = "get" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
-        String isMethodName = "is" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
+        return getAccessors(object).getReadMethod(propertyName);
+    }
 
-        Method[] methods = getMethods(object);
+    private static Method getWriteMethod(Object object, String propertyName) {
+        return getAccessors(object).getWriteMethod(propertyName);
+    }
 
-        for (Method method : methods) {
-            if ((method.getName().equals(getMethodName) || method.getName().equals(isMethodName)) && method.getParameterTypes().length == 0) {
-                return method;
+    private static ClassAccessors getAccessors(Object object) {
+        ClassAccessors accessors = accessorCache.get(object.getClass());
+        if (accessors == null) {
+            accessors = new ClassAccessors(object.getClass().getMethods());
+            ClassAccessors existing = accessorCache.putIfAbsent(object.getClass(), accessors);
+            if (existing != null) {
+                accessors = existing;
             }
         }
-        return null;
+        return accessors;
     }
 
-    private static Method getWriteMethod(Object object, String propertyName) {
-        String methodName = "set" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
-        Method[] methods = getMethods(object);
+    /**
+     * Read and write methods of a class, looked up by property name on first use and remembered, including properties that do not exist.
+     */
+    private static class ClassAccessors {
+
+        private static final Object NOT_FOUND = new Object();
 
-        for (Method method : methods) {
-            if (method.getName().equals(methodName) && method.getParameterTypes().length == 1) {
-                return method;
+        private final Method[] methods;
+        private final ConcurrentMap<String, Object> readMethods = new ConcurrentHashMap<String, Object>();
+        private final ConcurrentMap<String, Object> writeMethods = new ConcurrentHashMap<String, Object>();
+
+        private ClassAccessors(Method[] methods) {
+            this.methods = methods;
+        }
+
+        private Method getReadMethod(String propertyName) {
+            Object method = readMethods.get(propertyName);
+            if (method == null) {
+                method = findReadMethod(propertyName);
+                readMethods.put(propertyName, method);
             }
+            return method == NOT_FOUND ? null : (Method) method;
         }
-        return null;
-    }
 
-    private static Method[] getMethods(Object object) {
-        Method[] methods = methodCache.get(object.getClass());
+        private Method getWriteMethod(String propertyName) {
+            Object method = writeMethods.get(propertyName);
+            if (method == null) {
+                method = findWriteMethod(propertyName);
+                writeMethods.put(propertyName, method);
+            }
+            return method == NOT_FOUND ? null : (Method) method;
+        }
+
+        private Object findReadMethod(String propertyName) {
+            String getMethodName = "get" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
+            String isMethodName = "is" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
+
+            for (Method method : methods) {
+                if ((method.getName().equals(getMethodName) || method.getName().equals(isMethodName)) && method.getParameterTypes().length == 0) {
+                    return method;
+                }
+            }
+            return NOT_FOUND;
+        }
 
-        if (methods == null) {
-            methods = object.getClass().getMethods();
-            methodCache.put(object.getClass(), methods);
+        private Object findWriteMethod(String propertyName) {
+            String methodName = "set" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
+
+            for (Method method : methods) {
+                if (method.getName().equals(methodName) && method.getParameterTypes().length == 1) {
+                    return method;
+                }
+            }
+            return NOT_FOUND;
         }
-        return methods;
     }
 
 }
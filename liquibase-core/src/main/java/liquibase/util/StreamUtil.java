@@ -206,6 +206,13 @@ public class StreamUtil {
             return null;
         }
 
+        return singleInputStream(resolvePath(file, relativeToChangelogFile, changeSet), resourceAccessor);
+    }
+
+    /**
+     * Returns the path to pass to a {@link ResourceAccessor} for the given file, resolving it against the changeSet's changelog if relativeToChangelogFile is true.
+     */
+    public static String resolvePath(String file, Boolean relativeToChangelogFile, ChangeSet changeSet) {
         if (relativeToChangelogFile != null && relativeToChangelogFile) {
             String base;
             if (changeSet.getChangeLog() == null) {
@@ -219,7 +226,6 @@ public class StreamUtil {
 
             file = base.replaceFirst("/[^/]*$", "") + "/" + file;
         }
-
-        return singleInputStream(file, resourceAccessor);
+        return file;
     }
 }
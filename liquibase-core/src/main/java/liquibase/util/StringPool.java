@@ -0,0 +1,38 @@
+package liquibase.util;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Shares a single instance of equal strings, such as authors, file paths and object names repeated across the changeSets of a large changelog.
+ * Unlike {@link String#intern()}, pooled strings are weakly referenced and are not kept in the permanent generation.
+ */
+public class StringPool {
+
+    /**
+     * Strings longer than this are returned unchanged, since they are rarely repeated and hashing them costs more than it saves.
+     */
+    public static final int MAX_POOLED_LENGTH = 256;
+
+    private static final WeakHashMap<String, WeakReference<String>> pool = new WeakHashMap<String, WeakReference<String>>();
+
+    /**
+     * Returns the pooled instance equal to the given string, adding it to the pool if there is none.
+     */
+    public static String intern(String string) {
+        if (string == null || string.length() > MAX_POOLED_LENGTH) {
+            return string;
+        }
+        synchronized (pool) {
+            WeakReference<String> reference = pool.get(string);
+            if (reference != null) {
+                String pooled = reference.get();
+                if (pooled != null) {
+                    return pooled;
+                }
+            }
+            pool.put(string, new WeakReference<String>(string));
+            return string;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package liquibase.change.core
 import liquibase.change.AddColumnConfig
 import liquibase.change.ChangeStatus;
 import liquibase.change.StandardChangeTest
+import liquibase.changelog.ChangeSet
+import liquibase.database.core.OracleDatabase
+import liquibase.database.core.PostgresDatabase
 import liquibase.sdk.database.MockDatabase
 import liquibase.snapshot.MockSnapshotGeneratorFactory
 import liquibase.snapshot.SnapshotGeneratorFactory
@@ -52,4 +55,23 @@ public class CreateIndexChangeTest extends StandardChangeTest {
         assert change.checkStatus(database).status == ChangeStatus.Status.complete
 
     }
-}
\ No newline at end of file
+
+    def "online index on postgres requires runInTransaction false"() {
+        when:
+        def change = new CreateIndexChange()
+        change.indexName = "idx_test"
+        change.tableName = "test_table"
+        change.columns = [new AddColumnConfig().setName("test_col")]
+        change.online = true
+        new ChangeSet("1", "test", false, false, "com/example/changelog.xml", null, null, runInTransaction, null).addChange(change)
+
+        then:
+        change.validate(database).getErrorMessages().any { it.contains("runInTransaction") } == expectError
+
+        where:
+        database               | runInTransaction | expectError
+        new PostgresDatabase() | true             | true
+        new PostgresDatabase() | false            | false
+        new OracleDatabase()   | true             | false
+    }
+}
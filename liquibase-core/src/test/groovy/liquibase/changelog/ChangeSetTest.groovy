@@ -1,7 +1,10 @@
 package liquibase.changelog
 
 import liquibase.change.CheckSum
+import liquibase.change.CheckSumCache
 import liquibase.change.core.*
+import liquibase.configuration.GlobalConfiguration
+import liquibase.configuration.LiquibaseConfiguration
 import liquibase.parser.core.ParsedNode
 import liquibase.parser.core.ParsedNodeException
 import liquibase.precondition.core.RunningAsPrecondition
@@ -112,6 +115,20 @@ public class ChangeSetTest extends Specification {
         changeSet.changes.size() == 0
     }
 
+    def "loaded changeSets share equal author strings"() {
+        when:
+        def changeLog = new DatabaseChangeLog("com/example/test.xml")
+        def changeSet1 = new ChangeSet(changeLog)
+        changeSet1.load(new ParsedNode(null, "changeSet").addChildren([id: "1", author: new String("nvoxland")]), resourceSupplier.simpleResourceAccessor)
+        def changeSet2 = new ChangeSet(changeLog)
+        changeSet2.load(new ParsedNode(null, "changeSet").addChildren([id: "2", author: new String("nvoxland")]), resourceSupplier.simpleResourceAccessor)
+
+        then:
+        changeSet1.author.is(changeSet2.author)
+        changeSet1.validCheckSums.size() == 0
+        changeSet1.rollBackChanges.length == 0
+    }
+
     def "load node with changeSet properties"() {
         when:
         def changeSet = new ChangeSet(new DatabaseChangeLog("com/example/test.xml"))
@@ -172,6 +189,72 @@ public class ChangeSetTest extends Specification {
         changeSet.changes[1].tableName == "table_2"
     }
 
+    def "lazy change loading creates changes on first use and reuses cached checksums"() {
+        when:
+        def directory = File.createTempFile("liquibase-lazy", ".dir")
+        directory.delete()
+        def config = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+        def node = new ParsedNode(null, "changeSet")
+                .addChildren([id: "1", author: "nvoxland"])
+                .addChild(new ParsedNode(null, "createTable").addChild(null, "tableName", "table_1"))
+                .addChild(new ParsedNode(null, "dropTable").addChild(null, "tableName", "table_2"))
+        def eagerChangeSet = new ChangeSet(new DatabaseChangeLog("com/example/test.xml"))
+        eagerChangeSet.load(node, resourceSupplier.simpleResourceAccessor)
+
+        config.setLazyChangeLoading(true)
+        config.setChecksumCacheDirectory(directory.absolutePath)
+        def firstChangeSet = new ChangeSet(new DatabaseChangeLog("com/example/test.xml"))
+        firstChangeSet.load(node, resourceSupplier.simpleResourceAccessor)
+        def unloadedAfterLoad = !firstChangeSet.isChangesLoaded()
+        def firstCheckSum = firstChangeSet.generateCheckSum()
+
+        def secondChangeSet = new ChangeSet(new DatabaseChangeLog("com/example/test.xml"))
+        secondChangeSet.load(node, resourceSupplier.simpleResourceAccessor)
+        def secondCheckSum = secondChangeSet.generateCheckSum()
+
+        then:
+        unloadedAfterLoad
+        firstCheckSum == eagerChangeSet.generateCheckSum()
+        firstChangeSet.isChangesLoaded()
+        secondCheckSum == firstCheckSum
+        !secondChangeSet.isChangesLoaded()
+        secondChangeSet.changes*.class == [CreateTableChange, DropTableChange]
+        secondChangeSet.changes[0].tableName == "table_1"
+        secondChangeSet.changes[0].changeSet.is(secondChangeSet)
+        secondChangeSet.isChangesLoaded()
+
+        cleanup:
+        config.setLazyChangeLoading(false)
+        config.setChecksumCacheDirectory(null)
+        CheckSumCache.reset()
+    }
+
+    def "unloaded content key keeps the document order of columns"() {
+        when:
+        def config = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+        config.setLazyChangeLoading(true)
+        def createTable = { List<String> columnNames ->
+            def createTableNode = new ParsedNode(null, "createTable").addChild(null, "tableName", "table_1")
+            for (String columnName : columnNames) {
+                createTableNode.addChild(new ParsedNode(null, "column").addChild(null, "name", columnName).addChild(null, "type", "int"))
+            }
+            def changeSet = new ChangeSet(new DatabaseChangeLog("com/example/test.xml"))
+            changeSet.load(new ParsedNode(null, "changeSet").addChildren([id: "1", author: "nvoxland"]).addChild(createTableNode), resourceSupplier.simpleResourceAccessor)
+            return changeSet
+        }
+        def key = createTable(["id", "name"]).getUnloadedContentKey()
+        def sameKey = createTable(["id", "name"]).getUnloadedContentKey()
+        def reorderedKey = createTable(["name", "id"]).getUnloadedContentKey()
+
+        then:
+        key != null
+        key == sameKey
+        key != reorderedKey
+
+        cleanup:
+        config.setLazyChangeLoading(false)
+    }
+
     def "load node with rollback containing sql as value"() {
         when:
         def changeSet = new ChangeSet(new DatabaseChangeLog("com/example/test.xml"))
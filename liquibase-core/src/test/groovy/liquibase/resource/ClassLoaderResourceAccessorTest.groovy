@@ -3,6 +3,9 @@ package liquibase.resource
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
 class ClassLoaderResourceAccessorTest extends Specification {
 
     def "rootUrls populated"() {
@@ -39,4 +42,24 @@ class ClassLoaderResourceAccessorTest extends Specification {
         "liquibase/database/core/supplier" | "../../jvm/JdbcConnection.class" | "liquibase/database/jvm/JdbcConnection.class"
     }
 
+    def "list reads directories from a jar without extracting it"() {
+        when:
+        def jar = File.createTempFile("liquibase-list", ".jar")
+        jar.deleteOnExit()
+        def out = new JarOutputStream(new FileOutputStream(jar))
+        ["db/", "db/changelog/", "db/changelog/a.xml", "db/changelog/sub/b.xml", "other/c.xml"].each {
+            out.putNextEntry(new JarEntry(it))
+            out.closeEntry()
+        }
+        out.close()
+
+        def accessor = new ClassLoaderResourceAccessor(new URLClassLoader([jar.toURI().toURL()].toArray() as URL[], (ClassLoader) null))
+
+        then:
+        accessor.list(null, "db/changelog", true, false, true).findAll({ !it.startsWith("jar:") }) as Set == ["db/changelog/a.xml", "db/changelog/sub/b.xml"] as Set
+        accessor.list(null, "db/changelog", true, false, false).findAll({ !it.startsWith("jar:") }) as Set == ["db/changelog/a.xml"] as Set
+        accessor.list(null, "db/changelog", false, true, true).findAll({ !it.startsWith("jar:") }) as Set == ["db/changelog/sub"] as Set
+        accessor.getJarIndex(jar).is(accessor.getJarIndex(jar))
+    }
+
 }
@@ -2,6 +2,9 @@ package liquibase.snapshot
 
 import spock.lang.Specification
 
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
 class SnapshotIdServiceTest extends Specification {
 
     def generate() {
@@ -13,4 +16,18 @@ class SnapshotIdServiceTest extends Specification {
         id1 != id2
         id1.subSequence(0, 4) == id2.subSequence(0, 4)
     }
+
+    def "generate from several threads"() {
+        when:
+        def executor = Executors.newFixedThreadPool(4)
+        def futures = (1..4).collect {
+            executor.submit({ (1..1000).collect { SnapshotIdService.instance.generateId() } } as Callable)
+        }
+        def ids = futures.collectMany { it.get() }
+        executor.shutdown()
+
+        then:
+        ids.size() == 4000
+        ids.toSet().size() == 4000
+    }
 }
@@ -0,0 +1,83 @@
+package liquibase.structure
+
+import liquibase.structure.core.Schema
+import spock.lang.Specification
+
+class AbstractDatabaseObjectTest extends Specification {
+
+    def "attributes can be set, replaced and removed"() {
+        when:
+        def object = new TestObject().setName("id")
+        object.setAttribute("extra", "value")
+
+        then:
+        object.getAttribute("extra", String) == "value"
+        object.getAttributes().containsAll(["name", "extra"])
+        object.getSerializableFields().containsAll(["name", "extra", "snapshotId"])
+
+        when:
+        object.setAttribute("extra", "other")
+
+        then:
+        object.getAttribute("extra", String) == "other"
+
+        when:
+        object.setAttribute("extra", null)
+
+        then:
+        object.getAttribute("extra", String) == null
+        object.getAttribute("extra", "default") == "default"
+        !object.getAttributes().contains("extra")
+        !object.getSerializableFields().contains("extra")
+        new TestObject().setName("other").getAttribute("extra", String) == null
+    }
+
+    def "attributes beyond the shared slots are kept"() {
+        when:
+        def object = new SlotsTestObject().setName("person")
+        def initialSize = object.getAttributes().size()
+        for (int i = 0; i < 50; i++) {
+            object.setAttribute("attr" + i, i)
+        }
+
+        then:
+        (0..<50).every { object.getAttribute("attr" + it, Integer) == it }
+        object.getAttributes().size() == initialSize + 50
+
+        when:
+        object.setAttribute("attr45", null)
+
+        then:
+        object.getAttribute("attr45", Integer) == null
+        object.getAttributes().size() == initialSize + 49
+    }
+
+    /**
+     * Separate classes so that the attribute slots these tests use are not taken from real object types.
+     */
+    static class TestObject extends AbstractDatabaseObject {
+        @Override
+        DatabaseObject[] getContainingObjects() {
+            return null
+        }
+
+        @Override
+        String getName() {
+            return getAttribute("name", String)
+        }
+
+        @Override
+        TestObject setName(String name) {
+            setAttribute("name", name)
+            return this
+        }
+
+        @Override
+        Schema getSchema() {
+            return null
+        }
+    }
+
+    static class SlotsTestObject extends TestObject {
+    }
+}
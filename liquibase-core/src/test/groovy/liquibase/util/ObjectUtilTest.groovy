@@ -34,6 +34,20 @@ class ObjectUtilTest extends Specification {
         thrown(UnexpectedLiquibaseException.class)
     }
 
+    def "repeated lookups use cached accessors consistently"() {
+        when:
+        def change = new CreateTableChange()
+        3.times {
+            ObjectUtil.setProperty(change, "tableName", "table" + it)
+        }
+
+        then:
+        ObjectUtil.getProperty(change, "tableName") == "table2"
+        !ObjectUtil.hasReadProperty(change, "notThere")
+        !ObjectUtil.hasReadProperty(change, "notThere")
+        ObjectUtil.getPropertyType(change, "tableName") == String
+    }
+
     @Unroll
     def "hasProperty examples"() {
         expect:
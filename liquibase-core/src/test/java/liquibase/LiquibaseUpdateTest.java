@@ -0,0 +1,160 @@
+package liquibase;
+
+import liquibase.change.CheckSumCache;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
+import liquibase.changelog.ChangeSet;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.lockservice.LockServiceFactory;
+import liquibase.sdk.resource.MockResourceAccessor;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs updates against an in-memory H2 database.
+ */
+public class LiquibaseUpdateTest {
+
+    private static final String CHANGELOG_FILE = "com/example/changelog.xml";
+
+    private Database database;
+    private Map<String, String> changeLogs;
+    private File cacheDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:liquibaseupdate", "sa", "")));
+        changeLogs = new HashMap<String, String>();
+        changeLogs.put(CHANGELOG_FILE, createChangeLog("table_1", "table_2"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        GlobalConfiguration configuration = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+        configuration.setLazyChangeLoading(false);
+        configuration.setChecksumCacheDirectory(null);
+        configuration.setUseChangeLogFingerprint(false);
+        CheckSumCache.reset();
+        LockServiceFactory.reset();
+        ChangeLogHistoryServiceFactory.reset();
+        if (cacheDirectory != null) {
+            FileUtil.deleteOnExit(cacheDirectory);
+        }
+
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void lazyLoadingLeavesRanChangeSetsUnloaded() throws Exception {
+        cacheDirectory = File.createTempFile("liquibase-update", ".dir");
+        cacheDirectory.delete();
+        GlobalConfiguration configuration = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+        configuration.setLazyChangeLoading(true);
+        configuration.setChecksumCacheDirectory(cacheDirectory.getAbsolutePath());
+
+        createLiquibase().update(new Contexts());
+        assertEquals(2, ExecutorService.getInstance().getExecutor(database).queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM DATABASECHANGELOG")));
+
+        Liquibase liquibase = createLiquibase();
+        liquibase.update(new Contexts());
+
+        assertEquals(2, liquibase.getDatabaseChangeLog().getChangeSets().size());
+        for (ChangeSet changeSet : liquibase.getDatabaseChangeLog().getChangeSets()) {
+            assertFalse(changeSet.toString(), changeSet.isChangesLoaded());
+        }
+    }
+
+    @Test
+    public void matchingFingerprintSkipsLockAndHistory() throws Exception {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setUseChangeLogFingerprint(true);
+        createLiquibase().update(new Contexts());
+
+        LockServiceFactory lockServiceFactory = spyLockServiceFactory();
+        ChangeLogHistoryServiceFactory historyServiceFactory = spyHistoryServiceFactory();
+        createLiquibase().update(new Contexts());
+
+        verify(lockServiceFactory, never()).getLockService(any(Database.class));
+        verify(historyServiceFactory, never()).getChangeLogService(any(Database.class));
+    }
+
+    @Test
+    public void changedChangeLogIsUpdated() throws Exception {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setUseChangeLogFingerprint(true);
+        createLiquibase().update(new Contexts());
+
+        changeLogs.put(CHANGELOG_FILE, createChangeLog("table_1", "table_2", "table_3"));
+        LockServiceFactory lockServiceFactory = spyLockServiceFactory();
+        ChangeLogHistoryServiceFactory historyServiceFactory = spyHistoryServiceFactory();
+        createLiquibase().update(new Contexts());
+
+        verify(lockServiceFactory, atLeastOnce()).getLockService(database);
+        verify(historyServiceFactory, atLeastOnce()).getChangeLogService(database);
+        assertEquals(3, ExecutorService.getInstance().getExecutor(database).queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM DATABASECHANGELOG")));
+    }
+
+    @Test
+    public void changedContextsOrLabelsAreUpdated() throws Exception {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setUseChangeLogFingerprint(true);
+        createLiquibase().update(new Contexts());
+
+        LockServiceFactory lockServiceFactory = spyLockServiceFactory();
+        ChangeLogHistoryServiceFactory historyServiceFactory = spyHistoryServiceFactory();
+        createLiquibase().update(new Contexts("other"));
+        verify(lockServiceFactory, atLeastOnce()).getLockService(database);
+        verify(historyServiceFactory, atLeastOnce()).getChangeLogService(database);
+
+        lockServiceFactory = spyLockServiceFactory();
+        historyServiceFactory = spyHistoryServiceFactory();
+        createLiquibase().update(new Contexts(), new LabelExpression("other"));
+        verify(lockServiceFactory, atLeastOnce()).getLockService(database);
+        verify(historyServiceFactory, atLeastOnce()).getChangeLogService(database);
+    }
+
+    private LockServiceFactory spyLockServiceFactory() {
+        LockServiceFactory lockServiceFactory = spy(LockServiceFactory.getInstance());
+        LockServiceFactory.setInstance(lockServiceFactory);
+        return lockServiceFactory;
+    }
+
+    private ChangeLogHistoryServiceFactory spyHistoryServiceFactory() {
+        ChangeLogHistoryServiceFactory historyServiceFactory = spy(ChangeLogHistoryServiceFactory.getInstance());
+        ChangeLogHistoryServiceFactory.setInstance(historyServiceFactory);
+        return historyServiceFactory;
+    }
+
+    protected Liquibase createLiquibase() throws Exception {
+        return new Liquibase(CHANGELOG_FILE, new MockResourceAccessor(changeLogs), database);
+    }
+
+    protected String createChangeLog(String... tableNames) {
+        StringBuilder changeLog = new StringBuilder("<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\"\n"
+                + "        xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+                + "        xsi:schemaLocation=\"http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-3.4.xsd\">\n");
+        for (int i = 0; i < tableNames.length; i++) {
+            changeLog.append("    <changeSet id=\"").append(i + 1).append("\" author=\"test\">\n")
+                    .append("        <createTable tableName=\"").append(tableNames[i]).append("\">\n")
+                    .append("            <column name=\"id\" type=\"int\"/>\n")
+                    .append("        </createTable>\n")
+                    .append("    </changeSet>\n");
+        }
+        return changeLog.append("</databaseChangeLog>\n").toString();
+    }
+}
@@ -0,0 +1,141 @@
+package liquibase.change;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.resource.FileSystemResourceAccessor;
+import liquibase.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+
+import static org.junit.Assert.*;
+
+public class CheckSumCacheTest {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("liquibase-checksumcache", ".dir");
+        directory.delete();
+        directory.mkdir();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setChecksumCacheDirectory(null);
+        CheckSumCache.reset();
+        FileUtil.deleteOnExit(directory);
+    }
+
+    @Test
+    public void storedChecksumIsReturnedUntilFileChanges() throws Exception {
+        File data = write("data.csv", "id,name\n1,a\n");
+        URL url = data.toURI().toURL();
+        CheckSum checkSum = CheckSum.compute("value");
+
+        CheckSumCache cache = new CheckSumCache(new File(directory, "cache"));
+        assertNull(cache.get("loadData", url));
+        cache.put("loadData", url, checkSum);
+        assertEquals(checkSum, cache.get("loadData", url));
+        assertNull(cache.get("sqlFile", url));
+
+        assertNull("not saved before flush", new CheckSumCache(new File(directory, "cache")).get("loadData", url));
+        cache.flush();
+        assertEquals("persisted across instances", checkSum, new CheckSumCache(new File(directory, "cache")).get("loadData", url));
+
+        write("data.csv", "id,name\n1,b\n");
+        assertNull(cache.get("loadData", url));
+    }
+
+    @Test
+    public void changeInTheMiddleOfLargeFileIsDetected() throws Exception {
+        StringBuilder content = new StringBuilder("id,name\n");
+        for (int i = 0; i < 5000; i++) {
+            content.append(i).append(",name").append(i % 10).append("\n");
+        }
+        File data = write("large.csv", content.toString());
+        URL url = data.toURI().toURL();
+        CheckSum checkSum = CheckSum.compute("value");
+
+        CheckSumCache cache = new CheckSumCache(new File(directory, "cache"));
+        cache.put("loadData", url, checkSum);
+        assertEquals(checkSum, cache.get("loadData", url));
+
+        int middle = content.indexOf("2500,name0");
+        content.replace(middle, middle + "2500,name0".length(), "2500,name1");
+        write("large.csv", content.toString());
+        assertNull("same size but different content", cache.get("loadData", url));
+    }
+
+    @Test
+    public void unchangedFileIsNotRead() throws Exception {
+        File data = write("data.csv", "id,name\n1,a\n");
+        URL url = data.toURI().toURL();
+        CheckSum checkSum = CheckSum.compute("value");
+        final int[] reads = new int[1];
+
+        CheckSumCache cache = new CheckSumCache(new File(directory, "cache")) {
+            @Override
+            protected String getFingerprint(URL resource) {
+                reads[0]++;
+                return super.getFingerprint(resource);
+            }
+        };
+        cache.put("loadData", url, checkSum);
+        reads[0] = 0;
+
+        assertEquals(checkSum, cache.get("loadData", url));
+        assertEquals("same size and modification time", 0, reads[0]);
+
+        data.setLastModified(data.lastModified() + 10000);
+        assertEquals("only the modification time changed", checkSum, cache.get("loadData", url));
+        assertEquals(1, reads[0]);
+        assertEquals(checkSum, cache.get("loadData", url));
+        assertEquals("new modification time is stored", 1, reads[0]);
+    }
+
+    @Test
+    public void disabledWithoutDirectory() throws Exception {
+        File data = write("data.csv", "id,name\n1,a\n");
+        CheckSumCache cache = new CheckSumCache(null);
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.getResourceUrl(data.getAbsolutePath(), false, null, new FileSystemResourceAccessor()));
+        cache.put("loadData", data.toURI().toURL(), CheckSum.compute("value"));
+        assertNull(cache.get("loadData", data.toURI().toURL()));
+    }
+
+    @Test
+    public void loadDataChecksumIsUnchangedWithCache() throws Exception {
+        File data = write("data.csv", "id,name\r\n1,a\r\n");
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("person");
+        change.setFile(data.getAbsolutePath());
+        change.setResourceAccessor(new FileSystemResourceAccessor());
+        CheckSum uncached = change.generateCheckSum();
+
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setChecksumCacheDirectory(new File(directory, "cache").getAbsolutePath());
+        assertEquals(uncached, change.generateCheckSum());
+        assertNotNull(CheckSumCache.getInstance().get("loadData", data.toURI().toURL()));
+        assertEquals(uncached, change.generateCheckSum());
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(directory, name);
+        long lastModified = file.lastModified();
+        FileWriter writer = new FileWriter(file);
+        writer.write(content);
+        writer.close();
+        if (lastModified > 0) {
+            file.setLastModified(lastModified + 10000); //modification times may have a coarse resolution
+        }
+        return file;
+    }
+}
@@ -1,9 +1,15 @@
 package liquibase.change;
 
 import static org.junit.Assert.*;
+import liquibase.util.MD5Util;
+import liquibase.util.StringUtils;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.Normalizer;
+import java.util.Random;
 
 public class CheckSumTest {
 
@@ -84,4 +90,55 @@ public class CheckSumTest {
         assertEquals(checkSum, CheckSum.compute(new ByteArrayInputStream("a string\r\nwith\r\nlines".getBytes()), true).toString());
         assertEquals(checkSum, CheckSum.compute(new ByteArrayInputStream("a string\rwith\r\nlines".getBytes()), true).toString());
     }
+
+    @Test
+    public void compute_asciiMatchesNormalizedValue() {
+        String[] values = new String[] {"plain", "with\r\nwindows\rand mac\nline endings", "", "\r\r\n\n"};
+        for (String value : values) {
+            String expected = MD5Util.computeMD5(Normalizer.normalize(StringUtils.standardizeLineEndings(value), Normalizer.Form.NFC));
+            assertEquals(CheckSum.getCurrentVersion() + ":" + expected, CheckSum.compute(value).toString());
+        }
+    }
+
+    @Test
+    public void compute_StreamMatchesByteAtATimeLineEndings() {
+        Random random = new Random(42);
+        byte[] alphabet = new byte[] {'a', 'b', '\r', '\n', (byte) 0xE9};
+        for (int run = 0; run < 200; run++) {
+            byte[] bytes = new byte[random.nextInt(50000)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+
+            CheckSum expected = CheckSum.compute(new ByteAtATimeLineEndingsStream(new ByteArrayInputStream(bytes)), false);
+            assertEquals(expected, CheckSum.compute(new ByteArrayInputStream(bytes), true));
+        }
+    }
+
+    /**
+     * The original, byte at a time, line ending standardization.
+     */
+    private static class ByteAtATimeLineEndingsStream extends InputStream {
+        private final InputStream stream;
+        private int lastChar = 'X';
+
+        private ByteAtATimeLineEndingsStream(InputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = stream.read();
+            int returnChar = read;
+            if (returnChar == '\r') {
+                returnChar = '\n';
+            }
+            if (lastChar == '\r' && returnChar == '\n') {
+                returnChar = stream.read(); //read next char
+            }
+
+            lastChar = read;
+            return returnChar;
+        }
+    }
 }
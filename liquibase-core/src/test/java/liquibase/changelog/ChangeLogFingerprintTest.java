@@ -0,0 +1,84 @@
+package liquibase.changelog;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.change.core.CreateTableChange;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+
+import static org.junit.Assert.*;
+
+public class ChangeLogFingerprintTest {
+
+    private Database database;
+    private DatabaseChangeLog changeLog;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:changelogfingerprint", "sa", "")));
+
+        changeLog = new DatabaseChangeLog("com/example/changelog.xml");
+        addChangeSet("1", "table_1", null);
+        addChangeSet("2", "table_2", "test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void computeDependsOnSelectedChangeSetsAndChecksums() throws Exception {
+        ChangeLogFingerprint fingerprint = new ChangeLogFingerprint(database);
+        String all = fingerprint.compute(changeLog, new Contexts(), new LabelExpression());
+
+        assertEquals(all, fingerprint.compute(changeLog, new Contexts(), new LabelExpression()));
+        assertFalse(all.equals(fingerprint.compute(changeLog, new Contexts("prod"), new LabelExpression())));
+
+        ((CreateTableChange) changeLog.getChangeSets().get(1).getChanges().get(0)).setTableName("table_changed");
+        assertFalse(all.equals(fingerprint.compute(changeLog, new Contexts(), new LabelExpression())));
+
+        ChangeSet runAlways = new ChangeSet("3", "test", true, false, "com/example/changelog.xml", null, null, changeLog);
+        changeLog.addChangeSet(runAlways);
+        assertNull(fingerprint.compute(changeLog, new Contexts(), new LabelExpression()));
+    }
+
+    @Test
+    public void storedFingerprintsAreClearedWhenHistoryIsRemoved() throws Exception {
+        ChangeLogFingerprint fingerprint = new ChangeLogFingerprint(database);
+        String value = fingerprint.compute(changeLog, new Contexts(), new LabelExpression());
+        assertFalse(fingerprint.isApplied(value));
+
+        fingerprint.store(value);
+        assertTrue(fingerprint.isApplied(value));
+        assertFalse(fingerprint.isApplied(fingerprint.compute(changeLog, new Contexts("prod"), new LabelExpression())));
+
+        StandardChangeLogHistoryService historyService = new StandardChangeLogHistoryService();
+        historyService.setDatabase(database);
+        historyService.init();
+        historyService.setExecType(changeLog.getChangeSets().get(0), ChangeSet.ExecType.EXECUTED);
+        assertTrue(fingerprint.isApplied(value));
+
+        historyService.removeFromHistory(changeLog.getChangeSets().get(0));
+        assertFalse(fingerprint.isApplied(value));
+    }
+
+    private void addChangeSet(String id, String tableName, String context) {
+        ChangeSet changeSet = new ChangeSet(id, "test", false, false, "com/example/changelog.xml", context, null, changeLog);
+        CreateTableChange change = new CreateTableChange();
+        change.setTableName(tableName);
+        changeSet.addChange(change);
+        changeLog.addChangeSet(changeSet);
+    }
+}
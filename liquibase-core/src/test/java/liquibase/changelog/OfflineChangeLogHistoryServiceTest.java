@@ -0,0 +1,153 @@
+package liquibase.changelog;
+
+import liquibase.database.core.H2Database;
+import liquibase.exception.DatabaseException;
+import liquibase.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OfflineChangeLogHistoryServiceTest {
+
+    private File directory;
+    private File historyFile;
+    private File journalFile;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("liquibase-offlinehistory", ".dir");
+        directory.delete();
+        directory.mkdir();
+        historyFile = new File(directory, "databasechangelog.csv");
+        journalFile = new File(directory, "databasechangelog.csv.journal");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtil.deleteOnExit(directory);
+    }
+
+    @Test
+    public void changesAreJournaledAndCompactedOnReset() throws Exception {
+        OfflineChangeLogHistoryService historyService = createHistoryService();
+        historyService.init();
+        long initialLength = historyFile.length();
+
+        ChangeSet first = createChangeSet("1");
+        ChangeSet second = createChangeSet("2");
+        historyService.setExecType(first, ChangeSet.ExecType.EXECUTED);
+        historyService.setExecType(second, ChangeSet.ExecType.EXECUTED);
+        historyService.tag("v1");
+        historyService.removeFromHistory(first);
+
+        assertEquals("CSV file is not rewritten", initialLength, historyFile.length());
+        assertTrue(journalFile.exists());
+
+        List<RanChangeSet> ranChangeSets = createHistoryService().getRanChangeSets();
+        assertEquals("journal is read by other instances", 1, ranChangeSets.size());
+        assertTrue(ranChangeSets.get(0).isSameAs(second));
+        assertEquals("v1", ranChangeSets.get(0).getTag());
+
+        assertEquals(3, historyService.getNextSequenceValue());
+
+        historyService.reset();
+        assertFalse(journalFile.exists());
+        ranChangeSets = createHistoryService().getRanChangeSets();
+        assertEquals(1, ranChangeSets.size());
+        assertTrue(ranChangeSets.get(0).isSameAs(second));
+        assertEquals("v1", ranChangeSets.get(0).getTag());
+        assertEquals(second.generateCheckSum(), ranChangeSets.get(0).getLastCheckSum());
+    }
+
+    @Test
+    public void journalIsCompactedWhenFull() throws Exception {
+        OfflineChangeLogHistoryService historyService = createHistoryService();
+        historyService.init();
+
+        for (int i = 0; i < OfflineChangeLogHistoryService.MAX_JOURNAL_SIZE; i++) {
+            historyService.setExecType(createChangeSet(String.valueOf(i)), ChangeSet.ExecType.EXECUTED);
+        }
+
+        assertFalse(journalFile.exists());
+        assertEquals(OfflineChangeLogHistoryService.MAX_JOURNAL_SIZE, createHistoryService().getRanChangeSets().size());
+
+        historyService.destroy();
+        assertFalse(historyFile.exists());
+    }
+
+    @Test
+    public void journalReplayKeepsRowOrder() throws Exception {
+        OfflineChangeLogHistoryService historyService = createHistoryService();
+        historyService.init();
+
+        ChangeSet first = createChangeSet("1");
+        ChangeSet second = createChangeSet("2");
+        historyService.setExecType(first, ChangeSet.ExecType.EXECUTED);
+        historyService.setExecType(second, ChangeSet.ExecType.EXECUTED);
+        historyService.setExecType(createChangeSet("3"), ChangeSet.ExecType.EXECUTED);
+        historyService.setExecType(first, ChangeSet.ExecType.EXECUTED);
+        historyService.setExecType(second, ChangeSet.ExecType.RERAN);
+
+        assertEquals(Arrays.asList("2", "3", "1"), getIds(historyService.getRanChangeSets()));
+        assertEquals(getIds(historyService.getRanChangeSets()), getIds(createHistoryService().getRanChangeSets()));
+    }
+
+    @Test
+    public void resetLogsCompactionFailure() throws Exception {
+        OfflineChangeLogHistoryService historyService = createHistoryService();
+        historyService.init();
+        historyService.setExecType(createChangeSet("1"), ChangeSet.ExecType.EXECUTED);
+
+        File blockingFile = new File(directory, "databasechangelog.csv.new");
+        blockingFile.mkdir();
+        historyService.reset();
+
+        assertTrue(journalFile.exists());
+        assertEquals(1, historyService.getRanChangeSets().size());
+
+        blockingFile.delete();
+        historyService.reset();
+        assertFalse(journalFile.exists());
+        assertEquals(1, createHistoryService().getRanChangeSets().size());
+    }
+
+    @Test
+    public void journalIsKeptIfFileCannotBeReplaced() throws Exception {
+        OfflineChangeLogHistoryService historyService = createHistoryService();
+        historyService.init();
+        historyService.setExecType(createChangeSet("1"), ChangeSet.ExecType.EXECUTED);
+
+        assertTrue(historyFile.delete());
+        assertTrue(new File(historyFile, "blocking").mkdirs());
+        try {
+            historyService.compact();
+            fail("Expected compaction to fail");
+        } catch (DatabaseException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(journalFile.getAbsolutePath()));
+        }
+        assertTrue(journalFile.exists());
+    }
+
+    private List<String> getIds(List<RanChangeSet> ranChangeSets) {
+        List<String> ids = new ArrayList<String>();
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            ids.add(ranChangeSet.getId());
+        }
+        return ids;
+    }
+
+    private OfflineChangeLogHistoryService createHistoryService() {
+        return new OfflineChangeLogHistoryService(new H2Database(), historyFile, false);
+    }
+
+    private ChangeSet createChangeSet(String id) {
+        return new ChangeSet(id, "test", false, false, "com/example/changelog.xml", null, null, null);
+    }
+}
@@ -0,0 +1,111 @@
+package liquibase.changelog;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.change.core.CreateTableChange;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.MarkChangeSetRanStatement;
+import liquibase.statement.core.RawSqlStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class StandardChangeLogHistoryServiceTest {
+
+    private Database database;
+    private Executor executor;
+    private StandardChangeLogHistoryService historyService;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:changeloghistory", "sa", "")));
+        executor = ExecutorService.getInstance().getExecutor(database);
+        historyService = new StandardChangeLogHistoryService();
+        historyService.setDatabase(database);
+        historyService.init();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void upgradeChecksumsWritesAllMissingChecksums() throws Exception {
+        DatabaseChangeLog changeLog = new DatabaseChangeLog("com/example/changelog.xml");
+        for (int i = 0; i < 250; i++) {
+            ChangeSet changeSet = new ChangeSet(String.valueOf(i), "test", false, false, "com/example/changelog.xml", null, null, changeLog);
+            CreateTableChange change = new CreateTableChange();
+            change.setTableName("table_" + i);
+            changeSet.addChange(change);
+            changeLog.addChangeSet(changeSet);
+            executor.execute(new MarkChangeSetRanStatement(changeSet, ChangeSet.ExecType.EXECUTED));
+        }
+        executor.execute(new RawSqlStatement("UPDATE DATABASECHANGELOG SET MD5SUM = NULL WHERE ID <> '0'"));
+        executor.execute(new RawSqlStatement("UPDATE DATABASECHANGELOG SET MD5SUM = '7:stored' WHERE ID = '0'"));
+        database.commit();
+        historyService.reset();
+
+        historyService.upgradeChecksums(changeLog, new Contexts(), new LabelExpression());
+
+        List<Map<String, ?>> rows = executor.queryForList(new RawSqlStatement("SELECT ID, MD5SUM FROM DATABASECHANGELOG"));
+        assertEquals(250, rows.size());
+        for (Map<String, ?> row : rows) {
+            ChangeSet changeSet = changeLog.getChangeSet("com/example/changelog.xml", "test", (String) row.get("ID"));
+            if (changeSet.getId().equals("0")) {
+                assertEquals("7:stored", row.get("MD5SUM"));
+            } else {
+                assertEquals(changeSet.generateCheckSum().toString(), row.get("MD5SUM"));
+            }
+        }
+    }
+
+    @Test
+    public void getRanChangeSetsReadsOnlyMatchingFileNames() throws Exception {
+        GlobalConfiguration configuration = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+        ChangeSet moduleA = markRan("1", "db/module_a/changelog.xml");
+        markRan("2", "db/moduleXa/changelog.xml");
+        markRan("3", "db/module_b/changelog.xml");
+        database.commit();
+
+        try {
+            configuration.setDatabaseChangeLogFilenamePrefixes("db/module_a/");
+            historyService.reset();
+            List<RanChangeSet> ranChangeSets = historyService.getRanChangeSets();
+
+            assertEquals(1, ranChangeSets.size());
+            RanChangeSet ranChangeSet = ranChangeSets.get(0);
+            assertTrue(ranChangeSet.isSameAs(moduleA));
+            assertEquals(moduleA.generateCheckSum(), ranChangeSet.getLastCheckSum());
+            assertEquals(ChangeSet.ExecType.EXECUTED, ranChangeSet.getExecType());
+            assertNotNull(ranChangeSet.getDateExecuted());
+
+            configuration.setDatabaseChangeLogFilenamePrefixes(null);
+            historyService.reset();
+            assertEquals(3, historyService.getRanChangeSets().size());
+        } finally {
+            configuration.setDatabaseChangeLogFilenamePrefixes(null);
+        }
+    }
+
+    private ChangeSet markRan(String id, String filePath) throws Exception {
+        ChangeSet changeSet = new ChangeSet(id, "test", false, false, filePath, null, null, null);
+        executor.execute(new MarkChangeSetRanStatement(changeSet, ChangeSet.ExecType.EXECUTED));
+        return changeSet;
+    }
+}
@@ -0,0 +1,220 @@
+package liquibase.changelog.visitor;
+
+import liquibase.change.AddColumnConfig;
+import liquibase.change.Change;
+import liquibase.change.ColumnConfig;
+import liquibase.change.ConstraintsConfig;
+import liquibase.change.core.AddForeignKeyConstraintChange;
+import liquibase.change.core.CreateIndexChange;
+import liquibase.change.core.CreateTableChange;
+import liquibase.change.core.CreateViewChange;
+import liquibase.change.core.RawSQLChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.MigrationFailedException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.sdk.database.MockDatabase;
+import liquibase.statement.core.GetIndexBuildProgressStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Table;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ParallelUpdateVisitorTest {
+
+    private DatabaseChangeLog changeLog = new DatabaseChangeLog("test.xml");
+
+    @Test
+    public void independentChangeSetsRunOnWorkersAndAreRecordedInOrder() throws Exception {
+        Database database = mock(Database.class);
+        Database worker = mock(Database.class);
+
+        ChangeSet changeSet1 = mockChangeSet(new Table(null, null, "table1"));
+        ChangeSet changeSet2 = mockChangeSet(new Table(null, null, "table2"));
+        when(database.getRunStatus(any(ChangeSet.class))).thenReturn(ChangeSet.RunStatus.NOT_RAN);
+        when(changeSet1.execute(changeLog, null, worker)).thenReturn(ChangeSet.ExecType.EXECUTED);
+        when(changeSet2.execute(changeLog, null, worker)).thenReturn(ChangeSet.ExecType.EXECUTED);
+
+        ParallelUpdateVisitor visitor = new ParallelUpdateVisitor(database, Arrays.asList(worker), null);
+        visitor.visit(changeSet1, changeLog, database, Collections.<ChangeSetFilterResult>emptySet());
+        visitor.visit(changeSet2, changeLog, database, Collections.<ChangeSetFilterResult>emptySet());
+        visitor.waitForCompletion();
+
+        verify(changeSet1).execute(changeLog, null, worker);
+        verify(changeSet2).execute(changeLog, null, worker);
+        InOrder inOrder = inOrder(database);
+        inOrder.verify(database).markChangeSetExecStatus(changeSet1, ChangeSet.ExecType.EXECUTED);
+        inOrder.verify(database).markChangeSetExecStatus(changeSet2, ChangeSet.ExecType.EXECUTED);
+    }
+
+    @Test
+    public void changeSetWithUnknownObjectsRunsOnMainDatabase() throws Exception {
+        Database database = mock(Database.class);
+        Database worker = mock(Database.class);
+
+        ChangeSet changeSet = mockChangeSet();
+        when(database.getRunStatus(changeSet)).thenReturn(ChangeSet.RunStatus.RUN_AGAIN);
+        when(changeSet.execute(changeLog, null, database)).thenReturn(ChangeSet.ExecType.EXECUTED);
+
+        ParallelUpdateVisitor visitor = new ParallelUpdateVisitor(database, Arrays.asList(worker), null);
+        visitor.visit(changeSet, changeLog, database, Collections.<ChangeSetFilterResult>emptySet());
+        visitor.waitForCompletion();
+
+        verify(changeSet).execute(changeLog, null, database);
+        verify(database).markChangeSetExecStatus(changeSet, ChangeSet.ExecType.RERAN);
+        verifyZeroInteractions(worker);
+    }
+
+    @Test
+    public void getDependencyKeys() throws Exception {
+        ParallelUpdateVisitor visitor = new ParallelUpdateVisitor(new MockDatabase(), Arrays.<Database>asList(new MockDatabase()), null);
+
+        Column column = new Column();
+        column.setName("col1");
+        column.setRelation(new Table(null, null, "Table1"));
+
+        Column otherColumn = new Column();
+        otherColumn.setName("col1");
+        otherColumn.setRelation(new Table(null, "other_schema", "Table1"));
+
+        assertEquals(new HashSet<String>(Arrays.asList("..table1", "..table1.col1")), visitor.getDependencyKeys(mockChangeSet(column)));
+        assertTrue(Collections.disjoint(visitor.getDependencyKeys(mockChangeSet(column)), visitor.getDependencyKeys(mockChangeSet(otherColumn))));
+        assertNull(visitor.getDependencyKeys(mockChangeSet()));
+
+        visitor.waitForCompletion();
+    }
+
+    @Test
+    public void getDependencyKeysIncludesReferencedTables() throws Exception {
+        ParallelUpdateVisitor visitor = new ParallelUpdateVisitor(new H2Database(), Arrays.<Database>asList(new MockDatabase()), null);
+
+        CreateTableChange createTable = new CreateTableChange();
+        createTable.setTableName("address");
+        createTable.addColumn(new ColumnConfig().setName("id").setType("int"));
+        createTable.addColumn(new ColumnConfig().setName("person_id").setType("int").setConstraints(new ConstraintsConfig().setForeignKeyName("fk_address_person").setReferences("person(id)")));
+        createTable.addColumn(new ColumnConfig().setName("country_id").setType("int").setConstraints(new ConstraintsConfig().setForeignKeyName("fk_address_country").setReferences("lookup.country(id)")));
+        assertThat(visitor.getDependencyKeys(changeSet(createTable)), hasItem("..person"));
+        assertThat(visitor.getDependencyKeys(changeSet(createTable)), hasItem(".lookup.country"));
+
+        AddForeignKeyConstraintChange addForeignKey = new AddForeignKeyConstraintChange();
+        addForeignKey.setConstraintName("fk_order_person");
+        addForeignKey.setBaseTableName("orders");
+        addForeignKey.setBaseColumnNames("person_id");
+        addForeignKey.setReferencedTableName("person");
+        addForeignKey.setReferencedColumnNames("id");
+        assertThat(visitor.getDependencyKeys(changeSet(addForeignKey)), hasItem("..person"));
+
+        CreateViewChange createView = new CreateViewChange();
+        createView.setViewName("person_view");
+        createView.setSelectQuery("select * from person");
+        assertNull(visitor.getDependencyKeys(changeSet(createView)));
+
+        RawSQLChange rawSql = new RawSQLChange("update person set name = 'x'");
+        assertNull(visitor.getDependencyKeys(changeSet(rawSql)));
+
+        visitor.waitForCompletion();
+    }
+
+    @Test
+    public void failureIsThrownFromWaitForCompletion() throws Exception {
+        Database database = mock(Database.class);
+        Database worker = mock(Database.class);
+
+        ChangeSet changeSet = mockChangeSet(new Table(null, null, "table1"));
+        when(database.getRunStatus(changeSet)).thenReturn(ChangeSet.RunStatus.NOT_RAN);
+        when(changeSet.execute(changeLog, null, worker)).thenThrow(new MigrationFailedException(changeSet, "failed"));
+
+        ParallelUpdateVisitor visitor = new ParallelUpdateVisitor(database, Arrays.asList(worker), null);
+        visitor.visit(changeSet, changeLog, database, Collections.<ChangeSetFilterResult>emptySet());
+        try {
+            visitor.waitForCompletion();
+            fail("Did not throw exception");
+        } catch (MigrationFailedException e) {
+            //expected
+        }
+        verify(database, never()).markChangeSetExecStatus(any(ChangeSet.class), any(ChangeSet.ExecType.class));
+    }
+
+    @Test
+    public void pollProgressOfOnlineIndex() throws Exception {
+        PostgresDatabase database = spy(new PostgresDatabase());
+        doNothing().when(database).markChangeSetExecStatus(any(ChangeSet.class), any(ChangeSet.ExecType.class));
+        doNothing().when(database).commit();
+        Database worker = mock(Database.class);
+        Executor executor = mock(Executor.class);
+        ExecutorService.getInstance().setExecutor(database, executor);
+
+        Map<String, Object> progressRow = new LinkedHashMap<String, Object>();
+        progressRow.put("blocks_done", 5);
+        progressRow.put("blocks_total", 20);
+        when(executor.queryForList(any(GetIndexBuildProgressStatement.class))).thenReturn(Arrays.<Map<String, ?>>asList(progressRow));
+
+        CreateIndexChange change = new CreateIndexChange();
+        change.setTableName("table1");
+        change.setIndexName("idx1");
+        change.setOnline(true);
+        change.addColumn((AddColumnConfig) new AddColumnConfig().setName("col1"));
+
+        ChangeSet changeSet = mock(ChangeSet.class);
+        when(changeSet.getChanges()).thenReturn(Arrays.<Change>asList(change));
+        doReturn(ChangeSet.RunStatus.NOT_RAN).when(database).getRunStatus(changeSet);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        ChangeExecProgressListener listener = mock(ChangeExecProgressListener.class);
+        when(changeSet.execute(eq(changeLog), any(ChangeExecListener.class), eq(worker))).thenAnswer(new Answer<ChangeSet.ExecType>() {
+            @Override
+            public ChangeSet.ExecType answer(InvocationOnMock invocation) throws Throwable {
+                latch.await();
+                return ChangeSet.ExecType.EXECUTED;
+            }
+        });
+
+        try {
+            ParallelUpdateVisitor visitor = new ParallelUpdateVisitor(database, Arrays.asList(worker), listener) {
+                @Override
+                protected Set<String> getDependencyKeys(ChangeSet changeSet) {
+                    return Collections.singleton("table1");
+                }
+            };
+            visitor.visit(changeSet, changeLog, database, Collections.<ChangeSetFilterResult>emptySet());
+            visitor.pollProgress();
+            latch.countDown();
+            visitor.waitForCompletion();
+
+            verify(listener).progress(change, changeSet, database, 5, 20);
+            verify(database).markChangeSetExecStatus(changeSet, ChangeSet.ExecType.EXECUTED);
+        } finally {
+            ExecutorService.getInstance().clearExecutor(database);
+        }
+    }
+
+    private ChangeSet changeSet(Change change) {
+        ChangeSet changeSet = mock(ChangeSet.class);
+        when(changeSet.getChanges()).thenReturn(Arrays.asList(change));
+        return changeSet;
+    }
+
+    private ChangeSet mockChangeSet(DatabaseObject... affectedObjects) {
+        Change change = mock(Change.class);
+        when(change.getAffectedDatabaseObjects(any(Database.class))).thenReturn(new HashSet<DatabaseObject>(Arrays.asList(affectedObjects)));
+
+        ChangeSet changeSet = mock(ChangeSet.class);
+        when(changeSet.getChanges()).thenReturn(Arrays.asList(change));
+        return changeSet;
+    }
+}
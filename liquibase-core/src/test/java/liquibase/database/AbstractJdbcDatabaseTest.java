@@ -5,6 +5,7 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -18,6 +19,7 @@ import liquibase.sql.visitor.SqlVisitor;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.CreateTableStatement;
 import liquibase.statement.core.DropTableStatement;
+import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
 
 import org.junit.Test;
@@ -91,6 +93,17 @@ public abstract class AbstractJdbcDatabaseTest {
         return conn;
     }
 
+    @Test
+    public void isLiquibaseObject() {
+        Database database = getDatabase();
+        Schema liquibaseSchema = new Schema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName());
+        assertTrue(database.isLiquibaseObject(new Table().setName(database.getDatabaseChangeLogTableName()).setSchema(liquibaseSchema)));
+        assertTrue(database.isLiquibaseObject(new Table().setName(database.getDatabaseChangeLogLockTableName()).setSchema(liquibaseSchema)));
+        assertTrue(database.isLiquibaseObject(new Table().setName("DATABASECHANGELOGBATCH").setSchema(liquibaseSchema)));
+        assertTrue(database.isLiquibaseObject(new Table().setName("DATABASECHANGELOGFINGERPRINT").setSchema(liquibaseSchema)));
+        assertFalse(database.isLiquibaseObject(new Table().setName("person").setSchema(liquibaseSchema)));
+    }
+
     @Test
     public void escapeTableName_noSchema() {
         Database database = getDatabase();
@@ -0,0 +1,65 @@
+package liquibase.database.jvm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+
+import static org.junit.Assert.*;
+
+public class PreparedStatementCacheTest {
+
+    private JdbcConnection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:preparedstatementcache", "sa", ""));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void reusesStatementsForSameSql() throws Exception {
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 5);
+
+        PreparedStatement first = cache.get("SELECT 1");
+        PreparedStatement second = cache.get("SELECT 1");
+
+        assertSame(first, second);
+        assertNotSame(first, cache.get("SELECT 2"));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws Exception {
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 2);
+
+        PreparedStatement first = cache.get("SELECT 1");
+        PreparedStatement second = cache.get("SELECT 2");
+        cache.get("SELECT 1");
+        cache.get("SELECT 3");
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(first));
+        assertFalse(cache.contains(second));
+        assertTrue(second.isClosed());
+    }
+
+    @Test
+    public void clearedOnCommit() throws Exception {
+        PreparedStatementCache cache = connection.getPreparedStatementCache();
+        assertNotNull(cache);
+
+        PreparedStatement statement = cache.get("SELECT 1");
+        connection.commit();
+
+        assertEquals(0, cache.size());
+        assertTrue(statement.isClosed());
+    }
+}
@@ -0,0 +1,123 @@
+package liquibase.diff.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.diff.DiffListener;
+import liquibase.diff.DiffResult;
+import liquibase.diff.compare.CompareControl;
+import liquibase.diff.output.report.DiffToReport;
+import liquibase.executor.ExecutorService;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.SnapshotControl;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StandardDiffGeneratorTest {
+
+    private Database referenceDatabase;
+    private Database comparisonDatabase;
+
+    @Before
+    public void setUp() throws Exception {
+        referenceDatabase = openDatabase("jdbc:h2:mem:diffreference");
+        comparisonDatabase = openDatabase("jdbc:h2:mem:diffcomparison");
+
+        execute(referenceDatabase, "CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50), email VARCHAR(100))");
+        execute(referenceDatabase, "CREATE TABLE address (id INT PRIMARY KEY, street VARCHAR(100))");
+        execute(referenceDatabase, "CREATE INDEX idx_person_name ON person(name)");
+
+        execute(comparisonDatabase, "CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(20))");
+        execute(comparisonDatabase, "CREATE TABLE orders (id INT PRIMARY KEY)");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Database database : new Database[]{referenceDatabase, comparisonDatabase}) {
+            execute(database, "DROP ALL OBJECTS");
+            ExecutorService.getInstance().clearExecutor(database);
+            database.close();
+        }
+    }
+
+    @Test
+    public void parallelCompareMatchesSequentialCompare() throws Exception {
+        DiffResult sequential = compare(new CompareControl());
+
+        final List<Class<? extends DatabaseObject>> comparedTypes = new ArrayList<Class<? extends DatabaseObject>>();
+        final List<DatabaseObject> streamedObjects = new ArrayList<DatabaseObject>();
+        CompareControl compareControl = new CompareControl().setCompareThreads(4).setDiffListener(new DiffListener() {
+            @Override
+            public void typeCompared(Class<? extends DatabaseObject> type, DiffResult typeResult) {
+                comparedTypes.add(type);
+                streamedObjects.addAll(typeResult.getMissingObjects());
+                streamedObjects.addAll(typeResult.getUnexpectedObjects());
+                streamedObjects.addAll(typeResult.getChangedObjects().keySet());
+            }
+        });
+        DiffResult parallel = compare(compareControl);
+
+        assertEquals(new HashSet<Class<? extends DatabaseObject>>(compareControl.getComparedTypes()), new HashSet<Class<? extends DatabaseObject>>(comparedTypes));
+        assertEquals(compareControl.getComparedTypes().size(), comparedTypes.size());
+
+        assertEquals(names(sequential.getMissingObjects()), names(parallel.getMissingObjects()));
+        assertEquals(names(sequential.getUnexpectedObjects()), names(parallel.getUnexpectedObjects()));
+        assertEquals(names(sequential.getChangedObjects().keySet()), names(parallel.getChangedObjects().keySet()));
+        assertEquals(parallel.getMissingObjects().size() + parallel.getUnexpectedObjects().size() + parallel.getChangedObjects().size(), streamedObjects.size());
+
+        assertNotNull(parallel.getMissingObject(new Table(null, null, "ADDRESS")));
+        assertNotNull(parallel.getUnexpectedObject(new Table(null, null, "ORDERS")));
+        assertFalse(parallel.getMissingObjects(Column.class).isEmpty());
+    }
+
+    @Test
+    public void reportIsPrintedAsTypesAreCompared() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compare(new CompareControl().setCompareThreads(2).setDiffListener(new DiffToReport(new PrintStream(out))));
+
+        String report = out.toString();
+        assertTrue(report, report.startsWith("Reference Database: "));
+        assertEquals(report, report.indexOf("Reference Database: "), report.lastIndexOf("Reference Database: "));
+        assertTrue(report, report.contains("Missing Table(s): \n     ADDRESS"));
+        assertTrue(report, report.contains("Unexpected Table(s): \n     ORDERS"));
+    }
+
+    private DiffResult compare(CompareControl compareControl) throws Exception {
+        DatabaseSnapshot referenceSnapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(referenceDatabase.getDefaultSchema(), referenceDatabase, new SnapshotControl(referenceDatabase));
+        DatabaseSnapshot comparisonSnapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(comparisonDatabase.getDefaultSchema(), comparisonDatabase, new SnapshotControl(comparisonDatabase));
+        return new StandardDiffGenerator().compare(referenceSnapshot, comparisonSnapshot, compareControl);
+    }
+
+    private HashSet<String> names(Iterable<? extends DatabaseObject> objects) {
+        HashSet<String> names = new HashSet<String>();
+        for (DatabaseObject object : objects) {
+            names.add(object.getClass().getSimpleName() + ":" + object.toString());
+        }
+        return names;
+    }
+
+    private Database openDatabase(String url) throws Exception {
+        Database database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection(url, "sa", "")));
+        return database;
+    }
+
+    private void execute(Database database, String sql) throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement(sql));
+    }
+}
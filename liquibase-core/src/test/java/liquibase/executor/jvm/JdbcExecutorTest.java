@@ -1,13 +1,26 @@
 package liquibase.executor.jvm;
 
 import liquibase.database.Database;
+import liquibase.database.core.H2Database;
 import liquibase.database.core.MySQLDatabase;
 import liquibase.database.core.OracleDatabase;
 import static org.junit.Assert.*;
 
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.BatchExecutor;
 import liquibase.executor.ExecutorService;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertOrUpdateStatement;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawSqlStatement;
 import org.junit.Test;
 
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+
 public class JdbcExecutorTest {
 
     @Test
@@ -43,4 +56,55 @@ public class JdbcExecutorTest {
         assertTrue(ExecutorService.getInstance().getExecutor(oracle1) != ExecutorService.getInstance().getExecutor(oracle2));
         assertTrue(ExecutorService.getInstance().getExecutor(oracle1) != ExecutorService.getInstance().getExecutor(mysql));
     }
+
+    @Test
+    public void isBatchable() {
+        JdbcExecutor executor = new JdbcExecutor();
+        assertTrue(executor.isBatchable(new InsertStatement(null, null, "batch_test")));
+        assertFalse(executor.isBatchable(new RawSqlStatement("INSERT INTO batch_test VALUES (1)")));
+        assertFalse(executor.isBatchable(new InsertOrUpdateStatement(null, null, "batch_test", "id")));
+
+        assertTrue(executor.isBatchable(new String[]{"INSERT INTO batch_test VALUES (1)", null}));
+        assertFalse(executor.isBatchable(new String[]{"INSERT INTO batch_test VALUES (?)"}));
+        assertFalse(executor.isBatchable(new String[]{"  select setval('seq', 10)"}));
+        assertFalse(executor.isBatchable(new String[]{"EXEC sp_rename 'a', 'b'"}));
+    }
+
+    @Test
+    public void executeBatch() throws Exception {
+        Database database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:executebatch", "sa", "")));
+        BatchExecutor executor = (BatchExecutor) ExecutorService.getInstance().getExecutor(database);
+        try {
+            executor.executeBatch(Arrays.<SqlStatement>asList(
+                    new RawSqlStatement("CREATE TABLE batch_test (id INT PRIMARY KEY, name VARCHAR(50))"),
+                    new InsertStatement(null, null, "batch_test").addColumnValue("id", 1).addColumnValue("name", "a"),
+                    new InsertStatement(null, null, "batch_test").addColumnValue("id", 2).addColumnValue("name", "b")
+            ), new ArrayList<SqlVisitor>());
+            assertEquals(2, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM batch_test")));
+
+            try {
+                executor.executeBatch(Arrays.<SqlStatement>asList(
+                        new InsertStatement(null, null, "batch_test").addColumnValue("id", 3).addColumnValue("name", "c"),
+                        new InsertStatement(null, null, "batch_test").addColumnValue("id", 1).addColumnValue("name", "duplicate"),
+                        new InsertStatement(null, null, "batch_test").addColumnValue("id", 4).addColumnValue("name", "d")
+                ), new ArrayList<SqlVisitor>());
+                fail("Did not throw exception");
+            } catch (DatabaseException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("[Failed SQL: INSERT INTO PUBLIC.batch_test (id, name) VALUES (1, 'duplicate')]"));
+            }
+
+            int rowsBefore = executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM batch_test"));
+            executor.executeBatch(Arrays.<SqlStatement>asList(
+                    new InsertStatement(null, null, "batch_test").addColumnValue("id", 5).addColumnValue("name", "e"),
+                    new RawSqlStatement("SELECT COUNT(*) FROM batch_test"),
+                    new InsertStatement(null, null, "batch_test").addColumnValue("id", 6).addColumnValue("name", "f")
+            ), new ArrayList<SqlVisitor>());
+            assertEquals(rowsBefore + 2, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM batch_test")));
+        } finally {
+            executor.execute(new RawSqlStatement("DROP ALL OBJECTS"));
+            ExecutorService.getInstance().clearExecutor(database);
+            database.close();
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package liquibase.precondition.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.PreconditionFailedException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.statement.core.TableIsEmptyStatement;
+import liquibase.statement.core.TableRowCountStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TableIsEmptyPreconditionTest {
+
+    private Database database;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:tableisempty", "sa", "")));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE empty_table (id INT)"));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE full_table (id INT)"));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("INSERT INTO full_table VALUES (1)"));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("INSERT INTO full_table VALUES (2)"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void existenceOnlyCheck() throws Exception {
+        createPrecondition("EMPTY_TABLE", true).check(database, null, null);
+
+        try {
+            createPrecondition("FULL_TABLE", true).check(database, null, null);
+            fail("Expected precondition to fail");
+        } catch (PreconditionFailedException e) {
+            assertEquals("Table FULL_TABLE is not empty", e.getFailedPreconditions().get(0).getMessage());
+        }
+    }
+
+    @Test
+    public void countCheck() throws Exception {
+        createPrecondition("EMPTY_TABLE", false).check(database, null, null);
+
+        try {
+            createPrecondition("FULL_TABLE", false).check(database, null, null);
+            fail("Expected precondition to fail");
+        } catch (PreconditionFailedException e) {
+            assertEquals("Table FULL_TABLE is not empty. Contains 2 rows", e.getFailedPreconditions().get(0).getMessage());
+        }
+    }
+
+    @Test
+    public void approximateCountFallsBackToCounting() throws Exception {
+        RowCountPrecondition precondition = new RowCountPrecondition();
+        precondition.setTableName("FULL_TABLE");
+        precondition.setExpectedRows(2);
+        precondition.setApproximate(true);
+        precondition.check(database, null, null);
+    }
+
+    @Test
+    public void approximateZeroIsConfirmed() throws Exception {
+        PostgresDatabase postgres = new PostgresDatabase();
+        Executor executor = mock(Executor.class);
+        when(executor.queryForObject(any(TableRowCountStatement.class), eq(Long.class))).thenReturn(0L);
+        when(executor.queryForInt(any(TableIsEmptyStatement.class))).thenReturn(0);
+        when(executor.queryForLong(any(TableRowCountStatement.class))).thenReturn(5L);
+        ExecutorService.getInstance().setExecutor(postgres, executor);
+        try {
+            TableIsEmptyPrecondition precondition = createPrecondition("stale_table", false);
+            precondition.setApproximate(true);
+            try {
+                precondition.check(postgres, null, null);
+                fail("Expected precondition to fail");
+            } catch (PreconditionFailedException e) {
+                assertEquals("Table stale_table is not empty. Contains 5 rows", e.getFailedPreconditions().get(0).getMessage());
+            }
+
+            when(executor.queryForInt(any(TableIsEmptyStatement.class))).thenReturn(1);
+            precondition.check(postgres, null, null);
+        } finally {
+            ExecutorService.getInstance().clearExecutor(postgres);
+        }
+    }
+
+    private TableIsEmptyPrecondition createPrecondition(String tableName, boolean existenceOnly) {
+        TableIsEmptyPrecondition precondition = new TableIsEmptyPrecondition();
+        precondition.setTableName(tableName);
+        precondition.setExistenceOnly(existenceOnly);
+        return precondition;
+    }
+}
@@ -0,0 +1,94 @@
+package liquibase.serializer.core.binary;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.parser.SnapshotParserFactory;
+import liquibase.parser.core.binary.BinarySnapshotParser;
+import liquibase.resource.FileSystemResourceAccessor;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.RestoredDatabaseSnapshot;
+import liquibase.snapshot.SnapshotControl;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.PrimaryKey;
+import liquibase.structure.core.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.sql.DriverManager;
+
+import static org.junit.Assert.*;
+
+public class BinarySnapshotSerializerTest {
+
+    private Database database;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:binarysnapshot", "sa", "")));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50) NOT NULL)"));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE INDEX idx_person_name ON person(name)"));
+        file = File.createTempFile("liquibase-snapshot", ".lbsnap");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+        file.delete();
+    }
+
+    @Test
+    public void writtenSnapshotIsReadBack() throws Exception {
+        DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema[]{database.getDefaultSchema()}, database, new SnapshotControl(database));
+
+        OutputStream out = new FileOutputStream(file);
+        try {
+            new BinarySnapshotSerializer().write(snapshot, out);
+        } finally {
+            out.close();
+        }
+
+        FileSystemResourceAccessor resourceAccessor = new FileSystemResourceAccessor(file.getParentFile().getAbsolutePath());
+        assertTrue(SnapshotParserFactory.getInstance().getParser(file.getName(), resourceAccessor) instanceof BinarySnapshotParser);
+        DatabaseSnapshot restored = new BinarySnapshotParser().parse(file.getName(), resourceAccessor);
+
+        assertTrue(restored instanceof RestoredDatabaseSnapshot);
+        assertEquals("h2", restored.getDatabase().getShortName());
+
+        Table table = restored.get(new Table().setName("PERSON"));
+        assertNotNull(table);
+        assertEquals(2, table.getColumns().size());
+        for (Column column : table.getColumns()) {
+            assertSame(table, column.getRelation());
+        }
+
+        Column name = table.getColumn("NAME");
+        assertEquals("VARCHAR", name.getType().getTypeName());
+        assertEquals(50, name.getType().getColumnSize().intValue());
+        assertFalse(name.isNullable());
+
+        PrimaryKey primaryKey = table.getPrimaryKey();
+        assertNotNull(primaryKey);
+        assertSame(primaryKey, restored.get(primaryKey));
+        assertEquals("ID", primaryKey.getColumnNames());
+        assertSame(table, primaryKey.getTable());
+
+        Index index = restored.get(new Index().setName("IDX_PERSON_NAME").setTable(table));
+        assertNotNull(index);
+        assertSame(table, index.getTable());
+        assertEquals(snapshot.get(Column.class).size(), restored.get(Column.class).size());
+    }
+}
@@ -0,0 +1,200 @@
+package liquibase.snapshot;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JdbcDatabaseSnapshotTest {
+
+    private Database database;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:jdbcdatabasesnapshot", "sa", "")));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE person (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50))"));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE address (id INT PRIMARY KEY, person_id INT)"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void getAutoIncrementColumnsReadsWholeSchema() throws Exception {
+        JdbcDatabaseSnapshot.CachingDatabaseMetaData metaData = new JdbcDatabaseSnapshot(new DatabaseObject[0], database).getMetaData();
+
+        List<CachedRow> columns = metaData.getAutoIncrementColumns("JDBCDATABASESNAPSHOT", "PUBLIC", "PERSON", "ID");
+        assertEquals(1, columns.size());
+        assertEquals("ID", columns.get(0).getString("COLUMN_NAME"));
+
+        assertEquals(0, metaData.getAutoIncrementColumns("JDBCDATABASESNAPSHOT", "PUBLIC", "PERSON", "NAME").size());
+        assertEquals(0, metaData.getAutoIncrementColumns("JDBCDATABASESNAPSHOT", "PUBLIC", "ADDRESS", "ID").size());
+        assertEquals(1, metaData.getAutoIncrementColumns("JDBCDATABASESNAPSHOT", "PUBLIC", null, null).size());
+    }
+
+    @Test
+    public void includeFiltersArePushedIntoMetaDataQueries() throws Exception {
+        SnapshotControl snapshotControl = new SnapshotControl(database).addIncludeFilter(SnapshotObjectFilter.regex(Table.class, "PERS.*"));
+        JdbcDatabaseSnapshot snapshot = (JdbcDatabaseSnapshot) SnapshotGeneratorFactory.getInstance().createSnapshot(database.getDefaultSchema(), database, snapshotControl);
+
+        assertEquals(1, snapshot.get(Table.class).size());
+        assertEquals("PERSON", snapshot.get(Table.class).iterator().next().getName());
+        for (Column column : snapshot.get(Column.class)) {
+            assertEquals("PERSON", column.getRelation().getName());
+        }
+        for (Index index : snapshot.get(Index.class)) {
+            assertEquals("PERSON", index.getTable().getName());
+        }
+
+        assertEquals("PERS%", snapshot.getMetaData().getIncludedNamePattern(Table.class));
+        List<CachedRow> tables = snapshot.getMetaData().getTables("JDBCDATABASESNAPSHOT", "PUBLIC", null);
+        assertEquals(1, tables.size());
+        assertEquals("PERSON", tables.get(0).getString("TABLE_NAME"));
+    }
+
+    @Test
+    public void caseInsensitiveFilterFindsQuotedMixedCaseTables() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE \"PersonDetail\" (id INT)"));
+        SnapshotControl snapshotControl = new SnapshotControl(database).addIncludeFilter(SnapshotObjectFilter.like(Table.class, "pers%"));
+        JdbcDatabaseSnapshot snapshot = (JdbcDatabaseSnapshot) SnapshotGeneratorFactory.getInstance().createSnapshot(database.getDefaultSchema(), database, snapshotControl);
+
+        assertNull(snapshot.getMetaData().getIncludedNamePattern(Table.class));
+        assertEquals("PERS%", snapshot.getMetaData().getIncludedNamePattern(true, Table.class));
+        List<String> tableNames = new ArrayList<String>();
+        for (Table table : snapshot.get(Table.class)) {
+            tableNames.add(table.getName());
+        }
+        Collections.sort(tableNames);
+        assertEquals(Arrays.asList("PERSON", "PersonDetail"), tableNames);
+    }
+
+    @Test
+    public void caseInsensitiveFilterWithoutLettersIsPushedDown() throws Exception {
+        SnapshotControl snapshotControl = new SnapshotControl(database).addIncludeFilter(SnapshotObjectFilter.like(Table.class, "%_1"));
+
+        assertEquals("%_1", snapshotControl.getIncludedNamePattern(Table.class, false));
+        assertEquals("%_1", snapshotControl.getIncludedNamePattern(Table.class, true));
+    }
+
+    @Test
+    public void regexWithAnchorIsNotPushedDown() throws Exception {
+        assertNull(SnapshotObjectFilter.regex(Table.class, "PERSON$").getLikePattern());
+        assertEquals("PERS%", SnapshotObjectFilter.regex(Table.class, "PERS.*").getLikePattern());
+        assertTrue(SnapshotObjectFilter.regex(Table.class, "PERS.*").isCaseSensitive());
+        assertFalse(SnapshotObjectFilter.like(Table.class, "pers%").isCaseSensitive());
+    }
+
+    @Test
+    public void catalogQueriesSelectMetaDataColumns() throws Exception {
+        JdbcDatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(new DatabaseObject[0], database);
+        List<String> primaryKeyColumns = Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "KEY_SEQ", "PK_NAME");
+        List<String> foreignKeyColumns = Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT", "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME",
+                "KEY_SEQ", "UPDATE_RULE", "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY");
+        List<String> indexColumns = Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "NON_UNIQUE", "INDEX_QUALIFIER", "INDEX_NAME", "TYPE", "ORDINAL_POSITION", "COLUMN_NAME",
+                "ASC_OR_DESC", "FILTER_CONDITION");
+
+        for (Database catalogDatabase : new Database[]{new PostgresDatabase(), new MySQLDatabase()}) {
+            JdbcDatabaseSnapshot.CachingDatabaseMetaData metaData = snapshot.new CachingDatabaseMetaData(catalogDatabase, null);
+            assertTrue(metaData.hasCatalogQueries());
+            assertEquals(catalogDatabase.getShortName(), primaryKeyColumns, getSelectedColumns(metaData.getPrimaryKeysSql("lbcat", "lbschema")));
+            assertEquals(catalogDatabase.getShortName(), foreignKeyColumns, getSelectedColumns(metaData.getForeignKeysSql("lbcat", "lbschema")));
+            assertEquals(catalogDatabase.getShortName(), indexColumns, getSelectedColumns(metaData.getIndexInfoSql("lbcat", "lbschema")));
+        }
+
+        JdbcDatabaseSnapshot.CachingDatabaseMetaData postgres = snapshot.new CachingDatabaseMetaData(new PostgresDatabase(), null);
+        assertTrue(postgres.getPrimaryKeysSql(null, "my'schema").contains("where n.nspname='my''schema' "));
+        assertTrue(postgres.getForeignKeysSql(null, "lbschema").contains("where fn.nspname='lbschema' "));
+        assertTrue(postgres.getIndexInfoSql(null, "lbschema").contains("where n.nspname='lbschema' "));
+
+        JdbcDatabaseSnapshot.CachingDatabaseMetaData mysql = snapshot.new CachingDatabaseMetaData(new MySQLDatabase(), null);
+        assertTrue(mysql.getPrimaryKeysSql("my'catalog", null).contains("where table_schema='my''catalog' "));
+        assertTrue(mysql.getForeignKeysSql("lbcat", null).contains("where kcu.table_schema='lbcat' "));
+        assertTrue(mysql.getIndexInfoSql("lbcat", null).contains("where table_schema='lbcat' "));
+
+        assertFalse(snapshot.new CachingDatabaseMetaData(database, null).hasCatalogQueries());
+    }
+
+    @Test
+    public void failedCatalogQueryFallsBackToMetaData() throws Exception {
+        JdbcDatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(new DatabaseObject[0], database);
+        JdbcDatabaseSnapshot.CachingDatabaseMetaData metaData = snapshot.new CachingDatabaseMetaData(database, ((JdbcConnection) database.getConnection()).getMetaData()) {
+            @Override
+            protected boolean supportsCatalogQueries() {
+                return true;
+            }
+
+            @Override
+            protected String getPrimaryKeysSql(String jdbcCatalogName, String jdbcSchemaName) {
+                return "select * from no_such_catalog_table";
+            }
+        };
+
+        List<CachedRow> primaryKeys = metaData.getPrimaryKeys("JDBCDATABASESNAPSHOT", "PUBLIC", "PERSON");
+        assertEquals(1, primaryKeys.size());
+        assertEquals("ID", primaryKeys.get(0).getString("COLUMN_NAME"));
+        assertFalse(metaData.hasCatalogQueries());
+        assertEquals(1, metaData.getPrimaryKeys("JDBCDATABASESNAPSHOT", "PUBLIC", "ADDRESS").size());
+    }
+
+    /**
+     * Returns the column labels of the outer select list of the given query.
+     */
+    private List<String> getSelectedColumns(String sql) {
+        String selectList = sql.substring("select ".length(), sql.indexOf(" from "));
+        List<String> columns = new ArrayList<String>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= selectList.length(); i++) {
+            char c = i == selectList.length() ? ',' : selectList.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                String column = selectList.substring(start, i).trim();
+                int alias = column.lastIndexOf(" as ");
+                columns.add((alias < 0 ? column : column.substring(alias + " as ".length())).toUpperCase());
+                start = i + 1;
+            }
+        }
+        return columns;
+    }
+
+    @Test
+    public void excludedObjectsAreNotSnapshotted() throws Exception {
+        SnapshotControl snapshotControl = new SnapshotControl(database).setExcludeObjects("table:PERS.*, column:PERSON_ID");
+        DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(database.getDefaultSchema(), database, snapshotControl);
+
+        assertEquals(1, snapshot.get(Table.class).size());
+        Table address = snapshot.get(Table.class).iterator().next();
+        assertEquals("ADDRESS", address.getName());
+        assertEquals(1, address.getColumns().size());
+        assertEquals("ID", address.getColumns().get(0).getName());
+        for (Column column : snapshot.get(Column.class)) {
+            assertEquals("ADDRESS", column.getRelation().getName());
+        }
+    }
+}
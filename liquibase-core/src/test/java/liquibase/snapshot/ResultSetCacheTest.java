@@ -1,42 +1,70 @@
 package liquibase.snapshot;
 
-import org.hamcrest.Matcher;
 import org.junit.Test;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 
 import static org.hamcrest.Matchers.contains;
-import static org.hamcrest.Matchers.containsInAnyOrder;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.*;
 
 public class ResultSetCacheTest {
 
-//    @Test
-//    public void permutations() {
-//        assertEquals(4, new ResultSetCache().permutations(new String[]{"a", "b"}).length);
-//        assertEquals(8, new ResultSetCache().permutations(new String[]{"a", "b", "c"}).length);
-//        assertEquals(16, new ResultSetCache().permutations(new String[]{"a", "b", "c", "d"}).length);
-//        assertEquals(32, new ResultSetCache().permutations(new String[]{"a", "b", "c", "d", "e"}).length);
-//
-//        assertThat(Arrays.asList(new ResultSetCache().permutations(new String[]{"a"})), containsInAnyOrder(new String[] {"a"}, new String[] {null}));
-//
-//        assertThat(Arrays.asList(new ResultSetCache().permutations(new String[]{"a", "b"})), containsInAnyOrder(
-//                new String[]{"a", "b"},
-//                new String[]{null, "b"},
-//                new String[]{"a", null},
-//                new String[]{null, null}
-//        ));
-//
-//        assertThat(Arrays.asList(new ResultSetCache().permutations(new String[]{"a", "b", "c"})), containsInAnyOrder(
-//                new String[]{"a", "b", "c"},
-//                new String[]{"a", "b", null},
-//                new String[]{"a", null, "c"},
-//                new String[]{null, "b", "c"},
-//                new String[]{null, null, "c"},
-//                new String[]{"a", null, null},
-//                new String[]{null, "b", null},
-//                new String[]{null, null, null}
-//        ));
-//    }
+    @Test
+    public void rowIndexFindsExactAndWildcardKeys() {
+        ResultSetCache.RowIndex index = new ResultSetCache.RowIndex();
+        index.add(new String[]{"person", "id"}, row("PERSON.ID"));
+        index.add(new String[]{"address", "id"}, row("ADDRESS.ID"));
+        index.add(new String[]{"person", "name"}, row("PERSON.NAME"));
+        index.add(new String[]{"address", null}, row("ADDRESS.?"));
+
+        assertThat(names(index.find(new String[]{"person", "name"})), contains("PERSON.NAME"));
+        assertThat(names(index.find(new String[]{"person", null})), contains("PERSON.ID", "PERSON.NAME"));
+        assertThat(names(index.find(new String[]{null, "id"})), contains("PERSON.ID", "ADDRESS.ID"));
+        assertThat(names(index.find(new String[]{null, null})), contains("PERSON.ID", "ADDRESS.ID", "PERSON.NAME", "ADDRESS.?"));
+        assertThat(names(index.find(new String[]{"address", "name"})), empty());
+        assertThat(names(index.find(new String[]{"other", null})), empty());
+
+        index.clear();
+        assertThat(names(index.find(new String[]{null, null})), empty());
+    }
+
+    @Test
+    public void columnarRowsShareStringsAndAcceptNewColumns() {
+        ColumnarRows columnarRows = new ColumnarRows(new String[]{"TABLE_NAME", "COLUMN_NAME", "ORDINAL_POSITION"});
+        for (int i = 0; i < 40; i++) {
+            columnarRows.addRow(new Object[]{new String("PERSON"), "COL" + i, i});
+        }
+        List<CachedRow> rows = columnarRows.getRows();
+
+        assertEquals(40, rows.size());
+        assertSame(rows.get(0).getString("TABLE_NAME"), rows.get(39).getString("TABLE_NAME"));
+        assertEquals("COL39", rows.get(39).getString("COLUMN_NAME"));
+        assertEquals(39, rows.get(39).getInt("ORDINAL_POSITION").intValue());
+
+        assertFalse(rows.get(1).containsColumn("IS_AUTOINCREMENT"));
+        rows.get(1).set("IS_AUTOINCREMENT", "YES");
+        rows.get(1).set("COLUMN_NAME", "RENAMED");
+        assertTrue(rows.get(1).containsColumn("IS_AUTOINCREMENT"));
+        assertEquals("YES", rows.get(1).getString("IS_AUTOINCREMENT"));
+        assertEquals("RENAMED", rows.get(1).getString("COLUMN_NAME"));
+        assertFalse(rows.get(2).containsColumn("IS_AUTOINCREMENT"));
+        assertEquals("COL2", rows.get(2).getString("COLUMN_NAME"));
+    }
+
+    private CachedRow row(String name) {
+        CachedRow row = new CachedRow(new HashMap());
+        row.set("NAME", name);
+        return row;
+    }
+
+    private List<String> names(List<CachedRow> rows) {
+        List<String> names = new ArrayList<String>();
+        for (CachedRow row : rows) {
+            names.add(row.getString("NAME"));
+        }
+        return names;
+    }
 }
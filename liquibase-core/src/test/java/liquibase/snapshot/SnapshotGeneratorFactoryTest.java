@@ -0,0 +1,95 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Schema;
+import liquibase.structure.core.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SnapshotGeneratorFactoryTest {
+
+    private static final String URL = "jdbc:h2:mem:parallelsnapshot";
+
+    private Database database;
+
+    @Before
+    public void setUp() throws Exception {
+        database = openDatabase();
+        for (String schema : new String[]{"S1", "S2", "S3"}) {
+            ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE SCHEMA " + schema));
+            ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE " + schema + ".table_" + schema + " (id INT PRIMARY KEY, name VARCHAR(50))"));
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void schemasAreSnapshottedInParallel() throws Exception {
+        final AtomicInteger openedDatabases = new AtomicInteger();
+        SchemaProgressSnapshotListener listener = new SchemaProgressSnapshotListener();
+        SnapshotControl snapshotControl = new SnapshotControl(database)
+                .setSnapshotThreads(2)
+                .setConnectionFactory(new SnapshotConnectionFactory() {
+                    @Override
+                    public Database openDatabase(Database database) throws DatabaseException {
+                        openedDatabases.incrementAndGet();
+                        return SnapshotGeneratorFactoryTest.this.openDatabase();
+                    }
+                });
+        snapshotControl.setSnapshotListener(listener);
+
+        DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema[]{
+                new CatalogAndSchema(null, "S1"),
+                new CatalogAndSchema(null, "S2"),
+                new CatalogAndSchema(null, "S3")
+        }, database, snapshotControl);
+
+        assertEquals(2, openedDatabases.get());
+        assertSame(database, snapshot.getDatabase());
+
+        Set<String> tables = new HashSet<String>();
+        for (Table table : snapshot.get(Table.class)) {
+            tables.add(table.getSchema().getName() + "." + table.getName());
+            assertEquals(2, table.getColumns().size());
+            assertNotNull(table.getPrimaryKey());
+        }
+        assertEquals(new HashSet<String>(Arrays.asList("S1.TABLE_S1", "S2.TABLE_S2", "S3.TABLE_S3")), tables);
+        assertEquals(3, snapshot.get(Schema.class).size());
+
+        assertEquals(3, listener.getFinishedSchemas().size());
+        for (Schema schema : snapshot.get(Schema.class)) {
+            assertTrue(listener.getObjectCount(schema.toString()) > 0);
+        }
+    }
+
+    private Database openDatabase() throws DatabaseException {
+        try {
+            Database database = new H2Database();
+            database.setConnection(new JdbcConnection(DriverManager.getConnection(URL, "sa", "")));
+            return database;
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.snapshot.jvm.TableSnapshotGenerator;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.DriverManager;
+
+import static org.junit.Assert.*;
+
+public class SnapshotMetricsTest {
+
+    private Database database;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:snapshotmetrics", "sa", "")));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50))"));
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("CREATE TABLE address (id INT PRIMARY KEY, person_id INT, street VARCHAR(100))"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void snapshotIsMeasured() throws Exception {
+        SnapshotMetrics metrics = new SnapshotMetrics();
+        SnapshotControl snapshotControl = new SnapshotControl(database).setMetrics(metrics);
+
+        DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema[]{database.getDefaultSchema()}, database, snapshotControl);
+
+        assertEquals(2, snapshot.get(Table.class).size());
+        assertEquals(1, metrics.getSnapshotCount());
+        assertEquals(snapshot.get(Table.class).size() + snapshot.get(Column.class).size(), countFound(metrics, "Table") + countFound(metrics, "Column"));
+        assertTrue(metrics.getMetadataQueries() > 0);
+        assertTrue(metrics.getRowsRead() > 0);
+        assertTrue(metrics.getCacheHits() > 0);
+
+        String report = metrics.getReport();
+        assertTrue(report, report.contains("\"" + TableSnapshotGenerator.class.getName() + "\": {\"calls\": "));
+        assertTrue(report, report.contains("\"getColumns\": {\"singleQueries\": "));
+
+        metrics.reset();
+        assertEquals(0, metrics.getSnapshotCount());
+        assertEquals(0, metrics.getMetadataQueries());
+    }
+
+    @Test
+    public void registeredAsMBean() throws Exception {
+        SnapshotMetrics metrics = new SnapshotMetrics();
+        ObjectName objectName = metrics.registerMBean("test");
+        try {
+            SnapshotGeneratorFactory.getInstance().createSnapshot(database.getDefaultSchema(), database, new SnapshotControl(database).setMetrics(metrics));
+
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "SnapshotCount"));
+            assertEquals(metrics.getRowsRead(), ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "RowsRead"));
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    private long countFound(SnapshotMetrics metrics, String type) {
+        String report = metrics.getReport();
+        String key = "\"liquibase.structure.core." + type + "\": {\"lookups\": ";
+        int start = report.indexOf(key);
+        assertTrue(report, start >= 0);
+        String found = report.substring(report.indexOf("\"found\": ", start) + "\"found\": ".length());
+        return Long.parseLong(found.substring(0, found.indexOf(",")));
+    }
+}
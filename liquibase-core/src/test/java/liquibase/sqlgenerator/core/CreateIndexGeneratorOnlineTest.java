@@ -0,0 +1,52 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.change.AddColumnConfig;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.statement.core.CreateIndexStatement;
+import liquibase.statement.core.GetIndexBuildProgressStatement;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CreateIndexGeneratorOnlineTest {
+
+    @Test
+    public void postgresConcurrently() {
+        assertEquals("CREATE INDEX CONCURRENTLY idx_test ON table_name(col_name)",
+                new CreateIndexGeneratorPostgres().generateSql(createStatement(), new PostgresDatabase(), null)[0].toSql());
+    }
+
+    @Test
+    public void oracleOnline() {
+        assertEquals("CREATE INDEX idx_test ON table_name(col_name) ONLINE",
+                new CreateIndexGenerator().generateSql(createStatement(), new OracleDatabase(), null)[0].toSql());
+    }
+
+    @Test
+    public void mssqlOnline() {
+        assertEquals("CREATE INDEX idx_test ON [table_name]([col_name]) WITH (ONLINE = ON)",
+                new CreateIndexGenerator().generateSql(createStatement(), new MSSQLDatabase(), null)[0].toSql());
+    }
+
+    @Test
+    public void progressQueryEscapesNames() {
+        GetIndexBuildProgressStatement statement = new GetIndexBuildProgressStatement(null, "my'schema", "my'table", "idx_test");
+        assertTrue(new GetIndexBuildProgressGenerator().generateSql(statement, new PostgresDatabase(), null)[0].toSql()
+                .contains("WHERE c.relname='my''table' AND n.nspname='my''schema'"));
+        assertTrue(new GetIndexBuildProgressGenerator().generateSql(statement, new OracleDatabase(), null)[0].toSql()
+                .contains("WHERE TARGET='MY''SCHEMA.MY''TABLE' "));
+        assertTrue(new GetIndexBuildProgressGenerator().generateSql(new GetIndexBuildProgressStatement(null, null, "my'table", "idx_test"), new OracleDatabase(), null)[0].toSql()
+                .contains("WHERE TARGET LIKE '%.MY''TABLE' "));
+        assertTrue(new GetIndexBuildProgressGenerator().generateSql(new GetIndexBuildProgressStatement(null, null, "my'table", "idx_test"), new PostgresDatabase(), null)[0].toSql()
+                .endsWith("AND n.nspname=current_schema()"));
+    }
+
+    private CreateIndexStatement createStatement() {
+        AddColumnConfig column = new AddColumnConfig();
+        column.setName("col_name");
+        return new CreateIndexStatement("idx_test", null, null, "table_name", null, null, column).setOnline(true);
+    }
+}
@@ -0,0 +1,98 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.core.H2Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.statement.core.TableIsEmptyStatement;
+import liquibase.statement.core.TableRowCountStatement;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+
+import static org.junit.Assert.assertEquals;
+
+public class TableRowCountGeneratorTest {
+
+    @Test
+    public void countsRowsUnlessApproximate() {
+        PostgresDatabase database = new PostgresDatabase();
+
+        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "myschema", "mytable"), database);
+        assertEquals("SELECT COUNT(*) FROM myschema.mytable", sql[0].toSql());
+
+        sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "myschema", "mytable").setApproximate(true), database);
+        assertEquals("SELECT CAST(c.reltuples AS BIGINT) FROM pg_catalog.pg_class c JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace WHERE c.relname = 'mytable' AND n.nspname = 'myschema'", sql[0].toSql());
+    }
+
+    @Test
+    public void approximateCountUsesStatistics() {
+        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "MYSCHEMA", "MYTABLE").setApproximate(true), new OracleDatabase());
+        assertEquals("SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = 'MYSCHEMA' AND TABLE_NAME = 'MYTABLE'", sql[0].toSql());
+
+        sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "dbo", "mytable").setApproximate(true), new MSSQLDatabase());
+        assertEquals("SELECT SUM(p.rows) FROM sys.partitions p JOIN sys.tables t ON t.object_id = p.object_id JOIN sys.schemas s ON s.schema_id = t.schema_id WHERE p.index_id IN (0, 1) AND t.name = 'mytable' AND s.name = 'DBO'", sql[0].toSql());
+
+        sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "PUBLIC", "MYTABLE").setApproximate(true), new H2Database());
+        assertEquals("SELECT COUNT(*) FROM PUBLIC.MYTABLE", sql[0].toSql());
+    }
+
+    @Test
+    public void approximateCountEscapesNames() {
+        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "my'schema", "my'table").setApproximate(true), new PostgresDatabase());
+        assertEquals("SELECT CAST(c.reltuples AS BIGINT) FROM pg_catalog.pg_class c JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace WHERE c.relname = 'my''table' AND n.nspname = 'my''schema'", sql[0].toSql());
+
+        sql = SqlGeneratorFactory.getInstance().generateSql(new TableRowCountStatement(null, "MYSCHEMA", "MY'TABLE").setApproximate(true), new OracleDatabase());
+        assertEquals("SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = 'MYSCHEMA' AND TABLE_NAME = 'MY''TABLE'", sql[0].toSql());
+    }
+
+    @Test
+    public void tableIsEmptyChecksForAnyRow() {
+        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(new TableIsEmptyStatement(null, "myschema", "mytable"), new PostgresDatabase());
+        assertEquals("SELECT CASE WHEN EXISTS (SELECT 1 FROM myschema.mytable) THEN 0 ELSE 1 END", sql[0].toSql());
+
+        sql = SqlGeneratorFactory.getInstance().generateSql(new TableIsEmptyStatement(null, "MYSCHEMA", "MYTABLE"), new OracleDatabase());
+        assertEquals("SELECT CASE WHEN EXISTS (SELECT 1 FROM MYSCHEMA.MYTABLE) THEN 0 ELSE 1 END FROM DUAL", sql[0].toSql());
+    }
+
+    @Test
+    public void tableIsEmptySelectsFromSingleRowSource() {
+        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(new TableIsEmptyStatement(null, "PUBLIC", "MYTABLE"), new HsqlDatabase());
+        assertEquals("SELECT CASE WHEN EXISTS (SELECT 1 FROM PUBLIC.MYTABLE) THEN 0 ELSE 1 END FROM (VALUES(0))", sql[0].toSql());
+
+        sql = SqlGeneratorFactory.getInstance().generateSql(new TableIsEmptyStatement(null, "MYSCHEMA", "MYTABLE"), new H2Database() {
+            @Override
+            public String getShortName() {
+                return "maxdb";
+            }
+        });
+        assertEquals("SELECT CASE WHEN EXISTS (SELECT 1 FROM MYSCHEMA.MYTABLE) THEN 0 ELSE 1 END FROM DUAL", sql[0].toSql());
+    }
+
+    @Test
+    public void tableIsEmptyReturnsOneRowOnHsqlWithSeveralUsers() throws Exception {
+        HsqlDatabase database = new HsqlDatabase();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:hsqldb:mem:tableisempty", "SA", "")));
+        Executor executor = ExecutorService.getInstance().getExecutor(database);
+        try {
+            executor.execute(new RawSqlStatement("CREATE USER OTHER_USER PASSWORD 'other'"));
+            executor.execute(new RawSqlStatement("CREATE TABLE MYTABLE (ID INT)"));
+
+            assertEquals(1, executor.queryForInt(new TableIsEmptyStatement(null, "PUBLIC", "MYTABLE")));
+
+            executor.execute(new RawSqlStatement("INSERT INTO MYTABLE VALUES (1)"));
+            assertEquals(0, executor.queryForInt(new TableIsEmptyStatement(null, "PUBLIC", "MYTABLE")));
+        } finally {
+            executor.execute(new RawSqlStatement("DROP SCHEMA PUBLIC CASCADE"));
+            ExecutorService.getInstance().clearExecutor(database);
+            database.close();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package liquibase.statement;
+
+import liquibase.change.core.DeleteDataChange;
+import liquibase.change.core.UpdateDataChange;
+import liquibase.change.ColumnConfig;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+import static org.junit.Assert.*;
+
+public class BatchedModifyDataStatementTest {
+
+    private Database database;
+    private Executor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:batchedmodify", "sa", "");
+        database = new H2Database();
+        database.setConnection(new JdbcConnection(connection));
+        executor = ExecutorService.getInstance().getExecutor(database);
+
+        executor.execute(new RawSqlStatement("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50), active BOOLEAN)"));
+        for (int i = 1; i <= 25; i++) {
+            executor.execute(new RawSqlStatement("INSERT INTO person VALUES (" + i + ", 'name" + i + "', " + (i % 2 == 0) + ")"));
+        }
+        database.commit();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.execute(new RawSqlStatement("DROP ALL OBJECTS"));
+        ExecutorService.getInstance().clearExecutor(database);
+        database.close();
+    }
+
+    @Test
+    public void deleteInBatches() throws Exception {
+        DeleteDataChange change = new DeleteDataChange();
+        change.setTableName("person");
+        change.setWhere("active = true");
+        change.setBatchColumnName("id");
+        change.setBatchSize(10);
+
+        SqlStatement[] statements = change.generateStatements(database);
+        assertEquals(1, statements.length);
+        assertTrue(statements[0] instanceof BatchedModifyDataStatement);
+
+        executor.execute(statements[0]);
+
+        assertEquals(13, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person")));
+        assertEquals(0, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person WHERE active = true")));
+        assertEquals(0, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM DATABASECHANGELOGBATCH")));
+    }
+
+    @Test
+    public void updateResumesFromStoredKey() throws Exception {
+        UpdateDataChange change = new UpdateDataChange();
+        change.setTableName("person");
+        change.addColumn(new ColumnConfig().setName("name").setValue("updated"));
+        change.setBatchColumnName("id");
+        change.setBatchSize(5);
+
+        BatchedModifyDataStatement statement = (BatchedModifyDataStatement) change.generateStatements(database)[0];
+        statement.createProgressTableIfNeeded();
+        statement.writeNextKey(statement.getProgressId(), 21, false);
+        database.commit();
+
+        executor.execute(statement);
+
+        assertEquals(5, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person WHERE name = 'updated'")));
+        assertEquals(0, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person WHERE id < 21 AND name = 'updated'")));
+        assertNull(statement.readNextKey(new PreparedStatementFactory((JdbcConnection) database.getConnection()), statement.getProgressId()));
+    }
+
+    @Test
+    public void rangeAndProgressAreCommittedTogether() throws Exception {
+        database.setAutoCommit(true);
+        UpdateDataChange change = new UpdateDataChange();
+        change.setTableName("person");
+        change.addColumn(new ColumnConfig().setName("name").setValueComputed(new DatabaseFunction("CONCAT(name, '+')")));
+        change.setBatchColumnName("id");
+        change.setBatchSize(10);
+
+        BatchedModifyDataStatement failingStatement = new BatchedModifyDataStatement(database, change) {
+            private int writes;
+
+            @Override
+            protected void writeNextKey(String progressId, long nextKey, boolean exists) throws DatabaseException {
+                if (++writes == 2) {
+                    throw new DatabaseException("interrupted");
+                }
+                super.writeNextKey(progressId, nextKey, exists);
+            }
+        };
+        try {
+            executor.execute(failingStatement);
+            fail("Expected the second range to fail");
+        } catch (DatabaseException e) {
+            assertTrue(database.isAutoCommit());
+        }
+        assertEquals(10, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person WHERE name LIKE '%+'")));
+
+        executor.execute(change.generateStatements(database)[0]);
+
+        assertEquals(25, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person WHERE name LIKE 'name%+'")));
+        assertEquals(0, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM person WHERE name LIKE '%++'")));
+        assertEquals(0, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM DATABASECHANGELOGBATCH")));
+        assertTrue(database.isAutoCommit());
+    }
+
+    @Test
+    public void lastRangeDoesNotOverflow() throws Exception {
+        executor.execute(new RawSqlStatement("CREATE TABLE big_key (id BIGINT PRIMARY KEY, name VARCHAR(50))"));
+        executor.execute(new RawSqlStatement("INSERT INTO big_key VALUES (" + (Long.MAX_VALUE - 15) + ", 'a')"));
+        executor.execute(new RawSqlStatement("INSERT INTO big_key VALUES (" + (Long.MAX_VALUE - 2) + ", 'b')"));
+        executor.execute(new RawSqlStatement("INSERT INTO big_key VALUES (" + Long.MAX_VALUE + ", 'c')"));
+        database.commit();
+
+        UpdateDataChange change = new UpdateDataChange();
+        change.setTableName("big_key");
+        change.addColumn(new ColumnConfig().setName("name").setValue("updated"));
+        change.setBatchColumnName("id");
+        change.setBatchSize(10);
+
+        executor.execute(change.generateStatements(database)[0]);
+
+        assertEquals(3, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM big_key WHERE name = 'updated'")));
+        assertEquals(0, executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM DATABASECHANGELOGBATCH")));
+    }
+
+    @Test
+    public void validateRequiresNumericBatchColumnAndNoTransaction() throws Exception {
+        DeleteDataChange change = new DeleteDataChange();
+        change.setTableName("person");
+        change.setBatchColumnName("id");
+        change.setBatchSize(10);
+        assertFalse(change.validate(database).hasErrors());
+
+        change.setBatchColumnName("name");
+        assertTrue(change.validate(database).getErrorMessages().toString(), change.validate(database).getErrorMessages().contains("batchColumnName name must be a numeric column"));
+
+        change.setBatchColumnName("id");
+        ChangeSet changeSet = new ChangeSet("1", "test", false, false, "test.xml", null, null, true, null);
+        change.setChangeSet(changeSet);
+        assertTrue(change.validate(database).hasErrors());
+
+        changeSet = new ChangeSet("1", "test", false, false, "test.xml", null, null, false, null);
+        change.setChangeSet(changeSet);
+        assertFalse(change.validate(database).hasErrors());
+    }
+}
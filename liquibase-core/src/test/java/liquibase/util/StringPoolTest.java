@@ -0,0 +1,30 @@
+package liquibase.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StringPoolTest {
+
+    @Test
+    public void equalStringsShareInstance() {
+        String first = new String("nvoxland");
+        String second = new String("nvoxland");
+
+        assertSame(StringPool.intern(first), StringPool.intern(second));
+        assertEquals("nvoxland", StringPool.intern(second));
+    }
+
+    @Test
+    public void nullAndLongStringsAreReturnedUnchanged() {
+        assertNull(StringPool.intern(null));
+
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i <= StringPool.MAX_POOLED_LENGTH; i++) {
+            longString.append("x");
+        }
+        String value = longString.toString();
+        assertSame(value, StringPool.intern(value));
+        assertNotSame(value, StringPool.intern(new String(value)));
+    }
+}